@@ -9,6 +9,8 @@
 plugins {
     // Apply the application plugin to add support for building a CLI application in Java.
     application
+    // Benchmarks under src/jmh, run with ./gradlew jmh
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 repositories {
@@ -30,11 +32,18 @@ dependencies {
 application {
     // Define the main class for the application.
     mainClass.set("interpreter.App")
+    // The numeric array builtins use the Vector API when the module is present and fall back to scalar loops otherwise.
+    applicationDefaultJvmArgs = listOf("--add-modules", "jdk.incubator.vector")
+}
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
 }
 
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
+    jvmArgs("--add-modules", "jdk.incubator.vector")
     testLogging{
         events("PASSED", "SKIPPED", "FAILED", "STANDARD_OUT", "STANDARD_ERROR")
     }
@@ -0,0 +1,94 @@
+package interpreter.lexer;
+
+import interpreter.token.TokenType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexer throughput. Every input is exactly 1 MiB of ASCII, so the reported ops/s read directly as
+ * MiB/s. The {@code Scalar} variants run without {@code jdk.incubator.vector}, which is how the byte
+ * scans behave when the module is absent; compare them with the {@code Vector} variants.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LexerBenchmark {
+
+    private static final int INPUT_BYTES = 1 << 20;
+
+    @Param({"typical", "long_strings", "whitespace"})
+    public String input;
+
+    private String source;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        String unit = switch (input) {
+            case "typical" -> "let add = fn(a, b) { a + b; };\n"
+                    + "let result = add(12345, 67890) * 2;\n"
+                    + "if (result > 10) { puts(\"big\"); } else { [1, 2.5, {\"k\": result}] }\n";
+            case "long_strings" -> "let s = \"" + "lorem ipsum dolor sit amet ".repeat(40) + "\";\n";
+            case "whitespace" -> " ".repeat(2000) + "\n\t\t\t\t" + "x\n";
+            default -> throw new IllegalArgumentException(input);
+        };
+        StringBuilder text = new StringBuilder(INPUT_BYTES + unit.length());
+        while (text.length() < INPUT_BYTES) {
+            text.append(unit);
+        }
+        text.setLength(INPUT_BYTES);
+        source = text.toString();
+
+        buffer = ByteBuffer.allocateDirect(INPUT_BYTES);
+        buffer.put(source.getBytes(StandardCharsets.US_ASCII)).flip();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int bufferVector() {
+        return count(new Lexer(buffer));
+    }
+
+    @Benchmark
+    @Fork(1)
+    public int bufferScalar() {
+        return count(new Lexer(buffer));
+    }
+
+    @Benchmark
+    @Fork(1)
+    public int string() {
+        return count(new Lexer(source));
+    }
+
+    @Benchmark
+    @Fork(1)
+    public int tokenStream() {
+        return TokenStream.tokenize(source).size();
+    }
+
+    private static int count(Lexer lexer) {
+        int tokens = 0;
+        while (lexer.nextToken().getType() != TokenType.EOF) {
+            tokens++;
+        }
+        return tokens;
+    }
+}
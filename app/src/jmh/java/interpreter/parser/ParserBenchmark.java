@@ -0,0 +1,108 @@
+package interpreter.parser;
+
+import interpreter.ast.AstReader;
+import interpreter.ast.AstWriter;
+import interpreter.ast.FlatAst;
+import interpreter.lexer.Lexer;
+import interpreter.lexer.TokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Parser throughput in top-level statements per second, for a large program parsed in one go and
+ * for single REPL lines that each get a fresh parser. {@code decoded} loads the same program from
+ * its {@link AstWriter encoded} form, as {@link ParseCache} does on a hit, and {@code flat} parses
+ * it into a {@link FlatAst}. Setup also prints how many heap bytes per source byte the object tree
+ * and the flat form retain.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final int UNITS = 5000;
+    private static final int STATEMENTS = UNITS * 3;
+    private static final String UNIT = "let add = fn(a, b) { if (a > b) { return a * 2 + b; } else { return [a, b, {\"k\": a}][0]; } };\n"
+            + "let r = add(1, 2) + add(3, 4) * -5;\n"
+            + "puts(r == 10, !true);\n";
+    private static final String LINE = "let x = 1 + 2 * 3;";
+
+    private String program;
+    private TokenStream tokens;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        program = UNIT.repeat(UNITS);
+        tokens = TokenStream.tokenize(program);
+        encoded = ByteBuffer.wrap(AstWriter.encode(new Parser(new Lexer(program)).parseProgram()));
+
+        long objects = retainedBytes(() -> new Parser(new Lexer(program), ParseMode.EAGER).parseProgram());
+        long flat = retainedBytes(() -> new FlatParser(new Lexer(program)).parseProgram());
+        System.out.printf("%nretained bytes per source byte: objects %.1f, flat %.1f (estimated %.1f)%n",
+                (double) objects / program.length(), (double) flat / program.length(),
+                (double) new FlatParser(new Lexer(program)).parseProgram().retainedBytes() / program.length());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATEMENTS)
+    public int program() {
+        return new Parser(new Lexer(program)).parseProgram().getStatements().length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATEMENTS)
+    public int tokenStream() {
+        return new Parser(tokens).parseProgram().getStatements().length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATEMENTS)
+    public int decoded() {
+        return AstReader.decode(encoded).getStatements().length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATEMENTS)
+    public int flat() {
+        return new FlatParser(new Lexer(program)).parseProgram().statements().length;
+    }
+
+    @Benchmark
+    public int replLine() {
+        return new Parser(new Lexer(LINE)).parseProgram().getStatements().length;
+    }
+
+    /**
+     * Heap growth, after collection, from building and keeping the result of {@code parse}.
+     */
+    private static long retainedBytes(Supplier<Object> parse) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        Object kept = parse.get();
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        Reference.reachabilityFence(kept);
+        return after - before;
+    }
+}
@@ -0,0 +1,230 @@
+package interpreter.ast;
+
+import interpreter.token.Token;
+import interpreter.token.TokenType;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Decodes the binary form written by {@link AstWriter}. The buffer may be a memory-mapped file; it
+ * is only read with absolute positions, so its own position and limit are left alone. Function
+ * bodies are not decoded until they are first used.
+ */
+public final class AstReader {
+
+    private static final NodeType[] NODE_TYPES = NodeType.values();
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private final ByteBuffer in;
+    private final String[] strings;
+    private final Token[] tokens;
+    private int position;
+
+    private AstReader(ByteBuffer in, String[] strings, Token[] tokens, int position) {
+        this.in = in;
+        this.strings = strings;
+        this.tokens = tokens;
+        this.position = position;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code buffer} does not hold an encoded program of this
+     *                                  version
+     */
+    public static Program decode(ByteBuffer buffer) {
+        try {
+            int position = buffer.position();
+            for (byte b : AstWriter.MAGIC) {
+                if (buffer.get(position++) != b) {
+                    throw new IllegalArgumentException("not an encoded program");
+                }
+            }
+            int version = buffer.get(position++);
+            if (version != AstWriter.VERSION) {
+                throw new IllegalArgumentException("unsupported encoding version " + version);
+            }
+
+            AstReader reader = new AstReader(buffer, null, null, position);
+            String[] strings = new String[reader.readCount()];
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < strings.length; i++) {
+                int length = reader.readCount();
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                buffer.get(reader.position, scratch, 0, length);
+                reader.position += length;
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            // tokens are immutable once built, so nodes with equal tokens share one instance
+            Token[] tokens = new Token[reader.readCount()];
+            for (int i = 0; i < tokens.length; i++) {
+                TokenType type = TOKEN_TYPES[(int) reader.readVarint()];
+                tokens[i] = new Token(type, strings[(int) reader.readVarint()]);
+            }
+
+            AstReader program = new AstReader(buffer, strings, tokens, reader.position);
+            return new Program(program.readNodes(Statement[]::new));
+        } catch (IndexOutOfBoundsException | ClassCastException | ArrayStoreException e) {
+            throw new IllegalArgumentException("corrupt encoded program", e);
+        }
+    }
+
+    /**
+     * Decodes the statements of a deferred function body. A corrupt body is reported through
+     * {@code errors}, so it surfaces as a syntax error in the body when the function is called.
+     */
+    private static Statement[] decodeBody(AstReader reader, List<String> errors) {
+        try {
+            return reader.readNodes(Statement[]::new);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | ClassCastException | ArrayStoreException e) {
+            errors.add("corrupt encoded function body");
+            return new Statement[0];
+        }
+    }
+
+    private Node readNode() {
+        int tag = in.get(position++);
+        if (tag == 0) {
+            return null;
+        }
+        return switch (NODE_TYPES[tag - 1]) {
+            case LET_STATEMENT -> new LetStatement(readToken(), (Identifier) readNode(), (Expression) readNode());
+            case RETURN_STATEMENT -> new ReturnStatement(readToken(), (Expression) readNode());
+            case EXPRESSION_STATEMENT -> new ExpressionStatement(readToken(), (Expression) readNode());
+            case BLOCK_STATEMENT -> new BlockStatement(readToken(), readNodes(Statement[]::new));
+            case IDENTIFIER -> {
+                Token token = readToken();
+                yield new Identifier(token, readText(token));
+            }
+            case INTEGER -> {
+                Token token = readToken();
+                if (in.get(position++) != 0) {
+                    yield new IntegerLiteral(token, new BigInteger(token.getLiteral()));
+                }
+                long zigzag = readVarint();
+                yield new IntegerLiteral(token, (zigzag >>> 1) ^ -(zigzag & 1));
+            }
+            case FLOAT -> {
+                Token token = readToken();
+                double value = Double.longBitsToDouble(in.getLong(position));
+                position += 8;
+                yield new FloatLiteral(token, value);
+            }
+            case BOOLEAN -> new Boolean(readToken(), in.get(position++) != 0);
+            case STRING -> new StringLiteral(readString());
+            case PREFIX_EXPRESSION -> {
+                Token token = readToken();
+                yield new PrefixExpression(token, readText(token), (Expression) readNode());
+            }
+            case INFIX_EXPRESSION -> {
+                Token token = readToken();
+                String operator = readText(token);
+                Expression left = (Expression) readNode();
+                yield new InfixExpression(token, left, (Expression) readNode(), operator);
+            }
+            case IF_EXPRESSION -> new IfExpression(readToken(), (Expression) readNode(),
+                    (BlockStatement) readNode(), (BlockStatement) readNode());
+            case FUNCTION_LITERAL -> {
+                Token token = readToken();
+                Identifier[] parameters = readNodes(Identifier[]::new);
+                int length = readCount();
+                int body = position;
+                position += length;
+                yield new FunctionLiteral(token, parameters, readDeferredBody(body));
+            }
+            case CALL_EXPRESSION -> new CallExpression(readToken(), (Expression) readNode(), readNodes(Expression[]::new));
+            case ARRAY_LIST -> new ArrayLiteral(readToken(), readNodes(Expression[]::new));
+            case INDEX_EXPRESSION -> new IndexExpression(readToken(), (Expression) readNode(), (Expression) readNode());
+            case HASH -> {
+                Token token = readToken();
+                int size = readCount();
+                Map<Expression, Expression> pairs = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    pairs.put((Expression) readNode(), (Expression) readNode());
+                }
+                yield new HashLiteral(token, pairs);
+            }
+            default -> throw new IllegalArgumentException("unexpected node tag " + tag);
+        };
+    }
+
+    /**
+     * Returns the block at {@code body} without decoding it; its statements are decoded by a
+     * reader of their own the first time they are asked for.
+     */
+    private BlockStatement readDeferredBody(int body) {
+        int tag = in.get(body);
+        if (tag == 0) {
+            return null;
+        }
+        if (tag != NodeType.BLOCK_STATEMENT.ordinal() + 1) {
+            throw new IllegalArgumentException("unexpected function body tag " + tag);
+        }
+        AstReader header = new AstReader(in, strings, tokens, body + 1);
+        Token token = header.readToken();
+        int statements = header.position;
+        return new BlockStatement(token, errors -> decodeBody(new AstReader(in, strings, tokens, statements), errors));
+    }
+
+    private <T extends Node> T[] readNodes(IntFunction<T[]> newArray) {
+        int count = readCount();
+        if (count == 0) {
+            return null;
+        }
+        T[] nodes = newArray.apply(count - 1);
+        for (int i = 0; i < nodes.length; i++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) readNode();
+            nodes[i] = node;
+        }
+        return nodes;
+    }
+
+    private Token readToken() {
+        return tokens[(int) readVarint()];
+    }
+
+    private String readText(Token token) {
+        int index = (int) readVarint();
+        return index == 0 ? token.getLiteral() : strings[index - 1];
+    }
+
+    private String readString() {
+        return strings[(int) readVarint()];
+    }
+
+    /**
+     * Reads a count or length. Every counted item takes at least one byte, so a value larger than
+     * what is left of the buffer can only come from corrupt input.
+     */
+    private int readCount() {
+        int start = position;
+        long count = readVarint();
+        if (count < 0 || count > in.limit() - position) {
+            throw new IllegalArgumentException("count " + count + " at " + start + " exceeds the encoded data");
+        }
+        return (int) count;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            if (shift > 56) {
+                throw new IllegalArgumentException("malformed varint at " + (position - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package interpreter.ast;
+
+import interpreter.token.Token;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Builds a parsed program as the parser recognizes it, children before their parents. {@code N} is
+ * how the sink refers to a node and {@code P} the finished program; {@link TreeSink} builds the
+ * regular object tree and {@link FlatAst.Builder} a {@link FlatAst}.
+ * <p>
+ * A null node or list stands for one that is missing after a syntax error. {@code start} is the
+ * source offset of a node's first character and {@code end} the offset just past its last, both -1
+ * when the token source does not track offsets. Lists passed in are only valid during the call.
+ */
+public interface AstSink<N, P> {
+
+    N letStatement(Token token, int start, int end, N name, N value);
+
+    N returnStatement(Token token, int start, int end, N value);
+
+    N expressionStatement(Token token, int start, int end, N expression);
+
+    N blockStatement(Token token, int start, int end, List<N> statements);
+
+    N identifier(Token token, int start, int end);
+
+    N integerLiteral(Token token, int start, int end, long value);
+
+    /**
+     * An integer literal too large for a long.
+     */
+    N bigIntegerLiteral(Token token, int start, int end, BigInteger value);
+
+    N floatLiteral(Token token, int start, int end, double value);
+
+    N booleanLiteral(Token token, int start, int end, boolean value);
+
+    N stringLiteral(Token token, int start, int end);
+
+    N prefixExpression(Token token, int start, int end, N right);
+
+    N infixExpression(Token token, int start, int end, N left, N right);
+
+    N ifExpression(Token token, int start, int end, N condition, N consequence, N alternative);
+
+    N functionLiteral(Token token, int start, int end, List<N> parameters, N body);
+
+    N callExpression(Token token, int start, int end, N function, List<N> arguments);
+
+    N arrayLiteral(Token token, int start, int end, List<N> elements);
+
+    N indexExpression(Token token, int start, int end, N left, N index);
+
+    /**
+     * A hash literal; {@code keysAndValues} alternates keys and values in source order.
+     */
+    N hashLiteral(Token token, int start, int end, List<N> keysAndValues);
+
+    /**
+     * The start offset recorded for {@code node}, or -1 if the sink does not keep offsets.
+     */
+    int start(N node);
+
+    P program(List<N> statements);
+}
@@ -0,0 +1,260 @@
+package interpreter.ast;
+
+import interpreter.token.Token;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes a {@link Program} into the compact binary form read by {@link AstReader}:
+ * <pre>
+ * file     = MAGIC version:u8
+ *            strings:varint (length:varint utf8)*
+ *            tokens:varint (type:varint literal:string)*
+ *            statements
+ * node     = 0                                 null
+ *          | (NodeType ordinal + 1):u8 fields  see {@link #writeNode}
+ * token    = index into the token table, as a varint
+ * string   = index into the string table, as a varint
+ * text     = 0 if equal to the node's token literal, otherwise string index + 1
+ * </pre>
+ * Every distinct string and token is stored once, so most references take a single byte. Function
+ * bodies are prefixed with their encoded length so
+ * a reader can skip them and decode them only when they are first needed.
+ */
+public final class AstWriter {
+
+    static final byte[] MAGIC = {'M', 'K', 'A', 'S', 'T'};
+    static final int VERSION = 2;
+
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final Bytes strings = new Bytes();
+    private final Map<Token, Integer> tokenIndex = new HashMap<>();
+    private final Bytes tokens = new Bytes();
+    private Bytes out = new Bytes();
+
+    private AstWriter() {
+    }
+
+    public static byte[] encode(Program program) {
+        AstWriter writer = new AstWriter();
+        writer.writeNodes(program.getStatements());
+
+        Bytes file = new Bytes();
+        file.write(MAGIC, MAGIC.length);
+        file.write(VERSION);
+        file.writeVarint(writer.stringIndex.size());
+        file.write(writer.strings.bytes, writer.strings.size);
+        file.writeVarint(writer.tokenIndex.size());
+        file.write(writer.tokens.bytes, writer.tokens.size);
+        file.write(writer.out.bytes, writer.out.size);
+        return Arrays.copyOf(file.bytes, file.size);
+    }
+
+    private void writeNode(Node node) {
+        if (node == null) {
+            out.write(0);
+            return;
+        }
+        out.write(node.type().ordinal() + 1);
+        switch (node.type()) {
+            case LET_STATEMENT -> {
+                LetStatement let = (LetStatement) node;
+                writeToken(let.getToken());
+                writeNode(let.getName());
+                writeNode(let.getValue());
+            }
+            case RETURN_STATEMENT -> {
+                ReturnStatement ret = (ReturnStatement) node;
+                writeToken(ret.getToken());
+                writeNode(ret.getReturnValue());
+            }
+            case EXPRESSION_STATEMENT -> {
+                ExpressionStatement statement = (ExpressionStatement) node;
+                writeToken(statement.getToken());
+                writeNode(statement.getExpression());
+            }
+            case BLOCK_STATEMENT -> {
+                BlockStatement block = (BlockStatement) node;
+                if (!block.getErrors().isEmpty()) {
+                    throw new IllegalArgumentException("cannot encode a block with syntax errors");
+                }
+                writeToken(block.getToken());
+                writeNodes(block.getStatements());
+            }
+            case IDENTIFIER -> {
+                Identifier identifier = (Identifier) node;
+                writeToken(identifier.getToken());
+                writeText(identifier.getToken(), identifier.getValue());
+            }
+            case INTEGER -> {
+                IntegerLiteral integer = (IntegerLiteral) node;
+                writeToken(integer.getToken());
+                // a literal too large for a long is read back from its token
+                if (integer.getBigValue() != null) {
+                    out.write(1);
+                } else {
+                    out.write(0);
+                    long value = integer.getValue();
+                    out.writeVarint((value << 1) ^ (value >> 63));
+                }
+            }
+            case FLOAT -> {
+                FloatLiteral number = (FloatLiteral) node;
+                writeToken(number.getToken());
+                out.writeLong(Double.doubleToRawLongBits(number.getValue()));
+            }
+            case BOOLEAN -> {
+                Boolean bool = (Boolean) node;
+                writeToken(bool.getToken());
+                out.write(bool.isValue() ? 1 : 0);
+            }
+            case STRING -> writeString(((StringLiteral) node).getValue());
+            case PREFIX_EXPRESSION -> {
+                PrefixExpression prefix = (PrefixExpression) node;
+                writeToken(prefix.getToken());
+                writeText(prefix.getToken(), prefix.getOperator());
+                writeNode(prefix.getRight());
+            }
+            case INFIX_EXPRESSION -> {
+                InfixExpression infix = (InfixExpression) node;
+                writeToken(infix.getToken());
+                writeText(infix.getToken(), infix.getOperator());
+                writeNode(infix.getLeft());
+                writeNode(infix.getRight());
+            }
+            case IF_EXPRESSION -> {
+                IfExpression ifExpression = (IfExpression) node;
+                writeToken(ifExpression.getToken());
+                writeNode(ifExpression.getCondition());
+                writeNode(ifExpression.getConsequence());
+                writeNode(ifExpression.getAlternative());
+            }
+            case FUNCTION_LITERAL -> {
+                FunctionLiteral function = (FunctionLiteral) node;
+                writeToken(function.getToken());
+                writeNodes(function.getParameters());
+
+                Bytes enclosing = out;
+                out = new Bytes();
+                writeNode(function.getBody());
+                Bytes body = out;
+                out = enclosing;
+                out.writeVarint(body.size);
+                out.write(body.bytes, body.size);
+            }
+            case CALL_EXPRESSION -> {
+                CallExpression call = (CallExpression) node;
+                writeToken(call.getToken());
+                writeNode(call.getFunction());
+                writeNodes(call.getArguments());
+            }
+            case ARRAY_LIST -> {
+                ArrayLiteral array = (ArrayLiteral) node;
+                writeToken(array.getToken());
+                writeNodes(array.getElements());
+            }
+            case INDEX_EXPRESSION -> {
+                IndexExpression index = (IndexExpression) node;
+                writeToken(index.getToken());
+                writeNode(index.getLeft());
+                writeNode(index.getIndex());
+            }
+            case HASH -> {
+                HashLiteral hash = (HashLiteral) node;
+                writeToken(hash.getToken());
+                out.writeVarint(hash.getPairs().size());
+                hash.getPairs().forEach((key, value) -> {
+                    writeNode(key);
+                    writeNode(value);
+                });
+            }
+            default -> throw new IllegalArgumentException("cannot encode " + node.type());
+        }
+    }
+
+    /**
+     * Writes the length plus one, so that a null array can be told apart from an empty one.
+     */
+    private void writeNodes(Node[] nodes) {
+        if (nodes == null) {
+            out.writeVarint(0);
+            return;
+        }
+        out.writeVarint(nodes.length + 1L);
+        for (Node node : nodes) {
+            writeNode(node);
+        }
+    }
+
+    private void writeToken(Token token) {
+        Integer index = tokenIndex.get(token);
+        if (index == null) {
+            index = tokenIndex.size();
+            tokenIndex.put(token, index);
+            tokens.writeVarint(token.getType().ordinal());
+            tokens.writeVarint(stringIndex(token.getLiteral()));
+        }
+        out.writeVarint(index);
+    }
+
+    private void writeText(Token token, String value) {
+        out.writeVarint(value.equals(token.getLiteral()) ? 0 : stringIndex(value) + 1L);
+    }
+
+    private void writeString(String value) {
+        out.writeVarint(stringIndex(value));
+    }
+
+    private int stringIndex(String value) {
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = stringIndex.size();
+            stringIndex.put(value, index);
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            strings.writeVarint(utf8.length);
+            strings.write(utf8, utf8.length);
+        }
+        return index;
+    }
+
+    private static final class Bytes {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] data, int length) {
+            ensure(length);
+            System.arraycopy(data, 0, bytes, size, length);
+            size += length;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
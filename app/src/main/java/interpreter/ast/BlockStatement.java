@@ -1,14 +1,54 @@
 package interpreter.ast;
 
 import interpreter.token.Token;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 
-@AllArgsConstructor
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 public class BlockStatement implements Expression {
     private Token token;
     private Statement[] statements;
+    @Getter(AccessLevel.NONE)
+    private DeferredStatements deferred;
+    private List<String> errors = List.of();
+
+    public BlockStatement(Token token, Statement[] statements) {
+        this.token = token;
+        this.statements = statements;
+    }
+
+    /**
+     * A block whose statements are only parsed the first time they are asked for.
+     */
+    public BlockStatement(Token token, DeferredStatements deferred) {
+        this.token = token;
+        this.deferred = deferred;
+    }
+
+    public Statement[] getStatements() {
+        if (deferred != null) {
+            List<String> found = new ArrayList<>();
+            statements = deferred.parse(found);
+            errors = found;
+            deferred = null;
+        }
+        return statements;
+    }
+
+    /**
+     * Syntax errors found when a deferred block was parsed; always empty for other blocks.
+     */
+    public List<String> getErrors() {
+        getStatements();
+        return errors;
+    }
+
+    public boolean isParsed() {
+        return deferred == null;
+    }
 
     @Override
     public String tokenLiteral() {
@@ -24,7 +64,7 @@ public class BlockStatement implements Expression {
     public String toString() {
         StringBuilder out = new StringBuilder();
 
-        for(Statement s: statements) {
+        for(Statement s: getStatements()) {
             out.append(s);
         }
 
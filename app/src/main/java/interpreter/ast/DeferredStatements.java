@@ -0,0 +1,15 @@
+package interpreter.ast;
+
+import java.util.List;
+
+/**
+ * The not yet parsed statements of a block, see {@link BlockStatement#BlockStatement(interpreter.token.Token, DeferredStatements)}.
+ */
+@FunctionalInterface
+public interface DeferredStatements {
+
+    /**
+     * Parses the statements, adding any syntax errors to {@code errors}.
+     */
+    Statement[] parse(List<String> errors);
+}
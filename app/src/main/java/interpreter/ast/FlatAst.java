@@ -0,0 +1,447 @@
+package interpreter.ast;
+
+import interpreter.token.Token;
+import interpreter.token.TokenType;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * A parsed program stored in a few flat arrays instead of one object per node. Every node is a
+ * fixed-size record in {@code nodes}:
+ * <pre>
+ * KIND     NodeType ordinal | TokenType ordinal &lt;&lt; 8
+ * LITERAL  token literal, as an index into the string table
+ * START    source offset of the node's first character
+ * END      source offset just past the node's last character
+ * A, B, C  children, see below; -1 for none
+ * </pre>
+ * Children are node ids, string ids or list ids depending on the kind: a let has its name and
+ * value, an identifier and a string their text, an integer or float the high and low halves of its
+ * bits (an integer too large for a long has {@code C} set to 1 and is read back from its literal), an if its condition and blocks, a function a parameter list and its body, a call its
+ * function and an argument list, a hash a list of alternating keys and values. A list is a count
+ * followed by that many node ids in {@code lists}. Strings are shared, so every distinct name and
+ * literal is stored once.
+ * <p>
+ * {@link #node(int)} wraps a node id in a {@link View} for code that wants the {@link Node} API;
+ * {@link #toProgram()} builds the regular object tree, e.g. for evaluation.
+ */
+public final class FlatAst {
+
+    static final int KIND = 0;
+    static final int LITERAL = 1;
+    static final int START = 2;
+    static final int END = 3;
+    public static final int A = 4;
+    public static final int B = 5;
+    public static final int C = 6;
+    static final int NODE_INTS = 7;
+    // C of an integer node whose value does not fit in a long
+    private static final int BIG_INTEGER = 1;
+
+    private static final NodeType[] NODE_TYPES = NodeType.values();
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    private final int[] nodes;
+    private final int[] lists;
+    private final String[] strings;
+    private final int statements;
+
+    private FlatAst(int[] nodes, int[] lists, String[] strings, int statements) {
+        this.nodes = nodes;
+        this.lists = lists;
+        this.strings = strings;
+        this.statements = statements;
+    }
+
+    public int nodeCount() {
+        return nodes.length / NODE_INTS;
+    }
+
+    /**
+     * The ids of the top-level statements.
+     */
+    public int[] statements() {
+        return listItems(statements);
+    }
+
+    public View node(int id) {
+        return id < 0 ? null : new View(this, id);
+    }
+
+    public NodeType type(int id) {
+        return NODE_TYPES[nodes[id * NODE_INTS + KIND] & 0xFF];
+    }
+
+    public Token token(int id) {
+        int kind = nodes[id * NODE_INTS + KIND];
+        return new Token(TOKEN_TYPES[kind >>> 8], strings[nodes[id * NODE_INTS + LITERAL]]);
+    }
+
+    public int start(int id) {
+        return nodes[id * NODE_INTS + START];
+    }
+
+    public int end(int id) {
+        return nodes[id * NODE_INTS + END];
+    }
+
+    /**
+     * Bytes held by the arrays and the distinct strings, using the usual 64-bit JVM layout with
+     * compressed references.
+     */
+    public long retainedBytes() {
+        long bytes = arrayBytes(4, nodes.length) + arrayBytes(4, lists.length) + arrayBytes(4, strings.length);
+        for (String string : strings) {
+            bytes += 24 + arrayBytes(1, string.length());
+        }
+        return bytes;
+    }
+
+    public Program toProgram() {
+        return new Program(toNodes(statements, Statement[]::new));
+    }
+
+    /**
+     * Builds the object form of node {@code id} and everything below it.
+     */
+    public Node toNode(int id) {
+        if (id < 0) {
+            return null;
+        }
+        int base = id * NODE_INTS;
+        int a = nodes[base + A];
+        int b = nodes[base + B];
+        int c = nodes[base + C];
+        Token token = token(id);
+        return switch (type(id)) {
+            case LET_STATEMENT -> new LetStatement(token, (Identifier) toNode(a), (Expression) toNode(b));
+            case RETURN_STATEMENT -> new ReturnStatement(token, (Expression) toNode(a));
+            case EXPRESSION_STATEMENT -> new ExpressionStatement(token, (Expression) toNode(a));
+            case BLOCK_STATEMENT -> new BlockStatement(token, toNodes(a, Statement[]::new));
+            case IDENTIFIER -> new Identifier(token, strings[a]);
+            case INTEGER -> c == BIG_INTEGER
+                    ? new IntegerLiteral(token, new BigInteger(token.getLiteral()))
+                    : new IntegerLiteral(token, bits(a, b));
+            case FLOAT -> new FloatLiteral(token, Double.longBitsToDouble(bits(a, b)));
+            case BOOLEAN -> new Boolean(token, a != 0);
+            case STRING -> new StringLiteral(strings[a]);
+            case PREFIX_EXPRESSION -> new PrefixExpression(token, token.getLiteral(), (Expression) toNode(a));
+            case INFIX_EXPRESSION -> new InfixExpression(token, (Expression) toNode(a), (Expression) toNode(b),
+                    token.getLiteral());
+            case IF_EXPRESSION -> new IfExpression(token, (Expression) toNode(a), (BlockStatement) toNode(b),
+                    (BlockStatement) toNode(c));
+            case FUNCTION_LITERAL -> new FunctionLiteral(token, toNodes(a, Identifier[]::new),
+                    (BlockStatement) toNode(b));
+            case CALL_EXPRESSION -> new CallExpression(token, (Expression) toNode(a), toNodes(b, Expression[]::new));
+            case ARRAY_LIST -> new ArrayLiteral(token, toNodes(a, Expression[]::new));
+            case INDEX_EXPRESSION -> new IndexExpression(token, (Expression) toNode(a), (Expression) toNode(b));
+            case HASH -> {
+                Map<Expression, Expression> pairs = new LinkedHashMap<>();
+                int[] items = listItems(a);
+                for (int i = 0; i < items.length; i += 2) {
+                    pairs.put((Expression) toNode(items[i]), (Expression) toNode(items[i + 1]));
+                }
+                yield new HashLiteral(token, pairs);
+            }
+            default -> throw new IllegalStateException("unexpected node " + type(id));
+        };
+    }
+
+    int slot(int id, int slot) {
+        return nodes[id * NODE_INTS + slot];
+    }
+
+    String string(int id) {
+        return strings[id];
+    }
+
+    int[] listItems(int list) {
+        if (list < 0) {
+            return null;
+        }
+        return Arrays.copyOfRange(lists, list + 1, list + 1 + lists[list]);
+    }
+
+    private <T extends Node> T[] toNodes(int list, IntFunction<T[]> newArray) {
+        int[] items = listItems(list);
+        if (items == null) {
+            return null;
+        }
+        T[] result = newArray.apply(items.length);
+        for (int i = 0; i < items.length; i++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) toNode(items[i]);
+            result[i] = node;
+        }
+        return result;
+    }
+
+    private static long bits(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static long arrayBytes(int elementBytes, int length) {
+        return (16 + (long) elementBytes * length + 7) & ~7L;
+    }
+
+    /**
+     * Appends nodes, lists and strings while a program is being parsed. Node and list ids are the
+     * sink's nodes; a missing one is stored as -1.
+     */
+    public static final class Builder implements AstSink<Integer, FlatAst> {
+        private int[] nodes = new int[NODE_INTS * 256];
+        private int nodeInts;
+        private int[] lists = new int[256];
+        private int listInts;
+        private final Map<String, Integer> stringIndex = new HashMap<>();
+        private String[] strings = new String[64];
+
+        @Override
+        public Integer letStatement(Token token, int start, int end, Integer name, Integer value) {
+            return add(NodeType.LET_STATEMENT, token, start, end, id(name), id(value), -1);
+        }
+
+        @Override
+        public Integer returnStatement(Token token, int start, int end, Integer value) {
+            return add(NodeType.RETURN_STATEMENT, token, start, end, id(value), -1, -1);
+        }
+
+        @Override
+        public Integer expressionStatement(Token token, int start, int end, Integer expression) {
+            return add(NodeType.EXPRESSION_STATEMENT, token, start, end, id(expression), -1, -1);
+        }
+
+        @Override
+        public Integer blockStatement(Token token, int start, int end, List<Integer> statements) {
+            return add(NodeType.BLOCK_STATEMENT, token, start, end, list(statements), -1, -1);
+        }
+
+        @Override
+        public Integer identifier(Token token, int start, int end) {
+            return add(NodeType.IDENTIFIER, token, start, end, string(token.getLiteral()), -1, -1);
+        }
+
+        @Override
+        public Integer integerLiteral(Token token, int start, int end, long value) {
+            return add(NodeType.INTEGER, token, start, end, value);
+        }
+
+        @Override
+        public Integer bigIntegerLiteral(Token token, int start, int end, BigInteger value) {
+            return add(NodeType.INTEGER, token, start, end, -1, -1, BIG_INTEGER);
+        }
+
+        @Override
+        public Integer floatLiteral(Token token, int start, int end, double value) {
+            return add(NodeType.FLOAT, token, start, end, Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public Integer booleanLiteral(Token token, int start, int end, boolean value) {
+            return add(NodeType.BOOLEAN, token, start, end, value ? 1 : 0, -1, -1);
+        }
+
+        @Override
+        public Integer stringLiteral(Token token, int start, int end) {
+            return add(NodeType.STRING, token, start, end, string(token.getLiteral()), -1, -1);
+        }
+
+        @Override
+        public Integer prefixExpression(Token token, int start, int end, Integer right) {
+            return add(NodeType.PREFIX_EXPRESSION, token, start, end, id(right), -1, -1);
+        }
+
+        @Override
+        public Integer infixExpression(Token token, int start, int end, Integer left, Integer right) {
+            return add(NodeType.INFIX_EXPRESSION, token, start, end, id(left), id(right), -1);
+        }
+
+        @Override
+        public Integer ifExpression(Token token, int start, int end, Integer condition, Integer consequence,
+                                    Integer alternative) {
+            return add(NodeType.IF_EXPRESSION, token, start, end, id(condition), id(consequence), id(alternative));
+        }
+
+        @Override
+        public Integer functionLiteral(Token token, int start, int end, List<Integer> parameters, Integer body) {
+            return add(NodeType.FUNCTION_LITERAL, token, start, end, list(parameters), id(body), -1);
+        }
+
+        @Override
+        public Integer callExpression(Token token, int start, int end, Integer function, List<Integer> arguments) {
+            return add(NodeType.CALL_EXPRESSION, token, start, end, id(function), list(arguments), -1);
+        }
+
+        @Override
+        public Integer arrayLiteral(Token token, int start, int end, List<Integer> elements) {
+            return add(NodeType.ARRAY_LIST, token, start, end, list(elements), -1, -1);
+        }
+
+        @Override
+        public Integer indexExpression(Token token, int start, int end, Integer left, Integer index) {
+            return add(NodeType.INDEX_EXPRESSION, token, start, end, id(left), id(index), -1);
+        }
+
+        @Override
+        public Integer hashLiteral(Token token, int start, int end, List<Integer> keysAndValues) {
+            return add(NodeType.HASH, token, start, end, list(keysAndValues), -1, -1);
+        }
+
+        @Override
+        public int start(Integer node) {
+            return nodes[node * NODE_INTS + START];
+        }
+
+        @Override
+        public FlatAst program(List<Integer> statements) {
+            int list = list(statements);
+            return new FlatAst(Arrays.copyOf(nodes, nodeInts), Arrays.copyOf(lists, listInts),
+                    Arrays.copyOf(strings, stringIndex.size()), list);
+        }
+
+        /**
+         * Adds a node and returns its id; {@code a}, {@code b} and {@code c} are its children.
+         */
+        private int add(NodeType type, Token token, int start, int end, int a, int b, int c) {
+            if (nodeInts + NODE_INTS > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            int base = nodeInts;
+            nodes[base + KIND] = type.ordinal() | token.getType().ordinal() << 8;
+            nodes[base + LITERAL] = string(token.getLiteral());
+            nodes[base + START] = start;
+            nodes[base + END] = end;
+            nodes[base + A] = a;
+            nodes[base + B] = b;
+            nodes[base + C] = c;
+            nodeInts += NODE_INTS;
+            return base / NODE_INTS;
+        }
+
+        private int add(NodeType type, Token token, int start, int end, long value) {
+            return add(type, token, start, end, (int) (value >>> 32), (int) value, -1);
+        }
+
+        /**
+         * Adds a list of the given node ids and returns its id, or -1 for a missing list.
+         */
+        private int list(List<Integer> items) {
+            if (items == null) {
+                return -1;
+            }
+            int count = items.size();
+            if (listInts + count + 1 > lists.length) {
+                lists = Arrays.copyOf(lists, Math.max(lists.length * 2, listInts + count + 1));
+            }
+            int list = listInts;
+            lists[list] = count;
+            for (int i = 0; i < count; i++) {
+                lists[list + 1 + i] = id(items.get(i));
+            }
+            listInts += count + 1;
+            return list;
+        }
+
+        private int string(String value) {
+            Integer index = stringIndex.get(value);
+            if (index == null) {
+                index = stringIndex.size();
+                stringIndex.put(value, index);
+                if (index == strings.length) {
+                    strings = Arrays.copyOf(strings, index * 2);
+                }
+                strings[index] = value;
+            }
+            return index;
+        }
+
+        private static int id(Integer node) {
+            return node == null ? -1 : node;
+        }
+    }
+
+    /**
+     * A node of a {@link FlatAst}, seen through the {@link Node} interface. Views hold nothing but
+     * the tree and an id, so they are cheap to create and can be dropped right after use.
+     */
+    public static final class View implements Statement, Expression {
+        private final FlatAst ast;
+        private final int id;
+
+        private View(FlatAst ast, int id) {
+            this.ast = ast;
+            this.id = id;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public Token getToken() {
+            return ast.token(id);
+        }
+
+        public int start() {
+            return ast.start(id);
+        }
+
+        public int end() {
+            return ast.end(id);
+        }
+
+        /**
+         * The child node in slot {@code A}, {@code B} or {@code C} of this node's kind.
+         */
+        public View child(int slot) {
+            return ast.node(ast.slot(id, slot));
+        }
+
+        /**
+         * The nodes of the list in {@code slot}, or null if there is none.
+         */
+        public View[] children(int slot) {
+            int[] items = ast.listItems(ast.slot(id, slot));
+            if (items == null) {
+                return null;
+            }
+            View[] views = new View[items.length];
+            for (int i = 0; i < items.length; i++) {
+                views[i] = ast.node(items[i]);
+            }
+            return views;
+        }
+
+        /**
+         * The name or text of an identifier or string literal.
+         */
+        public String text() {
+            return ast.string(ast.slot(id, A));
+        }
+
+        public Node toNode() {
+            return ast.toNode(id);
+        }
+
+        @Override
+        public String tokenLiteral() {
+            NodeType type = type();
+            return type == NodeType.STRING ? text() : ast.string(ast.slot(id, LITERAL));
+        }
+
+        @Override
+        public NodeType type() {
+            return ast.type(id);
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(toNode());
+        }
+    }
+}
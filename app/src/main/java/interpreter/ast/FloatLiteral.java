@@ -0,0 +1,28 @@
+package interpreter.ast;
+
+import interpreter.token.Token;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class FloatLiteral implements Expression {
+
+    private Token token;
+    private double value;
+
+    @Override
+    public String tokenLiteral() {
+        return token.getLiteral();
+    }
+
+    @Override
+    public NodeType type() {
+        return NodeType.FLOAT;
+    }
+
+    @Override
+    public String toString() {
+        return token.getLiteral();
+    }
+}
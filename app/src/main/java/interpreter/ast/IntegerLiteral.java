@@ -1,15 +1,27 @@
 package interpreter.ast;
 
 import interpreter.token.Token;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-@AllArgsConstructor
+import java.math.BigInteger;
+
 @Getter
 public class IntegerLiteral implements Expression {
 
     private Token token;
-    private int value;
+    private long value;
+    // the value of a literal too large for a long, otherwise null
+    private BigInteger bigValue;
+
+    public IntegerLiteral(Token token, long value) {
+        this.token = token;
+        this.value = value;
+    }
+
+    public IntegerLiteral(Token token, BigInteger bigValue) {
+        this.token = token;
+        this.bigValue = bigValue;
+    }
 
     @Override
     public String tokenLiteral() {
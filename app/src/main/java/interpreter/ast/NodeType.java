@@ -2,6 +2,7 @@ package interpreter.ast;
 
 public enum NodeType {
     INTEGER,
+    FLOAT,
     PROGRAM,
     EXPRESSION_STATEMENT,
     BOOLEAN,
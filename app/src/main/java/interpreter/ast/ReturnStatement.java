@@ -4,6 +4,8 @@ import interpreter.token.Token;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.Optional;
+
 @AllArgsConstructor
 @Getter
 public class ReturnStatement implements Statement{
@@ -20,4 +22,17 @@ public class ReturnStatement implements Statement{
     public NodeType type() {
         return NodeType.RETURN_STATEMENT;
     }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+
+        out.append(tokenLiteral());
+        out.append(" ");
+        Optional.ofNullable(returnValue)
+                .ifPresent(out::append);
+        out.append(";");
+
+        return out.toString();
+    }
 }
@@ -19,4 +19,9 @@ public class StringLiteral implements Expression{
     public NodeType type() {
         return STRING;
     }
+
+    @Override
+    public String toString() {
+        return value;
+    }
 }
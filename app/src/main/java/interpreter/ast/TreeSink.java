@@ -0,0 +1,135 @@
+package interpreter.ast;
+
+import interpreter.token.Token;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the object tree: one {@link Node} per node, with lists copied into exactly sized arrays.
+ * Offsets are not kept. Stateless, so one instance serves every parser.
+ */
+public final class TreeSink implements AstSink<Node, Program> {
+
+    public static final TreeSink INSTANCE = new TreeSink();
+
+    private static final Expression[] NO_EXPRESSIONS = new Expression[0];
+
+    private TreeSink() {
+    }
+
+    @Override
+    public Node letStatement(Token token, int start, int end, Node name, Node value) {
+        return new LetStatement(token, (Identifier) name, (Expression) value);
+    }
+
+    @Override
+    public Node returnStatement(Token token, int start, int end, Node value) {
+        return new ReturnStatement(token, (Expression) value);
+    }
+
+    @Override
+    public Node expressionStatement(Token token, int start, int end, Node expression) {
+        return new ExpressionStatement(token, (Expression) expression);
+    }
+
+    @Override
+    public Node blockStatement(Token token, int start, int end, List<Node> statements) {
+        return new BlockStatement(token, statements.toArray(new Statement[0]));
+    }
+
+    @Override
+    public Node identifier(Token token, int start, int end) {
+        return new Identifier(token, token.getLiteral());
+    }
+
+    @Override
+    public Node integerLiteral(Token token, int start, int end, long value) {
+        return new IntegerLiteral(token, value);
+    }
+
+    @Override
+    public Node bigIntegerLiteral(Token token, int start, int end, BigInteger value) {
+        return new IntegerLiteral(token, value);
+    }
+
+    @Override
+    public Node floatLiteral(Token token, int start, int end, double value) {
+        return new FloatLiteral(token, value);
+    }
+
+    @Override
+    public Node booleanLiteral(Token token, int start, int end, boolean value) {
+        return new Boolean(token, value);
+    }
+
+    @Override
+    public Node stringLiteral(Token token, int start, int end) {
+        return new StringLiteral(token.getLiteral());
+    }
+
+    @Override
+    public Node prefixExpression(Token token, int start, int end, Node right) {
+        return new PrefixExpression(token, token.getLiteral(), (Expression) right);
+    }
+
+    @Override
+    public Node infixExpression(Token token, int start, int end, Node left, Node right) {
+        return new InfixExpression(token, (Expression) left, (Expression) right, token.getLiteral());
+    }
+
+    @Override
+    public Node ifExpression(Token token, int start, int end, Node condition, Node consequence, Node alternative) {
+        return new IfExpression(token, (Expression) condition, (BlockStatement) consequence, (BlockStatement) alternative);
+    }
+
+    @Override
+    public Node functionLiteral(Token token, int start, int end, List<Node> parameters, Node body) {
+        Identifier[] identifiers = parameters == null ? null : parameters.toArray(new Identifier[0]);
+        return new FunctionLiteral(token, identifiers, (BlockStatement) body);
+    }
+
+    @Override
+    public Node callExpression(Token token, int start, int end, Node function, List<Node> arguments) {
+        return new CallExpression(token, (Expression) function, expressions(arguments));
+    }
+
+    @Override
+    public Node arrayLiteral(Token token, int start, int end, List<Node> elements) {
+        return new ArrayLiteral(token, expressions(elements));
+    }
+
+    @Override
+    public Node indexExpression(Token token, int start, int end, Node left, Node index) {
+        return new IndexExpression(token, (Expression) left, (Expression) index);
+    }
+
+    @Override
+    public Node hashLiteral(Token token, int start, int end, List<Node> keysAndValues) {
+        // keep the pairs in source order so the AST prints and evaluates the same every time
+        Map<Expression, Expression> pairs = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.size(); i += 2) {
+            pairs.put((Expression) keysAndValues.get(i), (Expression) keysAndValues.get(i + 1));
+        }
+        return new HashLiteral(token, pairs);
+    }
+
+    @Override
+    public int start(Node node) {
+        return -1;
+    }
+
+    @Override
+    public Program program(List<Node> statements) {
+        return new Program(statements.toArray(new Statement[0]));
+    }
+
+    private static Expression[] expressions(List<Node> nodes) {
+        if (nodes == null) {
+            return null;
+        }
+        return nodes.isEmpty() ? NO_EXPRESSIONS : nodes.toArray(new Expression[0]);
+    }
+}
@@ -35,5 +35,12 @@ public class Environment {
         return Optional.ofNullable(store.put(name, object));
     }
 
+    /**
+     * Removes all bindings made in this environment, leaving the outer environment untouched.
+     */
+    public void clear() {
+        store.clear();
+    }
+
 
 }
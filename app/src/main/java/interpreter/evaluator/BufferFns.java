@@ -0,0 +1,189 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongIntegerArgument;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.NULL;
+
+/**
+ * Builtins for the off-heap {@code bytes} and {@code int_buffer} types. Buffers allocated while a
+ * {@code scoped(fn)} call is running are freed when it returns; others live until {@code free}
+ * is called on them or on one of their slices.
+ */
+public class BufferFns {
+
+    private static final ThreadLocal<Deque<List<OffHeapMemory>>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static Map<String, MonkeyBuiltin> BUFFER_FNS = Map.of(
+            "bytes", new MonkeyBuiltin((args) -> allocate("bytes", args, 1, MonkeyBytes::new)),
+            "int_buffer", new MonkeyBuiltin((args) -> allocate("int_buffer", args, Long.BYTES, MonkeyIntBuffer::new)),
+            "slice", new MonkeyBuiltin((args) -> {
+                if (args.length != 3) {
+                    return wrongNumberOfArguments(args, 3);
+                }
+                MonkeyObject invalid = checkBuffer("slice", args[0]);
+                if (invalid != null) {
+                    return invalid;
+                }
+                if (!(args[1] instanceof MonkeyInteger)) {
+                    return wrongIntegerArgument("slice", args[1]);
+                }
+                if (!(args[2] instanceof MonkeyInteger)) {
+                    return wrongIntegerArgument("slice", args[2]);
+                }
+                MonkeyBuffer buffer = (MonkeyBuffer) args[0];
+                long from = ((MonkeyInteger) args[1]).getValue();
+                long to = ((MonkeyInteger) args[2]).getValue();
+
+                if (from < 0 || to > buffer.length() || from > to) {
+                    return new MonkeyError(String.format("slice bounds out of range: [%d:%d], length %d", from, to, buffer.length()));
+                }
+                return buffer.slice(from, to);
+            }),
+            "free", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                MonkeyObject invalid = checkBuffer("free", args[0]);
+                if (invalid != null) {
+                    return invalid;
+                }
+                ((MonkeyBuffer) args[0]).free();
+                return NULL;
+            }),
+            "scoped", new MonkeyBuiltin((applier, args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                Deque<List<OffHeapMemory>> scopes = SCOPES.get();
+                scopes.push(new ArrayList<>());
+                try {
+                    return applier.apply(args[0], new MonkeyObject[0]);
+                } finally {
+                    scopes.pop().forEach(OffHeapMemory::free);
+                }
+            })
+    );
+
+    /**
+     * {@code get(buffer, index)} reads one element, see {@link #get(MonkeyBuffer, long)}.
+     */
+    static MonkeyObject get(MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        MonkeyObject invalid = checkBuffer("get", args[0]);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (!(args[1] instanceof MonkeyInteger)) {
+            return wrongIntegerArgument("get", args[1]);
+        }
+        return get((MonkeyBuffer) args[0], ((MonkeyInteger) args[1]).getValue());
+    }
+
+    /**
+     * {@code put(buffer, index, value)} stores in place and returns the buffer.
+     */
+    static MonkeyObject put(MonkeyObject[] args) {
+        if (args.length != 3) {
+            return wrongNumberOfArguments(args, 3);
+        }
+        MonkeyObject invalid = checkBuffer("put", args[0]);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (!(args[1] instanceof MonkeyInteger)) {
+            return wrongIntegerArgument("put", args[1]);
+        }
+        if (!(args[2] instanceof MonkeyInteger)) {
+            return wrongIntegerArgument("put", args[2]);
+        }
+        MonkeyBuffer buffer = (MonkeyBuffer) args[0];
+        long index = ((MonkeyInteger) args[1]).getValue();
+        long value = ((MonkeyInteger) args[2]).getValue();
+
+        if (!buffer.inBounds(index)) {
+            return new MonkeyError(String.format("index out of range: %d, length %d", index, buffer.length()));
+        }
+        if (!buffer.accepts(value)) {
+            return new MonkeyError(String.format("value %d does not fit in %s", value, buffer.type()));
+        }
+        buffer.put(index, value);
+        return buffer;
+    }
+
+    /**
+     * Element at {@code index}, or NULL when it is out of range, like array indexing.
+     */
+    static MonkeyObject get(MonkeyBuffer buffer, long index) {
+        if (buffer.isFreed()) {
+            return freedError(buffer);
+        }
+        if (!buffer.inBounds(index)) {
+            return NULL;
+        }
+        return MonkeyInteger.valueOf(buffer.get(index));
+    }
+
+    static MonkeyError freedError(MonkeyBuffer buffer) {
+        return new MonkeyError(buffer.type() + " has been freed");
+    }
+
+    private static MonkeyObject allocate(String name, MonkeyObject[] args, int elementBytes,
+                                         LongFunction<MonkeyBuffer> constructor) {
+        if (args.length != 1) {
+            return wrongNumberOfArguments(args, 1);
+        }
+        if (!(args[0] instanceof MonkeyInteger)) {
+            return wrongIntegerArgument(name, args[0]);
+        }
+        long length = ((MonkeyInteger) args[0]).getValue();
+        if (length < 0) {
+            return new MonkeyError(String.format("negative length passed to `%s`: %d", name, length));
+        }
+        return allocate(name, length, elementBytes, constructor);
+    }
+
+    /**
+     * Allocates a buffer of {@code length} elements for builtin {@code name} and registers it with
+     * the innermost {@code scoped} call, if any. Returns a MonkeyError if the buffer is too large or
+     * the memory cannot be reserved.
+     */
+    static MonkeyObject allocate(String name, long length, int elementBytes, LongFunction<MonkeyBuffer> constructor) {
+        if (length > OffHeapMemory.MAX_BYTE_SIZE / elementBytes) {
+            return new MonkeyError(String.format("length passed to `%s` is too large: %d", name, length));
+        }
+
+        MonkeyBuffer buffer;
+        try {
+            buffer = constructor.apply(length);
+        } catch (OutOfMemoryError ex) {
+            return new MonkeyError(String.format("cannot allocate %s of length %d: %s", name, length, ex.getMessage()));
+        }
+        List<OffHeapMemory> scope = SCOPES.get().peek();
+        if (scope != null) {
+            scope.add(buffer.getMemory());
+        }
+        return buffer;
+    }
+
+    private static MonkeyObject checkBuffer(String name, MonkeyObject arg) {
+        if (!(arg instanceof MonkeyBuffer)) {
+            return wrongArgumentType(name, MonkeyBytes.BYTES_OBJ + " or " + MonkeyIntBuffer.INT_BUFFER_OBJ, arg);
+        }
+        if (((MonkeyBuffer) arg).isFreed()) {
+            return freedError((MonkeyBuffer) arg);
+        }
+        return null;
+    }
+}
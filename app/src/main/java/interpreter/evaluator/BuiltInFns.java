@@ -4,13 +4,14 @@ import interpreter.ast.Expression;
 import interpreter.monkey.objects.*;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 import static interpreter.evaluator.Evaluator.NULL;
 
 public class BuiltInFns {
 
-    public static Map<String, MonkeyBuiltin> BUILTIN_FNS = Map.of(
+    private static final Map<String, MonkeyBuiltin> CORE_FNS = Map.of(
             "len", new MonkeyBuiltin((args) -> {
                 if (args.length != 1) {
                     return new MonkeyError(String.format("wrong number of arguments. got=%d, want=1", args.length));
@@ -18,7 +19,7 @@ public class BuiltInFns {
 
                 if (args[0] instanceof MonkeyString) {
                     MonkeyString string = (MonkeyString) args[0];
-                    return new MonkeyInteger(string.getValue().length());
+                    return new MonkeyInteger(string.length());
                 }
 
                 if (args[0] instanceof MonkeyArray) {
@@ -26,6 +27,26 @@ public class BuiltInFns {
                     return new MonkeyInteger(arr.getElements().length);
                 }
 
+                if (args[0] instanceof MonkeyTable) {
+                    return new MonkeyInteger(((MonkeyTable) args[0]).getRowCount());
+                }
+
+                if (args[0] instanceof MonkeySet) {
+                    return new MonkeyInteger(((MonkeySet) args[0]).size());
+                }
+
+                if (args[0] instanceof MonkeySortedMap) {
+                    return new MonkeyInteger(((MonkeySortedMap) args[0]).size());
+                }
+
+                if (args[0] instanceof MonkeyBuffer) {
+                    MonkeyBuffer buffer = (MonkeyBuffer) args[0];
+                    if (buffer.isFreed()) {
+                        return BufferFns.freedError(buffer);
+                    }
+                    return new MonkeyInteger(buffer.length());
+                }
+
                 return new MonkeyError(String.format("argument to `len` not supported, got %s", args[0].type()));
             }),
             "first", new MonkeyBuiltin((args) -> {
@@ -93,4 +114,35 @@ public class BuiltInFns {
                 return NULL;
             })
     );
+
+    public static Map<String, MonkeyBuiltin> BUILTIN_FNS = merge(
+            CORE_FNS,
+            StringFns.STRING_FNS,
+            BufferFns.BUFFER_FNS,
+            TableFns.TABLE_FNS,
+            RecordFns.RECORD_FNS,
+            SetFns.SET_FNS,
+            SortedMapFns.SORTED_MAP_FNS,
+            SortFns.SORT_FNS,
+            VectorFns.VECTOR_FNS,
+            SeqFns.SEQ_FNS,
+            OverloadedFns.OVERLOADED_FNS
+    );
+
+    /**
+     * Combines the builtin groups. A name may be defined by one group only; builtins shared by
+     * several types live in {@link OverloadedFns}.
+     */
+    @SafeVarargs
+    private static Map<String, MonkeyBuiltin> merge(Map<String, MonkeyBuiltin>... groups) {
+        Map<String, MonkeyBuiltin> builtins = new HashMap<>();
+        for (Map<String, MonkeyBuiltin> group : groups) {
+            group.forEach((name, builtin) -> {
+                if (builtins.putIfAbsent(name, builtin) != null) {
+                    throw new IllegalStateException("builtin `" + name + "` is defined more than once");
+                }
+            });
+        }
+        return Map.copyOf(builtins);
+    }
 }
\ No newline at end of file
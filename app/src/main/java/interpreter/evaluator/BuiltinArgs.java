@@ -0,0 +1,35 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.MonkeyBigInteger;
+import interpreter.monkey.objects.MonkeyError;
+import interpreter.monkey.objects.MonkeyInteger;
+import interpreter.monkey.objects.MonkeyObject;
+
+final class BuiltinArgs {
+
+    private BuiltinArgs() {
+    }
+
+    static MonkeyError wrongNumberOfArguments(MonkeyObject[] args, int want) {
+        return new MonkeyError(String.format("wrong number of arguments. got=%d, want=%d", args.length, want));
+    }
+
+    static MonkeyError wrongNumberOfArguments(MonkeyObject[] args, String want) {
+        return new MonkeyError(String.format("wrong number of arguments. got=%d, want=%s", args.length, want));
+    }
+
+    static MonkeyError wrongArgumentType(String builtin, String want, MonkeyObject got) {
+        return new MonkeyError(String.format("argument to `%s` must be %s, got %s", builtin, want, got.type()));
+    }
+
+    /**
+     * The error for an argument that should have been a 64-bit INTEGER. A big integer has type
+     * INTEGER too, so it is reported as out of range rather than as the wrong type.
+     */
+    static MonkeyError wrongIntegerArgument(String builtin, MonkeyObject got) {
+        if (got instanceof MonkeyBigInteger) {
+            return new MonkeyError(String.format("integer argument to `%s` out of range: %s", builtin, got.inspect()));
+        }
+        return wrongArgumentType(builtin, MonkeyInteger.MONKEY_INT, got);
+    }
+}
@@ -0,0 +1,25 @@
+package interpreter.evaluator;
+
+/**
+ * How arguments of calls to Monkey functions are evaluated.
+ */
+public enum EvaluationStrategy {
+    /**
+     * Every argument is evaluated before the call, left to right.
+     */
+    STRICT,
+    /**
+     * Call-by-need: arguments are passed as memoized thunks and evaluated the first time the
+     * parameter is read, if ever. An error in an argument surfaces where it is first read. Builtins
+     * still receive evaluated arguments.
+     */
+    LAZY;
+
+    /**
+     * The strategy selected by the {@code monkey.evaluation} system property ({@code strict} or
+     * {@code lazy}), defaulting to strict.
+     */
+    public static EvaluationStrategy fromSystemProperty() {
+        return "lazy".equalsIgnoreCase(System.getProperty("monkey.evaluation")) ? LAZY : STRICT;
+    }
+}
@@ -5,10 +5,13 @@ import interpreter.ast.*;
 import interpreter.environment.Environment;
 import interpreter.monkey.objects.*;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
 
 public class Evaluator {
 
@@ -16,6 +19,38 @@ public class Evaluator {
     public static MonkeyBoolean FALSE = new MonkeyBoolean(false);
     public static MonkeyNull NULL = new MonkeyNull();
 
+    private final EvaluationStrategy strategy;
+    // what LiteralTemplate worked out for each array and hash literal evaluated so far; nodes compare
+    // by identity, and their entries go once the program they belong to is dropped
+    private final Map<ArrayLiteral, LiteralTemplate.Array> arrayTemplates = new WeakHashMap<>();
+    private final Map<HashLiteral, LiteralTemplate.Hash> hashTemplates = new WeakHashMap<>();
+
+    private final FunctionApplier applier = new FunctionApplier() {
+        @Override
+        public MonkeyObject apply(MonkeyObject fn, MonkeyObject[] args) {
+            return applyFunction(fn, args);
+        }
+
+        @Override
+        public Callback callback(MonkeyObject fn) {
+            // a thunk created during the call may still refer to the environment after it returns
+            if (strategy == EvaluationStrategy.STRICT
+                    && fn instanceof MonkeyFunction
+                    && !createsClosures(((MonkeyFunction) fn).getBody())) {
+                return new ReusableCall((MonkeyFunction) fn);
+            }
+            return FunctionApplier.super.callback(fn);
+        }
+    };
+
+    public Evaluator() {
+        this(EvaluationStrategy.fromSystemProperty());
+    }
+
+    public Evaluator(EvaluationStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     public MonkeyObject eval(Node node, Environment env) {
 
         switch (node.type()) {
@@ -26,7 +61,14 @@ public class Evaluator {
                 return eval(((ExpressionStatement) node).getExpression(), env);
             }
             case INTEGER -> {
-                return new MonkeyInteger(((IntegerLiteral) node).getValue());
+                IntegerLiteral integer = (IntegerLiteral) node;
+                if (integer.getBigValue() != null) {
+                    return MonkeyBigInteger.of(integer.getBigValue());
+                }
+                return MonkeyInteger.valueOf(integer.getValue());
+            }
+            case FLOAT -> {
+                return new MonkeyFloat(((FloatLiteral) node).getValue());
             }
             case BOOLEAN -> {
                 return ((Boolean) node).isValue() ? TRUE : FALSE;
@@ -93,6 +135,9 @@ public class Evaluator {
                 if (isError(function)) {
                     return function;
                 }
+                if (strategy == EvaluationStrategy.LAZY && function instanceof MonkeyFunction) {
+                    return applyFunction(function, delayExpressions(((CallExpression) node).getArguments(), env));
+                }
                 MonkeyObject[] args = evalExpressions(((CallExpression) node).getArguments(), env);
                 if (args.length == 1 && isError(args[0])) {
                     return args[0];
@@ -101,17 +146,11 @@ public class Evaluator {
                 return applyFunction(function, args);
             }
             case STRING -> {
-                return new MonkeyString(((StringLiteral) node).getValue());
+                return ValueInterner.string(((StringLiteral) node).getValue());
             }
 
             case ARRAY_LIST -> {
-                ArrayLiteral arrayLiteral = (ArrayLiteral) node;
-                MonkeyObject[] elements = evalExpressions(arrayLiteral.getElements(), env);
-                if (elements.length == 1 && isError(elements[0])) {
-                    return elements[0];
-                }
-
-                return new MonkeyArray(elements);
+                return evalArrayLiteral((ArrayLiteral) node, env);
             }
 
             case INDEX_EXPRESSION -> {
@@ -138,22 +177,55 @@ public class Evaluator {
         return null;
     }
 
+    private MonkeyObject evalArrayLiteral(ArrayLiteral node, Environment env) {
+        LiteralTemplate.Array template = arrayTemplates.get(node);
+        if (template == null) {
+            template = LiteralTemplate.Array.of(node, constant -> eval(constant, env));
+            arrayTemplates.put(node, template);
+        }
+        if (template.shared != null) {
+            return template.shared;
+        }
+
+        MonkeyObject[] elements = template.elements.clone();
+        Expression[] expressions = node.getElements();
+        for (int slot : template.dynamic) {
+            MonkeyObject element = eval(expressions[slot], env);
+            if (isError(element)) {
+                return element;
+            }
+            elements[slot] = element;
+        }
+        return ValueInterner.intern(new MonkeyArray(elements));
+    }
+
     private MonkeyObject evalHashLiteral(HashLiteral node, Environment env) {
-        Map<MonkeyHashKey, MonkeyHashPair> pairs = new HashMap<>();
+        LiteralTemplate.Hash template = hashTemplates.get(node);
+        if (template == null) {
+            template = LiteralTemplate.Hash.of(node, constant -> eval(constant, env));
+            hashTemplates.put(node, template);
+        }
+        if (template.shared != null) {
+            return template.shared;
+        }
 
-        for (var entry : node.getPairs().entrySet()) {
-            MonkeyObject key = eval(entry.getKey(), env);
-            if (isError(key)) {
-                return key;
+        Map<MonkeyHashKey, MonkeyHashPair> pairs = new HashMap<>(template.pairs);
+        for (int i = 0; i < template.values.length; i++) {
+            MonkeyObject key = template.keys[i];
+            if (key == null) {
+                key = eval(template.keyExpressions[i], env);
+                if (isError(key)) {
+                    return key;
+                }
+                key = ValueInterner.intern(key);
             }
             Hashable hashKey = (Hashable) key;
 
-            MonkeyObject val = eval(entry.getValue(), env);
+            MonkeyObject val = eval(template.values[i], env);
             if (isError(val)) {
                 return val;
             }
-            MonkeyHashKey hashed = hashKey.hashKey();
-            pairs.put(hashed, new MonkeyHashPair(key, val));
+            pairs.put(hashKey.hashKey(), new MonkeyHashPair(key, val));
         }
         return new MonkeyHash(pairs);
     }
@@ -165,6 +237,17 @@ public class Evaluator {
         if (left.type().equals(MonkeyHash.HASH_OBJ)) {
             return evalHashIndexExpression(left, index);
         }
+        if (left instanceof MonkeySortedMap && MonkeySortedMap.isKey(index)) {
+            MonkeyObject value = ((MonkeySortedMap) left).get(index);
+            return value != null ? value : NULL;
+        }
+        if (left instanceof MonkeyBuffer && index instanceof MonkeyInteger) {
+            return BufferFns.get((MonkeyBuffer) left, ((MonkeyInteger) index).getValue());
+        }
+        if (left instanceof MonkeyBuffer && index instanceof MonkeyBigInteger) {
+            // past the end of any buffer
+            return BufferFns.get((MonkeyBuffer) left, -1);
+        }
 
         return new MonkeyError("index operator not supported: " + left.type());
     }
@@ -182,13 +265,16 @@ public class Evaluator {
 
     private MonkeyObject evalArrayIndexExpression(MonkeyObject left, MonkeyObject index) {
         MonkeyArray array = (MonkeyArray) left;
-        MonkeyInteger idx = (MonkeyInteger) index;
+        if (!(index instanceof MonkeyInteger)) {
+            return NULL;
+        }
+        long idx = ((MonkeyInteger) index).getValue();
         int max = array.getElements().length;
-        if (idx.getValue() < 0 || idx.getValue() >= max) {
+        if (idx < 0 || idx >= max) {
             return NULL;
         }
 
-        return array.getElements()[idx.getValue()];
+        return array.getElements()[(int) idx];
     }
 
     private MonkeyObject applyFunction(MonkeyObject fn, MonkeyObject[] args) {
@@ -201,13 +287,138 @@ public class Evaluator {
 
         if (fn instanceof MonkeyBuiltin) {
             MonkeyBuiltin builtin = (MonkeyBuiltin) fn;
-            return builtin.getBuiltinFunction().apply(args);
+            return builtin.getBuiltinFunction().apply(applier, args);
         }
 
         return new MonkeyError("not a function: " + fn.type());
 
     }
 
+    /**
+     * Whether evaluating {@code node} can create a function value that captures the environment it
+     * runs in. Only bodies for which this is false may reuse their environment between calls.
+     */
+    private static boolean createsClosures(Node node) {
+        if (node == null) {
+            return false;
+        }
+        switch (node.type()) {
+            case FUNCTION_LITERAL -> {
+                return true;
+            }
+            case BLOCK_STATEMENT -> {
+                return anyCreatesClosures(((BlockStatement) node).getStatements());
+            }
+            case EXPRESSION_STATEMENT -> {
+                return createsClosures(((ExpressionStatement) node).getExpression());
+            }
+            case LET_STATEMENT -> {
+                return createsClosures(((LetStatement) node).getValue());
+            }
+            case RETURN_STATEMENT -> {
+                return createsClosures(((ReturnStatement) node).getReturnValue());
+            }
+            case IF_EXPRESSION -> {
+                IfExpression ifExpression = (IfExpression) node;
+                return createsClosures(ifExpression.getCondition())
+                        || createsClosures(ifExpression.getConsequence())
+                        || createsClosures(ifExpression.getAlternative());
+            }
+            case INFIX_EXPRESSION -> {
+                InfixExpression infix = (InfixExpression) node;
+                return createsClosures(infix.getLeft()) || createsClosures(infix.getRight());
+            }
+            case PREFIX_EXPRESSION -> {
+                return createsClosures(((PrefixExpression) node).getRight());
+            }
+            case CALL_EXPRESSION -> {
+                CallExpression call = (CallExpression) node;
+                return createsClosures(call.getFunction()) || anyCreatesClosures(call.getArguments());
+            }
+            case ARRAY_LIST -> {
+                return anyCreatesClosures(((ArrayLiteral) node).getElements());
+            }
+            case INDEX_EXPRESSION -> {
+                IndexExpression index = (IndexExpression) node;
+                return createsClosures(index.getLeft()) || createsClosures(index.getIndex());
+            }
+            case HASH -> {
+                for (var entry : ((HashLiteral) node).getPairs().entrySet()) {
+                    if (createsClosures(entry.getKey()) || createsClosures(entry.getValue())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private static boolean anyCreatesClosures(Node[] nodes) {
+        if (nodes != null) {
+            for (Node node : nodes) {
+                if (createsClosures(node)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls a function whose body creates no closures by rebinding the parameters in one environment
+     * that is cleared between calls, instead of allocating a new environment per call.
+     */
+    private final class ReusableCall implements Callback {
+        private final MonkeyFunction function;
+        private final Environment env;
+        private boolean active;
+
+        ReusableCall(MonkeyFunction function) {
+            this.function = function;
+            this.env = new Environment(function.getEnv());
+        }
+
+        @Override
+        public MonkeyObject call(MonkeyObject arg) {
+            if (active) {
+                return applyFunction(function, new MonkeyObject[]{arg});
+            }
+            env.clear();
+            bind(0, arg);
+            return run();
+        }
+
+        @Override
+        public MonkeyObject call(MonkeyObject first, MonkeyObject second) {
+            if (active) {
+                return applyFunction(function, new MonkeyObject[]{first, second});
+            }
+            env.clear();
+            bind(0, first);
+            bind(1, second);
+            return run();
+        }
+
+        private void bind(int index, MonkeyObject value) {
+            Identifier[] parameters = function.getParameters();
+            if (index < parameters.length) {
+                env.set(parameters[index].getValue(), value);
+            }
+        }
+
+        private MonkeyObject run() {
+            active = true;
+            try {
+                return unwrapReturnValue(eval(function.getBody(), env));
+            } finally {
+                active = false;
+            }
+        }
+    }
+
     private MonkeyObject unwrapReturnValue(MonkeyObject object) {
         if (object instanceof MonkeyReturnValue) {
             return ((MonkeyReturnValue) object).getValue();
@@ -226,6 +437,28 @@ public class Evaluator {
         return env;
     }
 
+    /**
+     * Call-by-need arguments: literals are cheap and cannot fail, and a bound identifier already has a
+     * value or thunk to share, so only the remaining expressions are wrapped in new thunks.
+     */
+    private MonkeyObject[] delayExpressions(Expression[] expressions, Environment env) {
+        if (expressions == null) {
+            return new MonkeyObject[0];
+        }
+        MonkeyObject[] delayed = new MonkeyObject[expressions.length];
+
+        for (int i = 0; i < expressions.length; i++) {
+            Expression exp = expressions[i];
+            delayed[i] = switch (exp.type()) {
+                case INTEGER, FLOAT, STRING, BOOLEAN, FUNCTION_LITERAL -> eval(exp, env);
+                case IDENTIFIER -> env.get(((Identifier) exp).getValue())
+                        .orElseGet(() -> new MonkeyThunk(() -> eval(exp, env)));
+                default -> new MonkeyThunk(() -> eval(exp, env));
+            };
+        }
+        return delayed;
+    }
+
     private MonkeyObject[] evalExpressions(Expression[] expressions, Environment env) {
         LinkedList<MonkeyObject> res = new LinkedList<>();
 
@@ -244,6 +477,9 @@ public class Evaluator {
 
     private MonkeyObject evalIdentifier(Identifier node, Environment env) {
         MonkeyObject val = env.get(node.getValue()).orElse(BuiltInFns.BUILTIN_FNS.get(node.getValue()));
+        if (val instanceof MonkeyThunk) {
+            return ((MonkeyThunk) val).force();
+        }
 
         return Optional.ofNullable(val).orElse(new MonkeyError("Identifier not found: " + node.getValue()));
     }
@@ -251,6 +487,10 @@ public class Evaluator {
     private MonkeyObject evalBLockStatement(BlockStatement block, Environment env) {
         MonkeyObject result = null;
 
+        if (!block.getErrors().isEmpty()) {
+            return new MonkeyError("syntax error in function body: " + String.join(", ", block.getErrors()));
+        }
+
         for (Statement statement : block.getStatements()) {
             result = eval(statement, env);
             if (result == null) {
@@ -301,7 +541,7 @@ public class Evaluator {
         }
     }
 
-    private boolean isTruthy(MonkeyObject condition) {
+    static boolean isTruthy(MonkeyObject condition) {
         if (condition == NULL) {
             return false;
         }
@@ -316,58 +556,154 @@ public class Evaluator {
     }
 
     private MonkeyObject evalInfixExpression(String operator, MonkeyObject left, MonkeyObject right) {
-        if (MonkeyInteger.MONKEY_INT.equals(left.type()) && MonkeyInteger.MONKEY_INT.equals(right.type())) {
+        if (left instanceof MonkeyInteger && right instanceof MonkeyInteger) {
             return evalIntegerInfixExpression(operator, left, right);
         }
 
-        if ("==".equals(operator)) {
-            boolean leftVal = ((MonkeyBoolean) left).isValue();
-            boolean rightVal = ((MonkeyBoolean) right).isValue();
-            return leftVal == rightVal ? TRUE : FALSE;
+        if (left instanceof MonkeyFloat && right instanceof MonkeyFloat) {
+            return evalFloatInfixExpression(operator, ((MonkeyFloat) left).getValue(), ((MonkeyFloat) right).getValue());
         }
 
-        if ("!=".equals(operator)) {
-            boolean leftVal = ((MonkeyBoolean) left).isValue();
-            boolean rightVal = ((MonkeyBoolean) right).isValue();
-            return leftVal != rightVal ? TRUE : FALSE;
+        if (isNumber(left) && isNumber(right)) {
+            if (left instanceof MonkeyFloat || right instanceof MonkeyFloat) {
+                return evalMixedInfixExpression(operator, left, right);
+            }
+            return evalBigIntegerInfixExpression(operator, toBigInteger(left), toBigInteger(right));
         }
 
-        if (!left.type().equals(right.type())) {
-            return new MonkeyError(String.format("type mismatch: %s %s %s", left.type(), operator, right.type()));
+        if (left instanceof MonkeyString && right instanceof MonkeyString) {
+            return evalStringInfixExpression(operator, left, right);
         }
 
-        if (left.type().equals(MonkeyString.STRING_OBJ) && left.type().equals(MonkeyString.STRING_OBJ)) {
-            return evalStringInfixExpression(operator, left, right);
+        if ("==".equals(operator) || "!=".equals(operator)) {
+            // values of different types, or of types without a value equality, are never equal
+            boolean equal = left instanceof MonkeyBoolean && right instanceof MonkeyBoolean
+                    ? ((MonkeyBoolean) left).isValue() == ((MonkeyBoolean) right).isValue()
+                    : left == right;
+            return equal == "==".equals(operator) ? TRUE : FALSE;
+        }
+
+        if (!left.type().equals(right.type())) {
+            return new MonkeyError(String.format("type mismatch: %s %s %s", left.type(), operator, right.type()));
         }
 
         return new MonkeyError(String.format("unknown operator: %s %s %s", left.type(), operator, right.type()));
     }
 
     private MonkeyObject evalStringInfixExpression(String operator, MonkeyObject left, MonkeyObject right) {
-        if (!operator.equals("+")) {
-            return new MonkeyError(String.format("unknown operator: %s %s %s", left.type(), operator, right.type()));
-        }
         MonkeyString leftVal = (MonkeyString) left;
         MonkeyString rightVal = (MonkeyString) right;
-        return new MonkeyString(leftVal.getValue() + rightVal.getValue());
+
+        switch (operator) {
+            case "+" -> {
+                return leftVal.concat(rightVal);
+            }
+            case "==" -> {
+                return leftVal.contentEquals(rightVal) ? TRUE : FALSE;
+            }
+            case "!=" -> {
+                return leftVal.contentEquals(rightVal) ? FALSE : TRUE;
+            }
+            default -> {
+                return new MonkeyError(String.format("unknown operator: %s %s %s", left.type(), operator, right.type()));
+            }
+        }
     }
 
     private MonkeyObject evalIntegerInfixExpression(String operator, MonkeyObject left, MonkeyObject right) {
-        int leftValue = ((MonkeyInteger) left).getValue();
-        int rightValue = ((MonkeyInteger) right).getValue();
+        long leftValue = ((MonkeyInteger) left).getValue();
+        long rightValue = ((MonkeyInteger) right).getValue();
 
+        try {
+            switch (operator) {
+                case "+" -> {
+                    return MonkeyInteger.valueOf(Math.addExact(leftValue, rightValue));
+                }
+                case "-" -> {
+                    return MonkeyInteger.valueOf(Math.subtractExact(leftValue, rightValue));
+                }
+                case "/" -> {
+                    if (rightValue == 0) {
+                        return new MonkeyError("division by zero");
+                    }
+                    if (leftValue == Long.MIN_VALUE && rightValue == -1) {
+                        throw new ArithmeticException("long overflow");
+                    }
+                    return MonkeyInteger.valueOf(leftValue / rightValue);
+                }
+                case "*" -> {
+                    return MonkeyInteger.valueOf(Math.multiplyExact(leftValue, rightValue));
+                }
+                case "<" -> {
+                    return leftValue < rightValue ? TRUE : FALSE;
+                }
+                case ">" -> {
+                    return leftValue > rightValue ? TRUE : FALSE;
+                }
+                case "==" -> {
+                    return leftValue == rightValue ? TRUE : FALSE;
+                }
+                case "!=" -> {
+                    return leftValue != rightValue ? TRUE : FALSE;
+                }
+                default -> {
+                    return new MonkeyError(String.format("unknown operator: %s %s %s", left.type(), operator, right.type()));
+                }
+            }
+        } catch (ArithmeticException overflow) {
+            return evalBigIntegerInfixExpression(operator, BigInteger.valueOf(leftValue), BigInteger.valueOf(rightValue));
+        }
+    }
+
+    private MonkeyObject evalBigIntegerInfixExpression(String operator, BigInteger leftValue, BigInteger rightValue) {
         switch (operator) {
             case "+" -> {
-                return new MonkeyInteger(leftValue + rightValue);
+                return MonkeyBigInteger.of(leftValue.add(rightValue));
             }
             case "-" -> {
-                return new MonkeyInteger(leftValue - rightValue);
+                return MonkeyBigInteger.of(leftValue.subtract(rightValue));
             }
             case "/" -> {
-                return new MonkeyInteger(leftValue / rightValue);
+                if (rightValue.signum() == 0) {
+                    return new MonkeyError("division by zero");
+                }
+                return MonkeyBigInteger.of(leftValue.divide(rightValue));
             }
             case "*" -> {
-                return new MonkeyInteger(leftValue * rightValue);
+                return MonkeyBigInteger.of(leftValue.multiply(rightValue));
+            }
+            case "<" -> {
+                return leftValue.compareTo(rightValue) < 0 ? TRUE : FALSE;
+            }
+            case ">" -> {
+                return leftValue.compareTo(rightValue) > 0 ? TRUE : FALSE;
+            }
+            case "==" -> {
+                return leftValue.equals(rightValue) ? TRUE : FALSE;
+            }
+            case "!=" -> {
+                return leftValue.equals(rightValue) ? FALSE : TRUE;
+            }
+            default -> {
+                return new MonkeyError(String.format("unknown operator: %s %s %s",
+                        MonkeyInteger.MONKEY_INT, operator, MonkeyInteger.MONKEY_INT));
+            }
+        }
+    }
+
+    private MonkeyObject evalFloatInfixExpression(String operator, double leftValue, double rightValue) {
+        switch (operator) {
+            case "+" -> {
+                return new MonkeyFloat(leftValue + rightValue);
+            }
+            case "-" -> {
+                return new MonkeyFloat(leftValue - rightValue);
+            }
+            case "/" -> {
+                return new MonkeyFloat(leftValue / rightValue);
+            }
+            case "*" -> {
+                return new MonkeyFloat(leftValue * rightValue);
             }
             case "<" -> {
                 return leftValue < rightValue ? TRUE : FALSE;
@@ -382,11 +718,64 @@ public class Evaluator {
                 return leftValue != rightValue ? TRUE : FALSE;
             }
             default -> {
-                return new MonkeyError(String.format("unknown operator: %s %s %s", left.type(), operator, right.type()));
+                return new MonkeyError(String.format("unknown operator: %s %s %s",
+                        MonkeyFloat.MONKEY_FLOAT, operator, MonkeyFloat.MONKEY_FLOAT));
+            }
+        }
+    }
+
+    private MonkeyObject evalMixedInfixExpression(String operator, MonkeyObject left, MonkeyObject right) {
+        switch (operator) {
+            case "<", ">", "==", "!=" -> {
+                double leftValue = toDouble(left);
+                double rightValue = toDouble(right);
+                if (Double.isNaN(leftValue) || Double.isNaN(rightValue)) {
+                    return "!=".equals(operator) ? TRUE : FALSE;
+                }
+                // compare exactly so that integers above 2^53 are not rounded to a neighbouring float
+                int cmp = Double.isInfinite(leftValue) || Double.isInfinite(rightValue)
+                        ? Double.compare(leftValue, rightValue)
+                        : toBigDecimal(left).compareTo(toBigDecimal(right));
+                return switch (operator) {
+                    case "<" -> cmp < 0 ? TRUE : FALSE;
+                    case ">" -> cmp > 0 ? TRUE : FALSE;
+                    case "==" -> cmp == 0 ? TRUE : FALSE;
+                    default -> cmp != 0 ? TRUE : FALSE;
+                };
+            }
+            default -> {
+                return evalFloatInfixExpression(operator, toDouble(left), toDouble(right));
             }
         }
     }
 
+    private boolean isNumber(MonkeyObject obj) {
+        return obj instanceof MonkeyFloat || MonkeyInteger.MONKEY_INT.equals(obj.type());
+    }
+
+    private double toDouble(MonkeyObject number) {
+        if (number instanceof MonkeyFloat) {
+            return ((MonkeyFloat) number).getValue();
+        }
+        if (number instanceof MonkeyBigInteger) {
+            return ((MonkeyBigInteger) number).getValue().doubleValue();
+        }
+        return ((MonkeyInteger) number).getValue();
+    }
+
+    private BigDecimal toBigDecimal(MonkeyObject number) {
+        if (number instanceof MonkeyFloat) {
+            return new BigDecimal(((MonkeyFloat) number).getValue());
+        }
+        return new BigDecimal(toBigInteger(number));
+    }
+
+    private BigInteger toBigInteger(MonkeyObject integer) {
+        if (integer instanceof MonkeyBigInteger) {
+            return ((MonkeyBigInteger) integer).getValue();
+        }
+        return BigInteger.valueOf(((MonkeyInteger) integer).getValue());
+    }
 
     private MonkeyObject evalPrefixExpression(String operator, MonkeyObject right) {
         switch (operator) {
@@ -403,12 +792,21 @@ public class Evaluator {
     }
 
     private MonkeyObject evalMinusPrefixOperatorExpression(MonkeyObject right) {
+        if (right instanceof MonkeyFloat) {
+            return new MonkeyFloat(-((MonkeyFloat) right).getValue());
+        }
         if (!(MonkeyInteger.MONKEY_INT.equals(right.type()))) {
             return new MonkeyError(String.format("unknown operator: -%s", right.type()));
         }
 
-        int value = ((MonkeyInteger) right).getValue();
-        return new MonkeyInteger(-value);
+        if (right instanceof MonkeyBigInteger) {
+            return MonkeyBigInteger.of(((MonkeyBigInteger) right).getValue().negate());
+        }
+        long value = ((MonkeyInteger) right).getValue();
+        if (value == Long.MIN_VALUE) {
+            return MonkeyBigInteger.of(BigInteger.valueOf(value).negate());
+        }
+        return MonkeyInteger.valueOf(-value);
     }
 
     private MonkeyObject evalBangOperatorExpression(MonkeyObject right) {
@@ -0,0 +1,118 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.Arrays;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.NULL;
+
+/**
+ * {@code map}, {@code filter}, {@code reduce} and {@code each} over arrays. The loop runs in Java and
+ * the callback is prepared once with {@link FunctionApplier#callback}, so each element costs a single
+ * evaluation of the function body. The builtins themselves are defined by {@link OverloadedFns},
+ * which also accepts sequences and tables.
+ */
+public class FunctionalFns {
+
+    static MonkeyObject map(FunctionApplier applier, MonkeyObject[] args) {
+        MonkeyObject invalid = checkArgs("map", args);
+        if (invalid != null) {
+            return invalid;
+        }
+        MonkeyObject[] elements = ((MonkeyArray) args[0]).getElements();
+        Callback fn = applier.callback(args[1]);
+        MonkeyObject[] mapped = new MonkeyObject[elements.length];
+
+        for (int i = 0; i < elements.length; i++) {
+            mapped[i] = fn.call(elements[i]);
+            if (mapped[i] instanceof MonkeyError) {
+                return mapped[i];
+            }
+        }
+        return new MonkeyArray(mapped);
+    }
+
+    static MonkeyObject filter(FunctionApplier applier, MonkeyObject[] args) {
+        MonkeyObject invalid = checkArgs("filter", args);
+        if (invalid != null) {
+            return invalid;
+        }
+        MonkeyObject[] elements = ((MonkeyArray) args[0]).getElements();
+        Callback fn = applier.callback(args[1]);
+        MonkeyObject[] kept = new MonkeyObject[elements.length];
+        int count = 0;
+
+        for (MonkeyObject element : elements) {
+            MonkeyObject keep = fn.call(element);
+            if (keep instanceof MonkeyError) {
+                return keep;
+            }
+            if (Evaluator.isTruthy(keep)) {
+                kept[count++] = element;
+            }
+        }
+        return new MonkeyArray(Arrays.copyOf(kept, count));
+    }
+
+    /**
+     * {@code reduce(array, initial, fn)} folds from the left starting at {@code initial};
+     * {@code reduce(array, fn)} starts from the first element and returns null for an empty array.
+     */
+    static MonkeyObject reduce(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2 && args.length != 3) {
+            return wrongNumberOfArguments(args, "2 or 3");
+        }
+        if (!(args[0] instanceof MonkeyArray)) {
+            return wrongArgumentType("reduce", MonkeyArray.ARRAY_OBJ, args[0]);
+        }
+        MonkeyObject[] elements = ((MonkeyArray) args[0]).getElements();
+        Callback fn = applier.callback(args[args.length - 1]);
+        MonkeyObject acc;
+        int start;
+
+        if (args.length == 3) {
+            acc = args[1];
+            start = 0;
+        } else if (elements.length > 0) {
+            acc = elements[0];
+            start = 1;
+        } else {
+            return NULL;
+        }
+
+        for (int i = start; i < elements.length; i++) {
+            acc = fn.call(acc, elements[i]);
+            if (acc instanceof MonkeyError) {
+                return acc;
+            }
+        }
+        return acc;
+    }
+
+    static MonkeyObject each(FunctionApplier applier, MonkeyObject[] args) {
+        MonkeyObject invalid = checkArgs("each", args);
+        if (invalid != null) {
+            return invalid;
+        }
+        Callback fn = applier.callback(args[1]);
+        for (MonkeyObject element : ((MonkeyArray) args[0]).getElements()) {
+            MonkeyObject result = fn.call(element);
+            if (result instanceof MonkeyError) {
+                return result;
+            }
+        }
+        return NULL;
+    }
+
+    private static MonkeyObject checkArgs(String name, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        if (!(args[0] instanceof MonkeyArray)) {
+            return wrongArgumentType(name, MonkeyArray.ARRAY_OBJ, args[0]);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,183 @@
+package interpreter.evaluator;
+
+import interpreter.ast.ArrayLiteral;
+import interpreter.ast.Expression;
+import interpreter.ast.HashLiteral;
+import interpreter.ast.InfixExpression;
+import interpreter.ast.PrefixExpression;
+import interpreter.monkey.objects.Hashable;
+import interpreter.monkey.objects.MonkeyArray;
+import interpreter.monkey.objects.MonkeyError;
+import interpreter.monkey.objects.MonkeyHash;
+import interpreter.monkey.objects.MonkeyHashKey;
+import interpreter.monkey.objects.MonkeyHashPair;
+import interpreter.monkey.objects.MonkeyObject;
+import interpreter.monkey.objects.ValueInterner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The constant part of an array or hash literal, worked out the first time an {@link Evaluator}
+ * evaluates the literal and kept by that evaluator. Monkey values are immutable, so a literal whose
+ * elements are all constant evaluates to one shared instance. Otherwise the constant elements or
+ * pairs are copied in bulk and only the remaining slots are evaluated each time.
+ * <p>
+ * An expression is constant if it is a number, boolean or string literal, a prefix or infix
+ * expression over constants, or an array or hash literal of constants, and it evaluates without an
+ * error.
+ */
+final class LiteralTemplate {
+
+    private LiteralTemplate() {
+    }
+
+    static final class Array {
+        // the whole literal when every element is constant
+        final MonkeyArray shared;
+        // constant elements, with nulls in the dynamic slots
+        final MonkeyObject[] elements;
+        final int[] dynamic;
+
+        private Array(MonkeyArray shared, MonkeyObject[] elements, int[] dynamic) {
+            this.shared = shared;
+            this.elements = elements;
+            this.dynamic = dynamic;
+        }
+
+        static Array of(ArrayLiteral node, Function<Expression, MonkeyObject> eval) {
+            Expression[] expressions = node.getElements() != null ? node.getElements() : new Expression[0];
+            MonkeyObject[] elements = new MonkeyObject[expressions.length];
+            int[] dynamic = new int[expressions.length];
+            int dynamicCount = 0;
+            for (int i = 0; i < expressions.length; i++) {
+                elements[i] = constant(expressions[i], eval);
+                if (elements[i] == null) {
+                    dynamic[dynamicCount++] = i;
+                }
+            }
+
+            if (dynamicCount == 0) {
+                return new Array((MonkeyArray) ValueInterner.intern(new MonkeyArray(elements)), null, null);
+            }
+            return new Array(null, elements, Arrays.copyOf(dynamic, dynamicCount));
+        }
+    }
+
+    static final class Hash {
+        // the whole literal when every key and value is constant
+        final MonkeyHash shared;
+        final Map<MonkeyHashKey, MonkeyHashPair> pairs;
+        // pairs evaluated each time, in source order; a key is null if it must be evaluated too
+        final Expression[] keyExpressions;
+        final MonkeyObject[] keys;
+        final Expression[] values;
+
+        private Hash(MonkeyHash shared, Map<MonkeyHashKey, MonkeyHashPair> pairs,
+                     Expression[] keyExpressions, MonkeyObject[] keys, Expression[] values) {
+            this.shared = shared;
+            this.pairs = pairs;
+            this.keyExpressions = keyExpressions;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static Hash of(HashLiteral node, Function<Expression, MonkeyObject> eval) {
+            Map<MonkeyHashKey, MonkeyHashPair> pairs = new HashMap<>();
+            List<Expression> keyExpressions = new ArrayList<>();
+            List<MonkeyObject> keys = new ArrayList<>();
+            List<MonkeyHashKey> hashedKeys = new ArrayList<>();
+            List<Expression> values = new ArrayList<>();
+
+            // once a key is only known at run time, later pairs must be put after it to keep the
+            // last duplicate key winning
+            boolean dynamicKeySeen = false;
+            for (var entry : node.getPairs().entrySet()) {
+                MonkeyObject key = dynamicKeySeen ? null : constant(entry.getKey(), eval);
+                if (!(key instanceof Hashable)) {
+                    dynamicKeySeen = true;
+                    keyExpressions.add(entry.getKey());
+                    keys.add(null);
+                    hashedKeys.add(null);
+                    values.add(entry.getValue());
+                    continue;
+                }
+
+                key = ValueInterner.intern(key);
+                MonkeyHashKey hashed = ((Hashable) key).hashKey();
+                // a pair repeating a key that is put at run time has to be put after it
+                MonkeyObject value = hashedKeys.contains(hashed) ? null : constant(entry.getValue(), eval);
+                if (value != null) {
+                    pairs.put(hashed, new MonkeyHashPair(key, value));
+                } else {
+                    keyExpressions.add(entry.getKey());
+                    keys.add(key);
+                    hashedKeys.add(hashed);
+                    values.add(entry.getValue());
+                }
+            }
+
+            if (values.isEmpty()) {
+                return new Hash(new MonkeyHash(pairs), null, null, null, null);
+            }
+            return new Hash(null, pairs, keyExpressions.toArray(new Expression[0]),
+                    keys.toArray(new MonkeyObject[0]), values.toArray(new Expression[0]));
+        }
+    }
+
+    /**
+     * The value of {@code expression} if it is constant, otherwise null.
+     */
+    private static MonkeyObject constant(Expression expression, Function<Expression, MonkeyObject> eval) {
+        if (!isConstant(expression)) {
+            return null;
+        }
+        MonkeyObject value = eval.apply(expression);
+        return value instanceof MonkeyError ? null : value;
+    }
+
+    private static boolean isConstant(Expression expression) {
+        if (expression == null) {
+            return false;
+        }
+        switch (expression.type()) {
+            case INTEGER, FLOAT, BOOLEAN, STRING -> {
+                return true;
+            }
+            case PREFIX_EXPRESSION -> {
+                return isConstant(((PrefixExpression) expression).getRight());
+            }
+            case INFIX_EXPRESSION -> {
+                InfixExpression infix = (InfixExpression) expression;
+                return isConstant(infix.getLeft()) && isConstant(infix.getRight());
+            }
+            case ARRAY_LIST -> {
+                Expression[] elements = ((ArrayLiteral) expression).getElements();
+                if (elements == null) {
+                    return false;
+                }
+                for (Expression element : elements) {
+                    if (!isConstant(element)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case HASH -> {
+                for (var entry : ((HashLiteral) expression).getPairs().entrySet()) {
+                    if (!isConstant(entry.getKey()) || !isConstant(entry.getValue())) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package interpreter.evaluator;
+
+/**
+ * Primitive loops behind the numeric array builtins. Sums and products wrap on overflow like plain
+ * {@code long} arithmetic; callers check the bounds first when they need an exact result.
+ */
+interface LongKernels {
+
+    long sum(long[] values);
+
+    long min(long[] values);
+
+    long max(long[] values);
+
+    long dot(long[] a, long[] b);
+
+    /**
+     * Writes {@code a[i] + b[i]} to {@code out} and returns false if any element overflowed.
+     */
+    boolean add(long[] a, long[] b, long[] out);
+
+    void scale(long[] values, long factor, long[] out);
+
+    /**
+     * Uses the Vector API implementation when the {@code jdk.incubator.vector} module has been
+     * added to the boot layer (for example with {@code --add-modules jdk.incubator.vector}), and
+     * plain loops otherwise.
+     */
+    static LongKernels load() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (LongKernels) Class.forName("interpreter.evaluator.VectorLongKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall back to the scalar loops below
+            }
+        }
+        return new ScalarLongKernels();
+    }
+}
@@ -0,0 +1,149 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static java.util.Map.entry;
+
+/**
+ * Builtins whose name is shared by several types. Each is defined here once and picks the
+ * implementation by the type of its first argument ({@code join} by the number of arguments), so an
+ * argument of the wrong type gets an error listing every type the builtin accepts.
+ */
+public class OverloadedFns {
+
+    private static final String ARRAY_OR_SEQ = oneOf(MonkeyArray.ARRAY_OBJ, MonkeySeq.SEQ_OBJ);
+
+    public static Map<String, MonkeyBuiltin> OVERLOADED_FNS = Map.ofEntries(
+            entry("get", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (args[0] instanceof MonkeySortedMap) {
+                    return SortedMapFns.get(args);
+                }
+                if (args[0] instanceof MonkeyBuffer) {
+                    return BufferFns.get(args);
+                }
+                return wrongArgumentType("get", oneOf(MonkeyBytes.BYTES_OBJ, MonkeyIntBuffer.INT_BUFFER_OBJ,
+                        MonkeySortedMap.SORTED_MAP_OBJ), args[0]);
+            })),
+            entry("put", new MonkeyBuiltin((args) -> {
+                if (args.length != 3) {
+                    return wrongNumberOfArguments(args, 3);
+                }
+                if (args[0] instanceof MonkeySortedMap) {
+                    return SortedMapFns.put(args);
+                }
+                if (args[0] instanceof MonkeyBuffer) {
+                    return BufferFns.put(args);
+                }
+                return wrongArgumentType("put", oneOf(MonkeyBytes.BYTES_OBJ, MonkeyIntBuffer.INT_BUFFER_OBJ,
+                        MonkeySortedMap.SORTED_MAP_OBJ), args[0]);
+            })),
+            entry("range", new MonkeyBuiltin((args) -> {
+                if (args.length == 0) {
+                    return wrongNumberOfArguments(args, "1, 2 or 3");
+                }
+                if (args[0] instanceof MonkeySortedMap) {
+                    return SortedMapFns.range(args);
+                }
+                if (MonkeyInteger.MONKEY_INT.equals(args[0].type())) {
+                    return SeqFns.range(args);
+                }
+                return wrongArgumentType("range", oneOf(MonkeyInteger.MONKEY_INT, MonkeySortedMap.SORTED_MAP_OBJ), args[0]);
+            })),
+            entry("sum", new MonkeyBuiltin((args) -> aggregate("sum", args))),
+            entry("min", new MonkeyBuiltin((args) -> aggregate("min", args))),
+            entry("max", new MonkeyBuiltin((args) -> aggregate("max", args))),
+            entry("join", new MonkeyBuiltin((args) -> switch (args.length) {
+                case 1, 2 -> StringFns.join(args);
+                case 4 -> RecordFns.join(args);
+                default -> wrongNumberOfArguments(args, "1, 2 or 4");
+            })),
+            entry("map", new MonkeyBuiltin((applier, args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (args[0] instanceof MonkeySeq) {
+                    return SeqFns.map(applier, args);
+                }
+                if (args[0] instanceof MonkeyArray) {
+                    return FunctionalFns.map(applier, args);
+                }
+                return wrongArgumentType("map", ARRAY_OR_SEQ, args[0]);
+            })),
+            entry("filter", new MonkeyBuiltin((applier, args) -> {
+                if (args.length == 0) {
+                    return wrongNumberOfArguments(args, "2 or 3");
+                }
+                if (args[0] instanceof MonkeySeq) {
+                    return SeqFns.filter(applier, args);
+                }
+                if (args[0] instanceof MonkeyArray) {
+                    return FunctionalFns.filter(applier, args);
+                }
+                if (args[0] instanceof MonkeyTable) {
+                    return TableFns.filter(applier, args);
+                }
+                return wrongArgumentType("filter", oneOf(MonkeyArray.ARRAY_OBJ, MonkeySeq.SEQ_OBJ,
+                        MonkeyTable.TABLE_OBJ), args[0]);
+            })),
+            entry("reduce", new MonkeyBuiltin((applier, args) -> {
+                if (args.length != 2 && args.length != 3) {
+                    return wrongNumberOfArguments(args, "2 or 3");
+                }
+                if (args[0] instanceof MonkeySeq) {
+                    return SeqFns.reduce(applier, args);
+                }
+                if (args[0] instanceof MonkeyArray) {
+                    return FunctionalFns.reduce(applier, args);
+                }
+                return wrongArgumentType("reduce", ARRAY_OR_SEQ, args[0]);
+            })),
+            entry("each", new MonkeyBuiltin((applier, args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (args[0] instanceof MonkeySeq) {
+                    return SeqFns.each(applier, args);
+                }
+                if (args[0] instanceof MonkeyArray) {
+                    return FunctionalFns.each(applier, args);
+                }
+                return wrongArgumentType("each", ARRAY_OR_SEQ, args[0]);
+            }))
+    );
+
+    /**
+     * {@code sum}, {@code min} or {@code max} of an array or int buffer, or of a table column.
+     */
+    private static MonkeyObject aggregate(String name, MonkeyObject[] args) {
+        if (args.length == 0) {
+            return wrongNumberOfArguments(args, "1 or 2");
+        }
+        if (args[0] instanceof MonkeyTable) {
+            return TableFns.aggregate(name, args);
+        }
+        if (args[0] instanceof MonkeyArray || args[0] instanceof MonkeyIntBuffer) {
+            return VectorFns.reduce(name, args);
+        }
+        return wrongArgumentType(name, oneOf(MonkeyArray.ARRAY_OBJ, MonkeyIntBuffer.INT_BUFFER_OBJ,
+                MonkeyTable.TABLE_OBJ), args[0]);
+    }
+
+    /**
+     * "A or B", "A, B or C", ...
+     */
+    private static String oneOf(String... types) {
+        String last = types[types.length - 1];
+        if (types.length == 1) {
+            return last;
+        }
+        return String.join(", ", Arrays.copyOf(types, types.length - 1)) + " or " + last;
+    }
+}
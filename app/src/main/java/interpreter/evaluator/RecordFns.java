@@ -0,0 +1,152 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.*;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+
+/**
+ * Builtins over arrays of hash records. Each builds a {@link MonkeyHashKey} index in a single pass,
+ * so grouping and joining are linear in the input instead of nested loops in Monkey code.
+ */
+public class RecordFns {
+
+    public static Map<String, MonkeyBuiltin> RECORD_FNS = Map.of(
+            "group_by", new MonkeyBuiltin(RecordFns::groupBy),
+            "index_by", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[0] instanceof MonkeyArray)) {
+                    return wrongArgumentType("index_by", MonkeyArray.ARRAY_OBJ, args[0]);
+                }
+                if (!(args[1] instanceof Hashable)) {
+                    return unusableAsHashKey(args[1]);
+                }
+                MonkeyHashKey field = ((Hashable) args[1]).hashKey();
+                Map<MonkeyHashKey, MonkeyHashPair> index = new HashMap<>();
+
+                for (MonkeyObject element : ((MonkeyArray) args[0]).getElements()) {
+                    if (!(element instanceof MonkeyHash)) {
+                        return notARecord("index_by", element);
+                    }
+                    MonkeyObject key = field(element, field);
+                    if (key == null) {
+                        continue;
+                    }
+                    if (!(key instanceof Hashable)) {
+                        return unusableAsHashKey(key);
+                    }
+                    index.put(((Hashable) key).hashKey(), new MonkeyHashPair(key, element));
+                }
+                return new MonkeyHash(index);
+            })
+    );
+
+    /**
+     * {@code group_by(array, fn)} returns a hash from each distinct {@code fn(element)} to the array
+     * of elements that produced it, in their original order.
+     */
+    static MonkeyObject groupBy(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        if (!(args[0] instanceof MonkeyArray)) {
+            return wrongArgumentType("group_by", MonkeyArray.ARRAY_OBJ, args[0]);
+        }
+        Map<MonkeyHashKey, MonkeyObject> keys = new HashMap<>();
+        Map<MonkeyHashKey, List<MonkeyObject>> groups = new HashMap<>();
+
+        for (MonkeyObject element : ((MonkeyArray) args[0]).getElements()) {
+            MonkeyObject key = applier.apply(args[1], new MonkeyObject[]{element});
+            if (key instanceof MonkeyError) {
+                return key;
+            }
+            if (!(key instanceof Hashable)) {
+                return unusableAsHashKey(key);
+            }
+            MonkeyHashKey hashKey = ((Hashable) key).hashKey();
+            keys.putIfAbsent(hashKey, key);
+            groups.computeIfAbsent(hashKey, k -> new ArrayList<>()).add(element);
+        }
+
+        Map<MonkeyHashKey, MonkeyHashPair> pairs = new HashMap<>();
+        groups.forEach((hashKey, members) ->
+                pairs.put(hashKey, new MonkeyHashPair(keys.get(hashKey), new MonkeyArray(members.toArray(new MonkeyObject[0])))));
+        return new MonkeyHash(pairs);
+    }
+
+    /**
+     * {@code join(left, right, leftField, rightField)} is an inner hash join: the right side is
+     * indexed on {@code rightField}, then each left record is probed once. Matching records are
+     * merged into a new hash, with right values winning on shared fields.
+     */
+    static MonkeyObject join(MonkeyObject[] args) {
+        if (args.length != 4) {
+            return wrongNumberOfArguments(args, 4);
+        }
+        if (!(args[0] instanceof MonkeyArray)) {
+            return wrongArgumentType("join", MonkeyArray.ARRAY_OBJ, args[0]);
+        }
+        if (!(args[1] instanceof MonkeyArray)) {
+            return wrongArgumentType("join", MonkeyArray.ARRAY_OBJ, args[1]);
+        }
+        if (!(args[2] instanceof Hashable)) {
+            return unusableAsHashKey(args[2]);
+        }
+        if (!(args[3] instanceof Hashable)) {
+            return unusableAsHashKey(args[3]);
+        }
+        MonkeyHashKey leftField = ((Hashable) args[2]).hashKey();
+        MonkeyHashKey rightField = ((Hashable) args[3]).hashKey();
+
+        MonkeyObject[] right = ((MonkeyArray) args[1]).getElements();
+        Map<MonkeyHashKey, List<MonkeyHash>> index = new HashMap<>(right.length * 4 / 3 + 1);
+        for (MonkeyObject element : right) {
+            if (!(element instanceof MonkeyHash)) {
+                return notARecord("join", element);
+            }
+            MonkeyObject key = field(element, rightField);
+            if (key instanceof Hashable) {
+                index.computeIfAbsent(((Hashable) key).hashKey(), k -> new ArrayList<>(1)).add((MonkeyHash) element);
+            }
+        }
+
+        List<MonkeyObject> joined = new ArrayList<>();
+        for (MonkeyObject element : ((MonkeyArray) args[0]).getElements()) {
+            if (!(element instanceof MonkeyHash)) {
+                return notARecord("join", element);
+            }
+            MonkeyObject key = field(element, leftField);
+            if (!(key instanceof Hashable)) {
+                continue;
+            }
+            List<MonkeyHash> matches = index.get(((Hashable) key).hashKey());
+            if (matches == null) {
+                continue;
+            }
+            Map<MonkeyHashKey, MonkeyHashPair> leftPairs = ((MonkeyHash) element).getPairs();
+            for (MonkeyHash match : matches) {
+                Map<MonkeyHashKey, MonkeyHashPair> pairs = new HashMap<>(leftPairs);
+                pairs.putAll(match.getPairs());
+                joined.add(new MonkeyHash(pairs));
+            }
+        }
+        return new MonkeyArray(joined.toArray(new MonkeyObject[0]));
+    }
+
+    private static MonkeyObject field(MonkeyObject record, MonkeyHashKey field) {
+        MonkeyHashPair pair = ((MonkeyHash) record).getPairs().get(field);
+        return pair != null ? pair.getValue() : null;
+    }
+
+    private static MonkeyError notARecord(String builtin, MonkeyObject element) {
+        return new MonkeyError(String.format("elements passed to `%s` must be HASH, got %s", builtin, element.type()));
+    }
+
+    private static MonkeyError unusableAsHashKey(MonkeyObject key) {
+        return new MonkeyError("unusable as hash key: " + key.type());
+    }
+}
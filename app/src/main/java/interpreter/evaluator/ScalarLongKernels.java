@@ -0,0 +1,58 @@
+package interpreter.evaluator;
+
+final class ScalarLongKernels implements LongKernels {
+
+    @Override
+    public long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(long[] values) {
+        long min = Long.MAX_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(long[] values) {
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @Override
+    public long dot(long[] a, long[] b) {
+        long sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean add(long[] a, long[] b, long[] out) {
+        long overflow = 0;
+        for (int i = 0; i < a.length; i++) {
+            long r = a[i] + b[i];
+            overflow |= (a[i] ^ r) & (b[i] ^ r);
+            out[i] = r;
+        }
+        return overflow >= 0;
+    }
+
+    @Override
+    public void scale(long[] values, long factor, long[] out) {
+        for (int i = 0; i < values.length; i++) {
+            out[i] = values[i] * factor;
+        }
+    }
+}
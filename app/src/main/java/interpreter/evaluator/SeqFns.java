@@ -0,0 +1,247 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+import interpreter.monkey.objects.MonkeySeq.Cursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongIntegerArgument;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.NULL;
+
+/**
+ * Builtins creating and consuming {@link MonkeySeq}s. {@code range}, {@code seq} and {@code iterate}
+ * create sequences; {@code map}, {@code filter}, {@code take} and {@code drop} wrap them lazily; and
+ * {@code to_array}, {@code reduce} and {@code each} pull them through. {@code range}, {@code map},
+ * {@code filter}, {@code reduce} and {@code each} also take other types and are dispatched by
+ * {@link OverloadedFns}.
+ */
+public class SeqFns {
+
+    public static Map<String, MonkeyBuiltin> SEQ_FNS = Map.of(
+            "seq", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (args[0] instanceof MonkeySeq) {
+                    return args[0];
+                }
+                if (!(args[0] instanceof MonkeyArray)) {
+                    return wrongArgumentType("seq", MonkeyArray.ARRAY_OBJ, args[0]);
+                }
+                return ofArray(((MonkeyArray) args[0]).getElements());
+            }),
+            "iterate", new MonkeyBuiltin((applier, args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                MonkeyObject seed = args[0];
+                MonkeyObject fn = args[1];
+                return new MonkeySeq(() -> {
+                    Callback step = applier.callback(fn);
+                    MonkeyObject[] current = {null};
+                    return () -> {
+                        if (current[0] instanceof MonkeyError) {
+                            return null;
+                        }
+                        current[0] = current[0] == null ? seed : step.call(current[0]);
+                        return current[0];
+                    };
+                });
+            }),
+            "to_array", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (args[0] instanceof MonkeyArray) {
+                    return args[0];
+                }
+                if (!(args[0] instanceof MonkeySeq)) {
+                    return wrongArgumentType("to_array", MonkeySeq.SEQ_OBJ, args[0]);
+                }
+                List<MonkeyObject> elements = new ArrayList<>();
+                Cursor cursor = ((MonkeySeq) args[0]).cursor();
+                for (MonkeyObject next = cursor.next(); next != null; next = cursor.next()) {
+                    if (next instanceof MonkeyError) {
+                        return next;
+                    }
+                    elements.add(next);
+                }
+                return new MonkeyArray(elements.toArray(new MonkeyObject[0]));
+            }),
+            "take", new MonkeyBuiltin((args) -> limit("take", args)),
+            "drop", new MonkeyBuiltin((args) -> limit("drop", args))
+    );
+
+    static MonkeyObject map(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        MonkeySeq upstream = (MonkeySeq) args[0];
+        MonkeyObject fn = args[1];
+        return new MonkeySeq(() -> {
+            Cursor cursor = upstream.cursor();
+            Callback mapper = applier.callback(fn);
+            return () -> {
+                MonkeyObject next = cursor.next();
+                if (next == null || next instanceof MonkeyError) {
+                    return next;
+                }
+                return mapper.call(next);
+            };
+        });
+    }
+
+    static MonkeyObject filter(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        MonkeySeq upstream = (MonkeySeq) args[0];
+        MonkeyObject fn = args[1];
+        return new MonkeySeq(() -> {
+            Cursor cursor = upstream.cursor();
+            Callback predicate = applier.callback(fn);
+            return () -> {
+                for (MonkeyObject next = cursor.next(); next != null; next = cursor.next()) {
+                    if (next instanceof MonkeyError) {
+                        return next;
+                    }
+                    MonkeyObject keep = predicate.call(next);
+                    if (keep instanceof MonkeyError) {
+                        return keep;
+                    }
+                    if (Evaluator.isTruthy(keep)) {
+                        return next;
+                    }
+                }
+                return null;
+            };
+        });
+    }
+
+    static MonkeyObject reduce(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2 && args.length != 3) {
+            return wrongNumberOfArguments(args, "2 or 3");
+        }
+        Cursor cursor = ((MonkeySeq) args[0]).cursor();
+        Callback fn = applier.callback(args[args.length - 1]);
+        MonkeyObject acc = args.length == 3 ? args[1] : cursor.next();
+        if (acc == null) {
+            return NULL;
+        }
+        for (MonkeyObject next = cursor.next(); next != null && !(acc instanceof MonkeyError); next = cursor.next()) {
+            if (next instanceof MonkeyError) {
+                return next;
+            }
+            acc = fn.call(acc, next);
+        }
+        return acc;
+    }
+
+    static MonkeyObject each(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        Cursor cursor = ((MonkeySeq) args[0]).cursor();
+        Callback fn = applier.callback(args[1]);
+        for (MonkeyObject next = cursor.next(); next != null; next = cursor.next()) {
+            MonkeyObject result = next instanceof MonkeyError ? next : fn.call(next);
+            if (result instanceof MonkeyError) {
+                return result;
+            }
+        }
+        return NULL;
+    }
+
+    /**
+     * {@code range(end)}, {@code range(start, end)} or {@code range(start, end, step)}: the integers from
+     * {@code start} (default 0) up to but excluding {@code end}, counting down for a negative step.
+     */
+    static MonkeyObject range(MonkeyObject[] args) {
+        if (args.length < 1 || args.length > 3) {
+            return wrongNumberOfArguments(args, "1, 2 or 3");
+        }
+        for (MonkeyObject arg : args) {
+            if (!(arg instanceof MonkeyInteger)) {
+                return wrongIntegerArgument("range", arg);
+            }
+        }
+        long start = args.length == 1 ? 0 : ((MonkeyInteger) args[0]).getValue();
+        long end = ((MonkeyInteger) args[args.length == 1 ? 0 : 1]).getValue();
+        long step = args.length == 3 ? ((MonkeyInteger) args[2]).getValue() : 1;
+        if (step == 0) {
+            return new MonkeyError("range step must not be zero");
+        }
+
+        return new MonkeySeq(() -> new Cursor() {
+            private long next = start;
+            private boolean done;
+
+            @Override
+            public MonkeyObject next() {
+                if (done || (step > 0 ? next >= end : next <= end)) {
+                    return null;
+                }
+                long value = next;
+                try {
+                    next = Math.addExact(next, step);
+                } catch (ArithmeticException overflow) {
+                    done = true;
+                }
+                return MonkeyInteger.valueOf(value);
+            }
+        });
+    }
+
+    private static MonkeyObject limit(String name, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        MonkeySeq upstream;
+        if (args[0] instanceof MonkeySeq) {
+            upstream = (MonkeySeq) args[0];
+        } else if (args[0] instanceof MonkeyArray) {
+            upstream = ofArray(((MonkeyArray) args[0]).getElements());
+        } else {
+            return wrongArgumentType(name, MonkeySeq.SEQ_OBJ, args[0]);
+        }
+        if (!(args[1] instanceof MonkeyInteger)) {
+            return wrongIntegerArgument(name, args[1]);
+        }
+        long count = ((MonkeyInteger) args[1]).getValue();
+
+        if (name.equals("take")) {
+            return new MonkeySeq(() -> {
+                Cursor cursor = upstream.cursor();
+                long[] taken = {0};
+                return () -> taken[0]++ < count ? cursor.next() : null;
+            });
+        }
+        return new MonkeySeq(() -> {
+            Cursor cursor = upstream.cursor();
+            boolean[] skipped = {false};
+            return () -> {
+                if (!skipped[0]) {
+                    skipped[0] = true;
+                    for (long i = 0; i < count; i++) {
+                        MonkeyObject next = cursor.next();
+                        if (next == null || next instanceof MonkeyError) {
+                            return next;
+                        }
+                    }
+                }
+                return cursor.next();
+            };
+        });
+    }
+
+    private static MonkeySeq ofArray(MonkeyObject[] elements) {
+        return new MonkeySeq(() -> {
+            int[] index = {0};
+            return () -> index[0] < elements.length ? elements[index[0]++] : null;
+        });
+    }
+}
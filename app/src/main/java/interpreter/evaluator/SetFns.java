@@ -0,0 +1,119 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.Map;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.FALSE;
+import static interpreter.evaluator.Evaluator.TRUE;
+
+public class SetFns {
+
+    public static Map<String, MonkeyBuiltin> SET_FNS = Map.of(
+            "set", new MonkeyBuiltin((args) -> {
+                if (args.length > 1) {
+                    return wrongNumberOfArguments(args, "0 or 1");
+                }
+                if (args.length == 0) {
+                    return MonkeySet.EMPTY;
+                }
+                if (!(args[0] instanceof MonkeyArray)) {
+                    return wrongArgumentType("set", MonkeyArray.ARRAY_OBJ, args[0]);
+                }
+                MonkeySet set = MonkeySet.EMPTY;
+                for (MonkeyObject element : ((MonkeyArray) args[0]).getElements()) {
+                    if (!(element instanceof Hashable)) {
+                        return unusableAsSetElement(element);
+                    }
+                    set = set.with(((Hashable) element).hashKey(), element);
+                }
+                return set;
+            }),
+            "contains", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[1] instanceof Hashable)) {
+                    return FALSE;
+                }
+                MonkeyHashKey key = ((Hashable) args[1]).hashKey();
+                if (args[0] instanceof MonkeySet) {
+                    return ((MonkeySet) args[0]).containsKey(key) ? TRUE : FALSE;
+                }
+                if (args[0] instanceof MonkeyHash) {
+                    return ((MonkeyHash) args[0]).getPairs().containsKey(key) ? TRUE : FALSE;
+                }
+                return wrongArgumentType("contains", MonkeySet.SET_OBJ, args[0]);
+            }),
+            "add", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[0] instanceof MonkeySet)) {
+                    return wrongArgumentType("add", MonkeySet.SET_OBJ, args[0]);
+                }
+                if (!(args[1] instanceof Hashable)) {
+                    return unusableAsSetElement(args[1]);
+                }
+                return ((MonkeySet) args[0]).with(((Hashable) args[1]).hashKey(), args[1]);
+            }),
+            "remove", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[0] instanceof MonkeySet)) {
+                    return wrongArgumentType("remove", MonkeySet.SET_OBJ, args[0]);
+                }
+                MonkeySet set = (MonkeySet) args[0];
+                if (!(args[1] instanceof Hashable)) {
+                    return set;
+                }
+                return set.without(((Hashable) args[1]).hashKey());
+            }),
+            "union", new MonkeyBuiltin((args) -> combine("union", args)),
+            "intersection", new MonkeyBuiltin((args) -> combine("intersection", args)),
+            "difference", new MonkeyBuiltin((args) -> combine("difference", args))
+    );
+
+    private static MonkeyObject combine(String name, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        for (MonkeyObject arg : args) {
+            if (!(arg instanceof MonkeySet)) {
+                return wrongArgumentType(name, MonkeySet.SET_OBJ, arg);
+            }
+        }
+        MonkeySet a = (MonkeySet) args[0];
+        MonkeySet b = (MonkeySet) args[1];
+
+        // union adds to a and difference removes from it, so both keep a's trie and order
+        MonkeySet result = name.equals("intersection") ? MonkeySet.EMPTY : a;
+        switch (name) {
+            case "union" -> {
+                for (var entry : b.getElements().entrySet()) {
+                    result = result.with(entry.getKey(), entry.getValue());
+                }
+            }
+            case "intersection" -> {
+                for (var entry : a.getElements().entrySet()) {
+                    if (b.containsKey(entry.getKey())) {
+                        result = result.with(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            default -> {
+                for (MonkeyHashKey key : b.getElements().keySet()) {
+                    result = result.without(key);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static MonkeyError unusableAsSetElement(MonkeyObject element) {
+        return new MonkeyError("unusable as set element: " + element.type());
+    }
+}
@@ -0,0 +1,210 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+
+/**
+ * {@code sort(array)} and {@code sort_by(array, fn)}. Both return a new array and sort stably.
+ * Integer-only and string-only inputs are compared as {@code long}s and {@code String}s without
+ * going back into the evaluator; {@code sort_by} calls {@code fn} exactly once per element.
+ */
+public class SortFns {
+
+    // below this size the fork/join overhead of Arrays.parallelSort outweighs its gain
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    public static Map<String, MonkeyBuiltin> SORT_FNS = Map.of(
+            "sort", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (!(args[0] instanceof MonkeyArray)) {
+                    return wrongArgumentType("sort", MonkeyArray.ARRAY_OBJ, args[0]);
+                }
+                MonkeyObject[] elements = ((MonkeyArray) args[0]).getElements();
+                Object kind = kindOf(elements);
+                if (kind instanceof MonkeyError) {
+                    return (MonkeyError) kind;
+                }
+                return new MonkeyArray(sort(elements, (Kind) kind));
+            }),
+            "sort_by", new MonkeyBuiltin(SortFns::sortBy)
+    );
+
+    static MonkeyObject sortBy(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        if (!(args[0] instanceof MonkeyArray)) {
+            return wrongArgumentType("sort_by", MonkeyArray.ARRAY_OBJ, args[0]);
+        }
+        MonkeyObject[] elements = ((MonkeyArray) args[0]).getElements();
+        MonkeyObject[] keys = new MonkeyObject[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = applier.apply(args[1], new MonkeyObject[]{elements[i]});
+            if (keys[i] instanceof MonkeyError) {
+                return keys[i];
+            }
+        }
+        Object kind = kindOf(keys);
+        if (kind instanceof MonkeyError) {
+            return (MonkeyError) kind;
+        }
+
+        Keyed[] keyed = new Keyed[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keyed[i] = new Keyed(keys[i], elements[i], (Kind) kind);
+        }
+        Comparator<Keyed> order = switch ((Kind) kind) {
+            case INTEGERS -> Comparator.comparingLong(k -> k.number);
+            case STRINGS -> Comparator.comparing(k -> k.string);
+            default -> (a, b) -> compareNumbers(a.key, b.key);
+        };
+        sort(keyed, order);
+
+        MonkeyObject[] sorted = new MonkeyObject[keyed.length];
+        for (int i = 0; i < keyed.length; i++) {
+            sorted[i] = keyed[i].value;
+        }
+        return new MonkeyArray(sorted);
+    }
+
+    private static MonkeyObject[] sort(MonkeyObject[] elements, Kind kind) {
+        if (kind == Kind.INTEGERS) {
+            long[] values = new long[elements.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ((MonkeyInteger) elements[i]).getValue();
+            }
+            if (values.length > PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(values);
+            } else {
+                Arrays.sort(values);
+            }
+            MonkeyObject[] sorted = new MonkeyObject[values.length];
+            for (int i = 0; i < values.length; i++) {
+                sorted[i] = MonkeyInteger.valueOf(values[i]);
+            }
+            return sorted;
+        }
+        if (kind == Kind.STRINGS) {
+            // getValue may flatten a rope, so the strings are read here rather than from sort threads
+            Keyed[] keyed = new Keyed[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                keyed[i] = new Keyed(elements[i], elements[i], kind);
+            }
+            sort(keyed, Comparator.comparing(k -> k.string));
+            MonkeyObject[] sorted = new MonkeyObject[keyed.length];
+            for (int i = 0; i < keyed.length; i++) {
+                sorted[i] = keyed[i].value;
+            }
+            return sorted;
+        }
+        MonkeyObject[] sorted = elements.clone();
+        sort(sorted, SortFns::compareNumbers);
+        return sorted;
+    }
+
+    private static <T> void sort(T[] values, Comparator<? super T> order) {
+        if (values.length > PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(values, order);
+        } else {
+            Arrays.sort(values, order);
+        }
+    }
+
+    /**
+     * Returns the {@link Kind} shared by all values, or a MonkeyError if they cannot be ordered.
+     */
+    private static Object kindOf(MonkeyObject[] values) {
+        Kind kind = Kind.INTEGERS;
+        MonkeyObject first = values.length > 0 ? values[0] : null;
+
+        for (MonkeyObject value : values) {
+            Kind next;
+            if (value instanceof MonkeyInteger) {
+                next = Kind.INTEGERS;
+            } else if (value instanceof MonkeyBigInteger || value instanceof MonkeyFloat) {
+                next = Kind.NUMBERS;
+            } else if (value instanceof MonkeyString) {
+                next = Kind.STRINGS;
+            } else {
+                return new MonkeyError("cannot sort values of type " + value.type());
+            }
+
+            if ((next == Kind.STRINGS) != (first instanceof MonkeyString)) {
+                return new MonkeyError(String.format("cannot sort %s and %s together", first.type(), value.type()));
+            }
+            if (next == Kind.NUMBERS) {
+                kind = Kind.NUMBERS;
+            } else if (next == Kind.STRINGS) {
+                kind = Kind.STRINGS;
+            }
+        }
+        return kind;
+    }
+
+    /**
+     * Orders integers, big integers and floats exactly; NaN sorts after every other number.
+     */
+    static int compareNumbers(MonkeyObject a, MonkeyObject b) {
+        if (a instanceof MonkeyInteger && b instanceof MonkeyInteger) {
+            return Long.compare(((MonkeyInteger) a).getValue(), ((MonkeyInteger) b).getValue());
+        }
+        if (a instanceof MonkeyFloat || b instanceof MonkeyFloat) {
+            double x = toDouble(a);
+            double y = toDouble(b);
+            if (Double.isNaN(x) || Double.isNaN(y) || Double.isInfinite(x) || Double.isInfinite(y)) {
+                return Double.compare(x, y);
+            }
+        }
+        return toBigDecimal(a).compareTo(toBigDecimal(b));
+    }
+
+    private static double toDouble(MonkeyObject number) {
+        if (number instanceof MonkeyFloat) {
+            return ((MonkeyFloat) number).getValue();
+        }
+        if (number instanceof MonkeyBigInteger) {
+            return ((MonkeyBigInteger) number).getValue().doubleValue();
+        }
+        return ((MonkeyInteger) number).getValue();
+    }
+
+    private static BigDecimal toBigDecimal(MonkeyObject number) {
+        if (number instanceof MonkeyFloat) {
+            return new BigDecimal(((MonkeyFloat) number).getValue());
+        }
+        if (number instanceof MonkeyBigInteger) {
+            return new BigDecimal(((MonkeyBigInteger) number).getValue());
+        }
+        return new BigDecimal(BigInteger.valueOf(((MonkeyInteger) number).getValue()));
+    }
+
+    private enum Kind {
+        INTEGERS,
+        NUMBERS,
+        STRINGS
+    }
+
+    private static final class Keyed {
+        private final MonkeyObject key;
+        private final MonkeyObject value;
+        private final long number;
+        private final String string;
+
+        Keyed(MonkeyObject key, MonkeyObject value, Kind kind) {
+            this.key = key;
+            this.value = value;
+            this.number = kind == Kind.INTEGERS ? ((MonkeyInteger) key).getValue() : 0;
+            this.string = kind == Kind.STRINGS ? ((MonkeyString) key).getValue() : null;
+        }
+    }
+}
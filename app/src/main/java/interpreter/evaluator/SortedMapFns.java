@@ -0,0 +1,146 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.NULL;
+
+/**
+ * Builtins for {@link MonkeySortedMap}. {@code range(map, from[, to])} returns a view of the keys in
+ * {@code [from, to)}; a missing or null bound is unlimited. {@code get}, {@code put} and {@code range}
+ * are shared with other types and dispatched by {@link OverloadedFns}.
+ */
+public class SortedMapFns {
+
+    public static Map<String, MonkeyBuiltin> SORTED_MAP_FNS = Map.of(
+            "sorted_map", new MonkeyBuiltin((args) -> {
+                if (args.length > 1) {
+                    return wrongNumberOfArguments(args, "0 or 1");
+                }
+                MonkeySortedMap map = MonkeySortedMap.EMPTY;
+                if (args.length == 0) {
+                    return map;
+                }
+                if (!(args[0] instanceof MonkeyHash)) {
+                    return wrongArgumentType("sorted_map", MonkeyHash.HASH_OBJ, args[0]);
+                }
+                for (MonkeyHashPair pair : ((MonkeyHash) args[0]).getPairs().values()) {
+                    if (!MonkeySortedMap.isKey(pair.getKey())) {
+                        return unusableAsKey(pair.getKey());
+                    }
+                    map = map.put(pair.getKey(), pair.getValue());
+                }
+                return map;
+            }),
+            "delete", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[0] instanceof MonkeySortedMap)) {
+                    return wrongArgumentType("delete", MonkeySortedMap.SORTED_MAP_OBJ, args[0]);
+                }
+                MonkeySortedMap map = (MonkeySortedMap) args[0];
+                if (!MonkeySortedMap.isKey(args[1]) || !map.inRange(args[1])) {
+                    return map;
+                }
+                return map.delete(args[1]);
+            }),
+            "floor", new MonkeyBuiltin((args) -> search("floor", args)),
+            "ceiling", new MonkeyBuiltin((args) -> search("ceiling", args)),
+            "keys", new MonkeyBuiltin((args) -> collect("keys", args, MonkeySortedMap.Node::getKey)),
+            "values", new MonkeyBuiltin((args) -> collect("values", args, MonkeySortedMap.Node::getValue)),
+            "entries", new MonkeyBuiltin((args) -> collect("entries", args,
+                    (entry) -> new MonkeyArray(new MonkeyObject[]{entry.getKey(), entry.getValue()})))
+    );
+
+    static MonkeyObject get(MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        if (!MonkeySortedMap.isKey(args[1])) {
+            return unusableAsKey(args[1]);
+        }
+        return orNull(((MonkeySortedMap) args[0]).get(args[1]));
+    }
+
+    /**
+     * {@code put(map, key, value)} returns a new map; the original is unchanged.
+     */
+    static MonkeyObject put(MonkeyObject[] args) {
+        if (args.length != 3) {
+            return wrongNumberOfArguments(args, 3);
+        }
+        MonkeySortedMap map = (MonkeySortedMap) args[0];
+        if (!MonkeySortedMap.isKey(args[1])) {
+            return unusableAsKey(args[1]);
+        }
+        if (!map.inRange(args[1])) {
+            return new MonkeyError("key outside range of view: " + args[1].inspect());
+        }
+        return map.put(args[1], args[2]);
+    }
+
+    static MonkeyObject range(MonkeyObject[] args) {
+        if (args.length != 2 && args.length != 3) {
+            return wrongNumberOfArguments(args, "2 or 3");
+        }
+        if (!(args[0] instanceof MonkeySortedMap)) {
+            return wrongArgumentType("range", MonkeySortedMap.SORTED_MAP_OBJ, args[0]);
+        }
+        for (int i = 1; i < args.length; i++) {
+            if (args[i] != NULL && !MonkeySortedMap.isKey(args[i])) {
+                return unusableAsKey(args[i]);
+            }
+        }
+        MonkeyObject to = args.length == 3 ? bound(args[2]) : null;
+        return ((MonkeySortedMap) args[0]).range(bound(args[1]), to);
+    }
+
+    private static MonkeyObject search(String name, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        if (!(args[0] instanceof MonkeySortedMap)) {
+            return wrongArgumentType(name, MonkeySortedMap.SORTED_MAP_OBJ, args[0]);
+        }
+        if (!MonkeySortedMap.isKey(args[1])) {
+            return unusableAsKey(args[1]);
+        }
+        MonkeySortedMap map = (MonkeySortedMap) args[0];
+        return orNull(name.equals("floor") ? map.floorKey(args[1]) : map.ceilingKey(args[1]));
+    }
+
+    private static MonkeyObject collect(String name, MonkeyObject[] args, Function<MonkeySortedMap.Node, MonkeyObject> part) {
+        if (args.length != 1) {
+            return wrongNumberOfArguments(args, 1);
+        }
+        if (!(args[0] instanceof MonkeySortedMap)) {
+            return wrongArgumentType(name, MonkeySortedMap.SORTED_MAP_OBJ, args[0]);
+        }
+        List<MonkeyObject> out = new ArrayList<>();
+        Iterator<MonkeySortedMap.Node> entries = ((MonkeySortedMap) args[0]).entries();
+        while (entries.hasNext()) {
+            out.add(part.apply(entries.next()));
+        }
+        return new MonkeyArray(out.toArray(new MonkeyObject[0]));
+    }
+
+    private static MonkeyObject bound(MonkeyObject value) {
+        return value == NULL ? null : value;
+    }
+
+    private static MonkeyObject orNull(MonkeyObject value) {
+        return value != null ? value : NULL;
+    }
+
+    private static MonkeyError unusableAsKey(MonkeyObject key) {
+        return new MonkeyError("unusable as sorted map key: " + key.type());
+    }
+}
@@ -0,0 +1,149 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongIntegerArgument;
+import static interpreter.monkey.objects.ValueInterner.intern;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+
+/**
+ * String builtins. {@code substr}, {@code split} and {@code trim} return slice views that share the
+ * characters of the string they were taken from instead of copying them, unless value interning is
+ * enabled, in which case results are canonicalized through {@link ValueInterner}.
+ */
+public class StringFns {
+
+    public static Map<String, MonkeyBuiltin> STRING_FNS = Map.of(
+            "substr", new MonkeyBuiltin((args) -> {
+                if (args.length != 2 && args.length != 3) {
+                    return wrongNumberOfArguments(args, "2 or 3");
+                }
+                if (!(args[0] instanceof MonkeyString)) {
+                    return wrongArgumentType("substr", MonkeyString.STRING_OBJ, args[0]);
+                }
+                if (!(args[1] instanceof MonkeyInteger)) {
+                    return wrongIntegerArgument("substr", args[1]);
+                }
+                if (args.length == 3 && !(args[2] instanceof MonkeyInteger)) {
+                    return wrongIntegerArgument("substr", args[2]);
+                }
+                MonkeyString string = (MonkeyString) args[0];
+
+                int start = clamp(((MonkeyInteger) args[1]).getValue(), string.length());
+                int end = string.length();
+                if (args.length == 3) {
+                    end = clamp(start + ((MonkeyInteger) args[2]).getValue(), string.length());
+                }
+
+                return intern(string.substring(start, Math.max(start, end)));
+            }),
+            "split", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[0] instanceof MonkeyString)) {
+                    return wrongArgumentType("split", MonkeyString.STRING_OBJ, args[0]);
+                }
+                if (!(args[1] instanceof MonkeyString)) {
+                    return wrongArgumentType("split", MonkeyString.STRING_OBJ, args[1]);
+                }
+                MonkeyString string = (MonkeyString) args[0];
+                MonkeyString separator = (MonkeyString) args[1];
+                List<MonkeyObject> parts = new ArrayList<>();
+
+                if (separator.length() == 0) {
+                    for (int i = 0; i < string.length(); i++) {
+                        parts.add(intern(string.substring(i, i + 1)));
+                    }
+                    return new MonkeyArray(parts.toArray(new MonkeyObject[0]));
+                }
+
+                int start = 0;
+                int found = string.indexOf(separator, 0);
+                while (found >= 0) {
+                    parts.add(intern(string.substring(start, found)));
+                    start = found + separator.length();
+                    found = string.indexOf(separator, start);
+                }
+                parts.add(intern(string.substring(start, string.length())));
+
+                return new MonkeyArray(parts.toArray(new MonkeyObject[0]));
+            }),
+            "index_of", new MonkeyBuiltin((args) -> {
+                if (args.length != 2 && args.length != 3) {
+                    return wrongNumberOfArguments(args, "2 or 3");
+                }
+                if (!(args[0] instanceof MonkeyString)) {
+                    return wrongArgumentType("index_of", MonkeyString.STRING_OBJ, args[0]);
+                }
+                if (!(args[1] instanceof MonkeyString)) {
+                    return wrongArgumentType("index_of", MonkeyString.STRING_OBJ, args[1]);
+                }
+                if (args.length == 3 && !(args[2] instanceof MonkeyInteger)) {
+                    return wrongIntegerArgument("index_of", args[2]);
+                }
+                MonkeyString string = (MonkeyString) args[0];
+                int from = args.length == 3 ? clamp(((MonkeyInteger) args[2]).getValue(), string.length()) : 0;
+
+                return new MonkeyInteger(string.indexOf((MonkeyString) args[1], from));
+            }),
+            "trim", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (!(args[0] instanceof MonkeyString)) {
+                    return wrongArgumentType("trim", MonkeyString.STRING_OBJ, args[0]);
+                }
+                MonkeyString string = (MonkeyString) args[0];
+
+                int start = 0;
+                int end = string.length();
+                while (start < end && Character.isWhitespace(string.charAt(start))) {
+                    start++;
+                }
+                while (end > start && Character.isWhitespace(string.charAt(end - 1))) {
+                    end--;
+                }
+
+                return intern(string.substring(start, end));
+            })
+    );
+
+    /**
+     * {@code join(array)} or {@code join(array, separator)} concatenates an array of strings.
+     */
+    static MonkeyObject join(MonkeyObject[] args) {
+        if (args.length != 1 && args.length != 2) {
+            return wrongNumberOfArguments(args, "1 or 2");
+        }
+        if (!(args[0] instanceof MonkeyArray)) {
+            return wrongArgumentType("join", MonkeyArray.ARRAY_OBJ, args[0]);
+        }
+        if (args.length == 2 && !(args[1] instanceof MonkeyString)) {
+            return wrongArgumentType("join", MonkeyString.STRING_OBJ, args[1]);
+        }
+        MonkeyObject[] elements = ((MonkeyArray) args[0]).getElements();
+        StringBuilder out = new StringBuilder();
+
+        for (int i = 0; i < elements.length; i++) {
+            if (!(elements[i] instanceof MonkeyString)) {
+                return new MonkeyError("elements passed to `join` must be STRING, got " + elements[i].type());
+            }
+            if (i > 0 && args.length == 2) {
+                ((MonkeyString) args[1]).appendTo(out);
+            }
+            ((MonkeyString) elements[i]).appendTo(out);
+        }
+
+        return ValueInterner.string(out.toString());
+    }
+
+    private static int clamp(long index, int length) {
+        return (int) Math.max(0, Math.min(index, length));
+    }
+}
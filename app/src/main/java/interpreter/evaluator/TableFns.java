@@ -0,0 +1,452 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+import interpreter.monkey.objects.TableColumn.DoubleColumn;
+import interpreter.monkey.objects.TableColumn.LongColumn;
+import interpreter.monkey.objects.TableColumn.StringColumn;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.NULL;
+
+/**
+ * Builtins for the columnar {@code table} type. Aggregations loop over the primitive column arrays
+ * directly; only {@code filter} calls back into the evaluator, once per row.
+ */
+public class TableFns {
+
+    public static Map<String, MonkeyBuiltin> TABLE_FNS = Map.of(
+            "table", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (!(args[0] instanceof MonkeyArray)) {
+                    return wrongArgumentType("table", MonkeyArray.ARRAY_OBJ, args[0]);
+                }
+                return fromRows(((MonkeyArray) args[0]).getElements());
+            }),
+            "columns", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (!(args[0] instanceof MonkeyTable)) {
+                    return wrongArgumentType("columns", MonkeyTable.TABLE_OBJ, args[0]);
+                }
+                String[] names = ((MonkeyTable) args[0]).getNames();
+                MonkeyObject[] columns = new MonkeyObject[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    columns[i] = new MonkeyString(names[i]);
+                }
+                return new MonkeyArray(columns);
+            }),
+            "rows", new MonkeyBuiltin((args) -> {
+                if (args.length != 1) {
+                    return wrongNumberOfArguments(args, 1);
+                }
+                if (!(args[0] instanceof MonkeyTable)) {
+                    return wrongArgumentType("rows", MonkeyTable.TABLE_OBJ, args[0]);
+                }
+                MonkeyTable table = (MonkeyTable) args[0];
+                RowBuilder rowBuilder = new RowBuilder(table);
+                MonkeyObject[] rows = new MonkeyObject[table.getRowCount()];
+                for (int row = 0; row < rows.length; row++) {
+                    rows[row] = rowBuilder.row(row);
+                }
+                return new MonkeyArray(rows);
+            }),
+            "project", new MonkeyBuiltin((args) -> {
+                if (args.length != 2) {
+                    return wrongNumberOfArguments(args, 2);
+                }
+                if (!(args[0] instanceof MonkeyTable)) {
+                    return wrongArgumentType("project", MonkeyTable.TABLE_OBJ, args[0]);
+                }
+                if (!(args[1] instanceof MonkeyArray)) {
+                    return wrongArgumentType("project", MonkeyArray.ARRAY_OBJ, args[1]);
+                }
+                MonkeyTable table = (MonkeyTable) args[0];
+                MonkeyObject[] selected = ((MonkeyArray) args[1]).getElements();
+                String[] names = new String[selected.length];
+                TableColumn[] columns = new TableColumn[selected.length];
+
+                for (int i = 0; i < selected.length; i++) {
+                    if (!(selected[i] instanceof MonkeyString)) {
+                        return new MonkeyError("column names must be STRING, got " + selected[i].type());
+                    }
+                    names[i] = ((MonkeyString) selected[i]).getValue();
+                    int index = table.columnIndex(names[i]);
+                    if (index < 0) {
+                        return unknownColumn(names[i]);
+                    }
+                    columns[i] = table.getColumns()[index];
+                }
+                return new MonkeyTable(names, columns, table.getRowCount());
+            }),
+            "count", new MonkeyBuiltin((args) -> {
+                if (args.length != 1 && args.length != 2) {
+                    return wrongNumberOfArguments(args, "1 or 2");
+                }
+                if (!(args[0] instanceof MonkeyTable)) {
+                    return wrongArgumentType("count", MonkeyTable.TABLE_OBJ, args[0]);
+                }
+                MonkeyTable table = (MonkeyTable) args[0];
+                if (args.length == 1) {
+                    return MonkeyInteger.valueOf(table.getRowCount());
+                }
+                ColumnRef column = column("count", table, args[1]);
+                if (column.error != null) {
+                    return column.error;
+                }
+                return MonkeyInteger.valueOf(column.column.nonNullCount());
+            })
+    );
+
+    /**
+     * {@code filter(table, fn)} calls {@code fn} with each row as a hash,
+     * {@code filter(table, column, fn)} with just the value of one cell.
+     */
+    static MonkeyObject filter(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2 && args.length != 3) {
+            return wrongNumberOfArguments(args, "2 or 3");
+        }
+        if (!(args[0] instanceof MonkeyTable)) {
+            return wrongArgumentType("filter", MonkeyTable.TABLE_OBJ, args[0]);
+        }
+        MonkeyTable table = (MonkeyTable) args[0];
+        MonkeyObject predicate = args[args.length - 1];
+        TableColumn cells = null;
+        RowBuilder rowBuilder = null;
+
+        if (args.length == 3) {
+            ColumnRef column = column("filter", table, args[1]);
+            if (column.error != null) {
+                return column.error;
+            }
+            cells = column.column;
+        } else {
+            rowBuilder = new RowBuilder(table);
+        }
+
+        int[] selected = new int[table.getRowCount()];
+        int count = 0;
+        for (int row = 0; row < table.getRowCount(); row++) {
+            MonkeyObject arg = cells != null ? orNull(cells.get(row)) : rowBuilder.row(row);
+            MonkeyObject keep = applier.apply(predicate, new MonkeyObject[]{arg});
+            if (keep instanceof MonkeyError) {
+                return keep;
+            }
+            if (Evaluator.isTruthy(keep)) {
+                selected[count++] = row;
+            }
+        }
+
+        TableColumn[] columns = new TableColumn[table.getColumns().length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = table.getColumns()[i].gather(selected, count);
+        }
+        return new MonkeyTable(table.getNames(), columns, count);
+    }
+
+    /**
+     * {@code sum(table, column)}, {@code min(table, column)} or {@code max(table, column)}.
+     */
+    static MonkeyObject aggregate(String name, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        if (!(args[0] instanceof MonkeyTable)) {
+            return wrongArgumentType(name, MonkeyTable.TABLE_OBJ, args[0]);
+        }
+        ColumnRef ref = column(name, (MonkeyTable) args[0], args[1]);
+        if (ref.error != null) {
+            return ref.error;
+        }
+        TableColumn column = ref.column;
+
+        if (column instanceof LongColumn) {
+            long[] values = ((LongColumn) column).getValues();
+            return switch (name) {
+                case "sum" -> sum(values, column);
+                case "min" -> extreme(values, column, true);
+                default -> extreme(values, column, false);
+            };
+        }
+        if (column instanceof DoubleColumn) {
+            double[] values = ((DoubleColumn) column).getValues();
+            return switch (name) {
+                case "sum" -> sum(values, column);
+                case "min" -> extreme(values, column, true);
+                default -> extreme(values, column, false);
+            };
+        }
+        if (!"sum".equals(name)) {
+            return extreme((StringColumn) column, name.equals("min"));
+        }
+        return new MonkeyError(String.format("cannot sum %s column `%s`", column.kind(), ref.name));
+    }
+
+    private static MonkeyObject sum(long[] values, TableColumn column) {
+        long total = 0;
+        try {
+            if (!column.hasNulls()) {
+                for (long value : values) {
+                    total = Math.addExact(total, value);
+                }
+            } else {
+                for (int i = 0; i < values.length; i++) {
+                    if (!column.isNull(i)) {
+                        total = Math.addExact(total, values[i]);
+                    }
+                }
+            }
+            return MonkeyInteger.valueOf(total);
+        } catch (ArithmeticException overflow) {
+            BigInteger big = BigInteger.ZERO;
+            for (int i = 0; i < values.length; i++) {
+                if (!column.isNull(i)) {
+                    big = big.add(BigInteger.valueOf(values[i]));
+                }
+            }
+            return MonkeyBigInteger.of(big);
+        }
+    }
+
+    private static MonkeyObject sum(double[] values, TableColumn column) {
+        double total = 0;
+        if (!column.hasNulls()) {
+            for (double value : values) {
+                total += value;
+            }
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                if (!column.isNull(i)) {
+                    total += values[i];
+                }
+            }
+        }
+        return new MonkeyFloat(total);
+    }
+
+    private static MonkeyObject extreme(long[] values, TableColumn column, boolean min) {
+        boolean found = false;
+        long best = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (column.isNull(i)) {
+                continue;
+            }
+            if (!found || (min ? values[i] < best : values[i] > best)) {
+                best = values[i];
+                found = true;
+            }
+        }
+        return found ? MonkeyInteger.valueOf(best) : NULL;
+    }
+
+    private static MonkeyObject extreme(double[] values, TableColumn column, boolean min) {
+        boolean found = false;
+        double best = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (column.isNull(i)) {
+                continue;
+            }
+            if (!found || (min ? values[i] < best : values[i] > best)) {
+                best = values[i];
+                found = true;
+            }
+        }
+        return found ? new MonkeyFloat(best) : NULL;
+    }
+
+    private static MonkeyObject extreme(StringColumn column, boolean min) {
+        int[] codes = column.getCodes();
+        int[] ranks = column.getRanks();
+        int bestCode = -1;
+        for (int i = 0; i < codes.length; i++) {
+            if (column.isNull(i)) {
+                continue;
+            }
+            if (bestCode < 0 || (min ? ranks[codes[i]] < ranks[bestCode] : ranks[codes[i]] > ranks[bestCode])) {
+                bestCode = codes[i];
+            }
+        }
+        return bestCode >= 0 ? column.getDictionary()[bestCode] : NULL;
+    }
+
+    private static MonkeyObject fromRows(MonkeyObject[] rows) {
+        Map<String, ColumnSpec> specs = new LinkedHashMap<>();
+
+        for (MonkeyObject row : rows) {
+            if (!(row instanceof MonkeyHash)) {
+                return new MonkeyError("elements passed to `table` must be HASH, got " + row.type());
+            }
+            for (MonkeyHashPair pair : ((MonkeyHash) row).getPairs().values()) {
+                if (!(pair.getKey() instanceof MonkeyString)) {
+                    return new MonkeyError("column names must be STRING, got " + pair.getKey().type());
+                }
+                MonkeyString name = (MonkeyString) pair.getKey();
+                ColumnSpec spec = specs.computeIfAbsent(name.getValue(), n -> new ColumnSpec(name));
+                MonkeyObject value = pair.getValue();
+
+                if (value instanceof MonkeyInteger) {
+                    spec.integers = true;
+                } else if (value instanceof MonkeyFloat) {
+                    spec.floats = true;
+                } else if (value instanceof MonkeyString) {
+                    spec.strings = true;
+                } else if (value instanceof MonkeyBigInteger) {
+                    return new MonkeyError(String.format("integer in column `%s` out of range: %s", name.getValue(), value.inspect()));
+                } else if (value != NULL) {
+                    return new MonkeyError(String.format("unsupported value in column `%s`: %s", name.getValue(), value.type()));
+                }
+                if (spec.strings && (spec.integers || spec.floats)) {
+                    return new MonkeyError(String.format("column `%s` mixes STRING and numbers", name.getValue()));
+                }
+            }
+        }
+
+        String[] names = specs.keySet().toArray(new String[0]);
+        TableColumn[] columns = new TableColumn[names.length];
+        int i = 0;
+        for (ColumnSpec spec : specs.values()) {
+            columns[i++] = spec.build(rows);
+        }
+        return new MonkeyTable(names, columns, rows.length);
+    }
+
+    private static ColumnRef column(String builtin, MonkeyTable table, MonkeyObject name) {
+        if (!(name instanceof MonkeyString)) {
+            return new ColumnRef(null, null, wrongArgumentType(builtin, MonkeyString.STRING_OBJ, name));
+        }
+        String columnName = ((MonkeyString) name).getValue();
+        int index = table.columnIndex(columnName);
+        if (index < 0) {
+            return new ColumnRef(columnName, null, unknownColumn(columnName));
+        }
+        return new ColumnRef(columnName, table.getColumns()[index], null);
+    }
+
+    private static MonkeyError unknownColumn(String name) {
+        return new MonkeyError(String.format("unknown column `%s`", name));
+    }
+
+    private static MonkeyObject orNull(MonkeyObject value) {
+        return value != null ? value : NULL;
+    }
+
+    private static class ColumnSpec {
+        private final MonkeyString name;
+        private boolean integers;
+        private boolean floats;
+        private boolean strings;
+
+        ColumnSpec(MonkeyString name) {
+            this.name = name;
+        }
+
+        TableColumn build(MonkeyObject[] rows) {
+            MonkeyHashKey key = name.hashKey();
+            BitSet nulls = new BitSet(rows.length);
+
+            if (strings) {
+                int[] codes = new int[rows.length];
+                Map<String, Integer> codesByValue = new HashMap<>();
+                List<MonkeyString> dictionary = new ArrayList<>();
+                for (int row = 0; row < rows.length; row++) {
+                    MonkeyObject value = cell(rows[row], key);
+                    if (value == null) {
+                        nulls.set(row);
+                        continue;
+                    }
+                    MonkeyString string = (MonkeyString) value;
+                    Integer code = codesByValue.get(string.getValue());
+                    if (code == null) {
+                        code = dictionary.size();
+                        codesByValue.put(string.getValue(), code);
+                        dictionary.add(string);
+                    }
+                    codes[row] = code;
+                }
+                return new StringColumn(codes, dictionary.toArray(new MonkeyString[0]), nulls);
+            }
+
+            if (floats) {
+                double[] values = new double[rows.length];
+                for (int row = 0; row < rows.length; row++) {
+                    MonkeyObject value = cell(rows[row], key);
+                    if (value == null) {
+                        nulls.set(row);
+                    } else if (value instanceof MonkeyFloat) {
+                        values[row] = ((MonkeyFloat) value).getValue();
+                    } else {
+                        values[row] = ((MonkeyInteger) value).getValue();
+                    }
+                }
+                return new DoubleColumn(values, nulls);
+            }
+
+            long[] values = new long[rows.length];
+            for (int row = 0; row < rows.length; row++) {
+                MonkeyObject value = cell(rows[row], key);
+                if (value == null) {
+                    nulls.set(row);
+                } else {
+                    values[row] = ((MonkeyInteger) value).getValue();
+                }
+            }
+            return new LongColumn(values, nulls);
+        }
+
+        private static MonkeyObject cell(MonkeyObject row, MonkeyHashKey key) {
+            MonkeyHashPair pair = ((MonkeyHash) row).getPairs().get(key);
+            return pair == null || pair.getValue() == NULL ? null : pair.getValue();
+        }
+    }
+
+    /**
+     * Builds the hash for a table row, reusing the column name keys across rows.
+     */
+    private static class RowBuilder {
+        private final MonkeyTable table;
+        private final MonkeyString[] names;
+        private final MonkeyHashKey[] keys;
+
+        RowBuilder(MonkeyTable table) {
+            this.table = table;
+            this.names = new MonkeyString[table.getNames().length];
+            this.keys = new MonkeyHashKey[names.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = new MonkeyString(table.getNames()[i]);
+                keys[i] = names[i].hashKey();
+            }
+        }
+
+        MonkeyHash row(int row) {
+            Map<MonkeyHashKey, MonkeyHashPair> pairs = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                MonkeyObject value = table.getColumns()[i].get(row);
+                if (value != null) {
+                    pairs.put(keys[i], new MonkeyHashPair(names[i], value));
+                }
+            }
+            return new MonkeyHash(pairs);
+        }
+    }
+
+    /**
+     * A column argument: the column it names, or the error to return if it names none.
+     */
+    private static class ColumnRef {
+        private final String name;
+        private final TableColumn column;
+        private final MonkeyError error;
+
+        ColumnRef(String name, TableColumn column, MonkeyError error) {
+            this.name = name;
+            this.column = column;
+            this.error = error;
+        }
+    }
+}
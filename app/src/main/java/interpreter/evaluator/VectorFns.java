@@ -0,0 +1,296 @@
+package interpreter.evaluator;
+
+import interpreter.monkey.objects.*;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import static interpreter.evaluator.BuiltinArgs.wrongArgumentType;
+import static interpreter.evaluator.BuiltinArgs.wrongNumberOfArguments;
+import static interpreter.evaluator.Evaluator.NULL;
+
+/**
+ * Numeric builtins over integer arrays and int buffers: {@code sum}, {@code min}, {@code max},
+ * {@code dot}, {@code add_arrays} and {@code scale}. Arguments are unboxed once into a
+ * {@code long[]} and handed to {@link LongKernels}; results stay exact, falling back to
+ * {@link BigInteger} when a bounds check shows the primitive result could overflow.
+ * <p>
+ * {@code sum}, {@code min} and {@code max} are shared with tables and dispatched by {@link OverloadedFns}.
+ */
+public class VectorFns {
+
+    private static final LongKernels KERNELS = LongKernels.load();
+
+    public static Map<String, MonkeyBuiltin> VECTOR_FNS = Map.of(
+            "dot", new MonkeyBuiltin(VectorFns::dot),
+            "add_arrays", new MonkeyBuiltin(VectorFns::addArrays),
+            "scale", new MonkeyBuiltin(VectorFns::scale)
+    );
+
+    /**
+     * {@code sum(values)}, {@code min(values)} or {@code max(values)}.
+     */
+    static MonkeyObject reduce(String name, MonkeyObject[] args) {
+        if (args.length != 1) {
+            return wrongNumberOfArguments(args, 1);
+        }
+        Object values = unbox(name, args[0]);
+        if (values instanceof MonkeyError) {
+            return (MonkeyError) values;
+        }
+
+        if (values instanceof long[]) {
+            long[] longs = (long[]) values;
+            if (longs.length == 0) {
+                return name.equals("sum") ? MonkeyInteger.valueOf(0) : NULL;
+            }
+            switch (name) {
+                case "min" -> {
+                    return MonkeyInteger.valueOf(KERNELS.min(longs));
+                }
+                case "max" -> {
+                    return MonkeyInteger.valueOf(KERNELS.max(longs));
+                }
+                default -> {
+                    // every partial sum lies between n * min and n * max
+                    if (multiplyFits(KERNELS.min(longs), longs.length) && multiplyFits(KERNELS.max(longs), longs.length)) {
+                        return MonkeyInteger.valueOf(KERNELS.sum(longs));
+                    }
+                    values = toBigIntegers(longs);
+                }
+            }
+        }
+
+        BigInteger[] bigs = (BigInteger[]) values;
+        if (bigs.length == 0) {
+            return name.equals("sum") ? MonkeyInteger.valueOf(0) : NULL;
+        }
+        BigInteger result = bigs[0];
+        for (int i = 1; i < bigs.length; i++) {
+            result = switch (name) {
+                case "min" -> result.min(bigs[i]);
+                case "max" -> result.max(bigs[i]);
+                default -> result.add(bigs[i]);
+            };
+        }
+        return MonkeyBigInteger.of(result);
+    }
+
+    static MonkeyObject dot(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        Object a = unbox("dot", args[0]);
+        if (a instanceof MonkeyError) {
+            return (MonkeyError) a;
+        }
+        Object b = unbox("dot", args[1]);
+        if (b instanceof MonkeyError) {
+            return (MonkeyError) b;
+        }
+        MonkeyError mismatch = checkLengths("dot", a, b);
+        if (mismatch != null) {
+            return mismatch;
+        }
+
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] x = (long[]) a;
+            long[] y = (long[]) b;
+            if (x.length == 0) {
+                return MonkeyInteger.valueOf(0);
+            }
+            long bound = Math.max(maxAbs(x), maxAbs(y));
+            if (bound >= 0 && multiplyFits(bound, bound) && multiplyFits(bound * bound, x.length)) {
+                return MonkeyInteger.valueOf(KERNELS.dot(x, y));
+            }
+        }
+
+        BigInteger[] x = asBigIntegers(a);
+        BigInteger[] y = asBigIntegers(b);
+        BigInteger sum = BigInteger.ZERO;
+        for (int i = 0; i < x.length; i++) {
+            sum = sum.add(x[i].multiply(y[i]));
+        }
+        return MonkeyBigInteger.of(sum);
+    }
+
+    static MonkeyObject addArrays(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        Object a = unbox("add_arrays", args[0]);
+        if (a instanceof MonkeyError) {
+            return (MonkeyError) a;
+        }
+        Object b = unbox("add_arrays", args[1]);
+        if (b instanceof MonkeyError) {
+            return (MonkeyError) b;
+        }
+        MonkeyError mismatch = checkLengths("add_arrays", a, b);
+        if (mismatch != null) {
+            return mismatch;
+        }
+
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] out = new long[((long[]) a).length];
+            if (KERNELS.add((long[]) a, (long[]) b, out)) {
+                return box("add_arrays", out, args[0]);
+            }
+        }
+
+        BigInteger[] x = asBigIntegers(a);
+        BigInteger[] y = asBigIntegers(b);
+        BigInteger[] out = new BigInteger[x.length];
+        for (int i = 0; i < x.length; i++) {
+            out[i] = x[i].add(y[i]);
+        }
+        return box("add_arrays", out, args[0]);
+    }
+
+    static MonkeyObject scale(FunctionApplier applier, MonkeyObject[] args) {
+        if (args.length != 2) {
+            return wrongNumberOfArguments(args, 2);
+        }
+        Object values = unbox("scale", args[0]);
+        if (values instanceof MonkeyError) {
+            return (MonkeyError) values;
+        }
+        if (!MonkeyInteger.MONKEY_INT.equals(args[1].type())) {
+            return wrongArgumentType("scale", MonkeyInteger.MONKEY_INT, args[1]);
+        }
+
+        if (values instanceof long[] && args[1] instanceof MonkeyInteger) {
+            long[] longs = (long[]) values;
+            long factor = ((MonkeyInteger) args[1]).getValue();
+            if (longs.length == 0
+                    || (multiplyFits(KERNELS.min(longs), factor) && multiplyFits(KERNELS.max(longs), factor))) {
+                long[] out = new long[longs.length];
+                KERNELS.scale(longs, factor, out);
+                return box("scale", out, args[0]);
+            }
+        }
+
+        BigInteger factor = args[1] instanceof MonkeyBigInteger
+                ? ((MonkeyBigInteger) args[1]).getValue()
+                : BigInteger.valueOf(((MonkeyInteger) args[1]).getValue());
+        BigInteger[] bigs = asBigIntegers(values);
+        BigInteger[] out = new BigInteger[bigs.length];
+        for (int i = 0; i < bigs.length; i++) {
+            out[i] = bigs[i].multiply(factor);
+        }
+        return box("scale", out, args[0]);
+    }
+
+    /**
+     * Returns the integers in an array or int buffer as a {@code long[]}, as a {@code BigInteger[]}
+     * if any of them does not fit in a long, or a MonkeyError.
+     */
+    private static Object unbox(String name, MonkeyObject arg) {
+        if (arg instanceof MonkeyIntBuffer) {
+            MonkeyIntBuffer buffer = (MonkeyIntBuffer) arg;
+            if (buffer.isFreed()) {
+                return BufferFns.freedError(buffer);
+            }
+            if (buffer.length() > Integer.MAX_VALUE - 8) {
+                return new MonkeyError(String.format("argument to `%s` is too large: %d elements", name, buffer.length()));
+            }
+            long[] values = new long[(int) buffer.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buffer.get(i);
+            }
+            return values;
+        }
+        if (!(arg instanceof MonkeyArray)) {
+            return wrongArgumentType(name, MonkeyArray.ARRAY_OBJ, arg);
+        }
+
+        MonkeyObject[] elements = ((MonkeyArray) arg).getElements();
+        long[] values = new long[elements.length];
+        boolean big = false;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] instanceof MonkeyInteger) {
+                values[i] = ((MonkeyInteger) elements[i]).getValue();
+            } else if (elements[i] instanceof MonkeyBigInteger) {
+                big = true;
+            } else {
+                return new MonkeyError(String.format("elements passed to `%s` must be INTEGER, got %s", name, elements[i].type()));
+            }
+        }
+        if (!big) {
+            return values;
+        }
+
+        BigInteger[] bigs = new BigInteger[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            bigs[i] = elements[i] instanceof MonkeyBigInteger
+                    ? ((MonkeyBigInteger) elements[i]).getValue()
+                    : BigInteger.valueOf(values[i]);
+        }
+        return bigs;
+    }
+
+    private static MonkeyError checkLengths(String name, Object a, Object b) {
+        int lengthA = a instanceof long[] ? ((long[]) a).length : ((BigInteger[]) a).length;
+        int lengthB = b instanceof long[] ? ((long[]) b).length : ((BigInteger[]) b).length;
+        if (lengthA == lengthB) {
+            return null;
+        }
+        return new MonkeyError(String.format("arguments to `%s` must have the same length, got %d and %d", name, lengthA, lengthB));
+    }
+
+    /**
+     * Boxes the result into the same kind of container as {@code like}. Int buffers are allocated
+     * through {@link BufferFns}, so they belong to the enclosing {@code scoped} call like any other.
+     */
+    private static MonkeyObject box(String name, long[] values, MonkeyObject like) {
+        if (like instanceof MonkeyIntBuffer) {
+            MonkeyObject allocated = BufferFns.allocate(name, values.length, Long.BYTES, MonkeyIntBuffer::new);
+            if (allocated instanceof MonkeyError) {
+                return allocated;
+            }
+            MonkeyIntBuffer buffer = (MonkeyIntBuffer) allocated;
+            for (int i = 0; i < values.length; i++) {
+                buffer.put(i, values[i]);
+            }
+            return buffer;
+        }
+        MonkeyObject[] elements = new MonkeyObject[values.length];
+        for (int i = 0; i < values.length; i++) {
+            elements[i] = MonkeyInteger.valueOf(values[i]);
+        }
+        return new MonkeyArray(elements);
+    }
+
+    private static MonkeyObject box(String name, BigInteger[] values, MonkeyObject like) {
+        if (like instanceof MonkeyIntBuffer) {
+            return new MonkeyError(String.format("result of `%s` does not fit in %s", name, MonkeyIntBuffer.INT_BUFFER_OBJ));
+        }
+        MonkeyObject[] elements = new MonkeyObject[values.length];
+        for (int i = 0; i < values.length; i++) {
+            elements[i] = MonkeyBigInteger.of(values[i]);
+        }
+        return new MonkeyArray(elements);
+    }
+
+    private static BigInteger[] asBigIntegers(Object values) {
+        return values instanceof long[] ? toBigIntegers((long[]) values) : (BigInteger[]) values;
+    }
+
+    private static BigInteger[] toBigIntegers(long[] values) {
+        BigInteger[] bigs = new BigInteger[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bigs[i] = BigInteger.valueOf(values[i]);
+        }
+        return bigs;
+    }
+
+    private static long maxAbs(long[] values) {
+        return Math.max(Math.abs(KERNELS.min(values)), Math.abs(KERNELS.max(values)));
+    }
+
+    private static boolean multiplyFits(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return high == (low >> 63);
+    }
+}
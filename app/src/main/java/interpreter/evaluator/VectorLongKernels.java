@@ -0,0 +1,103 @@
+package interpreter.evaluator;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link LongKernels} on top of {@code jdk.incubator.vector}. Only loaded by
+ * {@link LongKernels#load()} once the module is known to be present.
+ */
+final class VectorLongKernels implements LongKernels {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long sum(long[] values) {
+        LongVector acc = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(values.length); i < bound; i += SPECIES.length()) {
+            acc = acc.add(LongVector.fromArray(SPECIES, values, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < values.length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(long[] values) {
+        LongVector acc = LongVector.broadcast(SPECIES, Long.MAX_VALUE);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(values.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(LongVector.fromArray(SPECIES, values, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < values.length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(long[] values) {
+        LongVector acc = LongVector.broadcast(SPECIES, Long.MIN_VALUE);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(values.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(LongVector.fromArray(SPECIES, values, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < values.length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long dot(long[] a, long[] b) {
+        LongVector acc = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += SPECIES.length()) {
+            LongVector va = LongVector.fromArray(SPECIES, a, i);
+            LongVector vb = LongVector.fromArray(SPECIES, b, i);
+            acc = acc.add(va.mul(vb));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean add(long[] a, long[] b, long[] out) {
+        LongVector overflow = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += SPECIES.length()) {
+            LongVector va = LongVector.fromArray(SPECIES, a, i);
+            LongVector vb = LongVector.fromArray(SPECIES, b, i);
+            LongVector r = va.add(vb);
+            overflow = overflow.or(va.lanewise(VectorOperators.XOR, r).and(vb.lanewise(VectorOperators.XOR, r)));
+            r.intoArray(out, i);
+        }
+        long flags = overflow.reduceLanes(VectorOperators.OR);
+        for (; i < a.length; i++) {
+            long r = a[i] + b[i];
+            flags |= (a[i] ^ r) & (b[i] ^ r);
+            out[i] = r;
+        }
+        return flags >= 0;
+    }
+
+    @Override
+    public void scale(long[] values, long factor, long[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(values.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, values, i).mul(factor).intoArray(out, i);
+        }
+        for (; i < values.length; i++) {
+            out[i] = values[i] * factor;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package interpreter.lexer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 input read straight out of a (typically memory-mapped) buffer. ASCII bytes are returned as
+ * they are; multi-byte sequences are decoded on the fly, with anything outside the BMP or malformed
+ * showing up as {@code U+FFFD}. Offsets are byte offsets from the buffer's position.
+ */
+final class ByteBufferInput implements LexerInput {
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private static final ByteScanner SCANNER = ByteScanner.load();
+
+    private final ByteBuffer bytes;
+    private final int limit;
+    private byte[] scratch = new byte[64];
+
+    ByteBufferInput(ByteBuffer buffer) {
+        this.bytes = buffer.slice();
+        this.limit = bytes.limit();
+    }
+
+    @Override
+    public char charAt(int offset) {
+        if (offset >= limit) {
+            return 0;
+        }
+        byte b = bytes.get(offset);
+        return b >= 0 ? (char) b : decode(offset, b);
+    }
+
+    @Override
+    public int next(int offset) {
+        if (offset >= limit) {
+            return offset + 1;
+        }
+        return Math.min(offset + sequenceLength(bytes.get(offset)), limit);
+    }
+
+    @Override
+    public String text(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        bytes.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int skip(Run run, int offset) {
+        if (offset >= limit) {
+            return offset;
+        }
+        return switch (run) {
+            case WHITESPACE -> SCANNER.skipWhitespace(bytes, offset, limit);
+            case LETTERS -> SCANNER.skipLetters(bytes, offset, limit);
+            case DIGITS -> SCANNER.skipDigits(bytes, offset, limit);
+            case STRING_BODY -> SCANNER.skipStringBody(bytes, offset, limit);
+        };
+    }
+
+    private char decode(int offset, byte lead) {
+        int length = sequenceLength(lead);
+        if (length == 1 || length == 4 || offset + length > limit) {
+            return REPLACEMENT;
+        }
+        int value = lead & (length == 2 ? 0x1F : 0x0F);
+        for (int i = 1; i < length; i++) {
+            byte continuation = bytes.get(offset + i);
+            if ((continuation & 0xC0) != 0x80) {
+                return REPLACEMENT;
+            }
+            value = (value << 6) | (continuation & 0x3F);
+        }
+        return (char) value;
+    }
+
+    private static int sequenceLength(byte lead) {
+        if (lead >= 0) {
+            return 1;
+        }
+        if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        }
+        if ((lead & 0xF0) == 0xE0) {
+            return 3;
+        }
+        if ((lead & 0xF8) == 0xF0) {
+            return 4;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,44 @@
+package interpreter.lexer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bulk scans over UTF-8 source bytes used by {@link ByteBufferInput}. Each scan returns the index of
+ * the first byte in {@code [from, to)} that ends the run, or {@code to}. Runs of whitespace, letters
+ * and digits only cover ASCII and stop at the first byte of a multi-byte sequence, leaving it to
+ * the lexer's per-character loops.
+ */
+interface ByteScanner {
+
+    int skipWhitespace(ByteBuffer bytes, int from, int to);
+
+    /**
+     * Skips ASCII letters and underscores.
+     */
+    int skipLetters(ByteBuffer bytes, int from, int to);
+
+    int skipDigits(ByteBuffer bytes, int from, int to);
+
+    /**
+     * Skips to the next {@code '"'} or NUL byte. Bytes of multi-byte sequences never match either,
+     * so this covers non-ASCII string contents as well.
+     */
+    int skipStringBody(ByteBuffer bytes, int from, int to);
+
+    /**
+     * Uses the Vector API implementation when the {@code jdk.incubator.vector} module has been
+     * added to the boot layer, and plain loops otherwise.
+     */
+    static ByteScanner load() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (ByteScanner) Class.forName("interpreter.lexer.VectorByteScanner")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall back to the scalar loops below
+            }
+        }
+        return new ScalarByteScanner();
+    }
+}
@@ -3,65 +3,109 @@ package interpreter.lexer;
 import interpreter.token.Token;
 import interpreter.token.TokenType;
 
-public class Lexer {
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
-    private final String input;
+public class Lexer implements TokenSource {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final LexerInput input;
     private int position;
     private int readPosition;
+    private int tokenStart;
     private char ch;
 
     public Lexer(String input) {
+        this(new StringInput(input));
+    }
+
+    /**
+     * Lexes UTF-8 encoded source held in {@code buffer}; token offsets are byte offsets.
+     */
+    public Lexer(ByteBuffer buffer) {
+        this(new ByteBufferInput(buffer));
+    }
+
+    public Lexer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Lexes characters pulled from {@code reader}, keeping at most about {@code bufferSize} of them
+     * in memory at a time.
+     */
+    public Lexer(Reader reader, int bufferSize) {
+        this(new ReaderInput(reader, bufferSize));
+    }
+
+    private Lexer(LexerInput input) {
         this.input = input;
         readChar();
     }
 
+    /**
+     * Memory-maps the UTF-8 file at {@code path} and lexes it in place.
+     */
+    public static Lexer fromFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Lexer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Offset in the input where the most recently returned token starts.
+     */
+    @Override
+    public int offset() {
+        return tokenStart;
+    }
+
+    @Override
+    public CharSequence source() {
+        return input.source();
+    }
+
+    @Override
     public Token nextToken() {
         Token token;
         skipWitheSpace();
+        tokenStart = position;
+        input.discard(position);
         switch (ch) {
             case '=' -> {
                 if (peekChar() == '=') {
-                    char current = ch;
                     readChar();
-                    String literal = String.join("",Character.toString(current), Character.toString(ch));
-                    token = new Token(TokenType.EQ, literal);
+                    token = fixed(TokenType.EQ);
                 } else {
-                    token = new Token(TokenType.ASSIGN, Character.toString(ch));
+                    token = fixed(TokenType.ASSIGN);
                 }
             }
-            case '+' -> token = new Token(TokenType.PLUS, Character.toString(ch));
-            case '-' -> token = new Token(TokenType.MINUS, Character.toString(ch));
             case '!' -> {
                 if (peekChar() == '=') {
-                    char current = ch;
                     readChar();
-                    String literal = String.join("",Character.toString(current), Character.toString(ch));
-                    token = new Token(TokenType.NOT_EQ, literal);
+                    token = fixed(TokenType.NOT_EQ);
                 } else {
-                    token = new Token(TokenType.BANG, Character.toString(ch));
+                    token = fixed(TokenType.BANG);
                 }
             }
-            case '/' -> token = new Token(TokenType.SLASH, Character.toString(ch));
-            case '*' -> token = new Token(TokenType.ASTERISK, Character.toString(ch));
-            case '<' -> token = new Token(TokenType.LT, Character.toString(ch));
-            case '>' -> token = new Token(TokenType.GT, Character.toString(ch));
-            case ';' -> token = new Token(TokenType.SEMICOLON, Character.toString(ch));
-            case ',' -> token = new Token(TokenType.COMMA, Character.toString(ch));
-            case '(' -> token = new Token(TokenType.LPAREN, Character.toString(ch));
-            case ')' -> token = new Token(TokenType.RPAREN, Character.toString(ch));
-            case '{' -> token = new Token(TokenType.LBRACE, Character.toString(ch));
-            case '}' -> token = new Token(TokenType.RBRACE, Character.toString(ch));
             case '"' -> token = new Token(TokenType.STRING, readString());
-            case '[' -> token = new Token(TokenType.LBRACKET, Character.toString(ch));
-            case ']' -> token = new Token(TokenType.RBRACKET, Character.toString(ch));
-            case ':' -> token = new Token(TokenType.COLON, Character.toString(ch));
-            case 0 -> token = new Token(TokenType.EOF, "");
+            case 0 -> token = fixed(TokenType.EOF);
             default -> {
-                if (isLetter(ch)) {
+                TokenType punctuation = LexerTables.punctuation(ch);
+                if (punctuation != null) {
+                    token = fixed(punctuation);
+                } else if (isLetter(ch)) {
                     String literal = readIdentifier();
-                    return new Token(Token.lookupIdent(literal), literal);
-                } else if (Character.isDigit(ch)) {
-                    return new Token(TokenType.INT, readNumber());
+                    return new Token(LexerTables.keyword(literal, 0, literal.length()), literal);
+                } else if (LexerTables.isDigit(ch)) {
+                    String literal = readNumber();
+                    TokenType type = literal.indexOf('.') >= 0 ? TokenType.FLOAT : TokenType.INT;
+                    return new Token(type, literal);
                 } else {
                     token = new Token(TokenType.ILLEGAL, Character.toString(ch));
                 }
@@ -71,56 +115,78 @@ public class Lexer {
         return token;
     }
 
+    private static Token fixed(TokenType type) {
+        return new Token(type, LexerTables.literal(type));
+    }
+
     private String readString() {
         int start = position;
-        do {
+        readChar();
+        skip(LexerInput.Run.STRING_BODY);
+        while (ch != '"' && ch != 0) {
             readChar();
-        } while (ch != '"' && ch != 0);
+        }
 
-        return input.substring(start+1, position);
+        return input.text(start+1, position);
     }
 
     private String readNumber() {
         int startPosition = position;
-        while (Character.isDigit(ch)) {
+        skip(LexerInput.Run.DIGITS);
+        while (LexerTables.isDigit(ch)) {
+            readChar();
+        }
+        if (ch == '.' && LexerTables.isDigit(peekChar())) {
             readChar();
+            skip(LexerInput.Run.DIGITS);
+            while (LexerTables.isDigit(ch)) {
+                readChar();
+            }
         }
-        return input.substring(startPosition, position);
+        return input.text(startPosition, position);
     }
 
     private String readIdentifier() {
         int startPosition = position;
+        skip(LexerInput.Run.LETTERS);
         while (isLetter(ch)) {
             readChar();
         }
-        return input.substring(startPosition, position);
+        return input.text(startPosition, position);
     }
 
-    private Boolean isLetter(char ch) {
-        return Character.isLetter(ch) || ch == '_';
+    private boolean isLetter(char ch) {
+        return LexerTables.isLetter(ch);
     }
 
     private void readChar() {
-        if (readPosition >= input.length()) {
-            ch = 0;
-        } else {
-            ch = input.charAt(readPosition);
-        }
+        ch = input.charAt(readPosition);
         position = readPosition;
-        readPosition++;
+        readPosition = input.next(readPosition);
+    }
+
+    /**
+     * Moves past the longest run the input can scan in bulk. Whatever it stops at is left to the
+     * caller's per-character loop.
+     */
+    private void skip(LexerInput.Run run) {
+        int end = input.skip(run, position);
+        while (end > position) {
+            ch = input.charAt(end);
+            position = end;
+            readPosition = input.next(end);
+            end = input.skip(run, position);
+        }
     }
 
     private void skipWitheSpace() {
-        while (Character.isWhitespace(ch)) {
+        skip(LexerInput.Run.WHITESPACE);
+        while (LexerTables.isWhitespace(ch)) {
             readChar();
         }
     }
 
     private char peekChar() {
-        if (readPosition >= input.length()) {
-            return 0;
-        } else {
-            return input.charAt(readPosition);
-        }
+        return input.charAt(readPosition);
     }
 }
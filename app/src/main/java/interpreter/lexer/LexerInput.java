@@ -0,0 +1,62 @@
+package interpreter.lexer;
+
+/**
+ * Character source for the {@link Lexer}. Offsets are positions in the underlying input: chars for
+ * strings and readers, bytes for encoded buffers, so they can be reported as-is in error messages.
+ */
+interface LexerInput {
+
+    /**
+     * Returns the character at {@code offset}, or {@code 0} at or past the end of the input.
+     */
+    char charAt(int offset);
+
+    /**
+     * Returns the offset of the character following the one at {@code offset}.
+     */
+    default int next(int offset) {
+        return offset + 1;
+    }
+
+    String text(int start, int end);
+
+    /**
+     * The whole input as characters indexed by offset, or null if it is not held that way.
+     */
+    default CharSequence source() {
+        return null;
+    }
+
+    /**
+     * Tells the input that nothing before {@code offset} will be asked for again.
+     */
+    default void discard(int offset) {
+    }
+
+    /**
+     * Returns the offset of the first character at or after {@code offset} that ends {@code run}.
+     * Inputs may stop early, at the first non-ASCII character or the end of what is buffered; the
+     * lexer finishes the run one character at a time from there.
+     */
+    default int skip(Run run, int offset) {
+        return offset;
+    }
+
+    enum Run {
+        WHITESPACE, LETTERS, DIGITS, STRING_BODY;
+
+        boolean contains(char c) {
+            if (this == STRING_BODY) {
+                return c != '"' && c != 0;
+            }
+            if (c >= 128) {
+                return false;
+            }
+            return switch (this) {
+                case WHITESPACE -> LexerTables.isWhitespace(c);
+                case LETTERS -> LexerTables.isLetter(c);
+                default -> LexerTables.isDigit(c);
+            };
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package interpreter.lexer;
+
+import interpreter.token.TokenType;
+
+/**
+ * Lookup tables shared by the lexers. ASCII characters are classified with a single array load;
+ * anything above 127 falls back to {@link Character}. Keywords are recognized by length and
+ * characters, without building a String or consulting a map.
+ */
+final class LexerTables {
+
+    private static final byte WHITESPACE = 1;
+    private static final byte LETTER = 2;
+    private static final byte DIGIT = 4;
+
+    private static final byte[] ASCII_CLASSES = new byte[128];
+    private static final TokenType[] ASCII_PUNCTUATION = new TokenType[128];
+    private static final String[] LITERALS = new String[TokenType.values().length];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            byte classes = 0;
+            if (Character.isWhitespace(c)) {
+                classes |= WHITESPACE;
+            }
+            if (Character.isLetter(c) || c == '_') {
+                classes |= LETTER;
+            }
+            if (Character.isDigit(c)) {
+                classes |= DIGIT;
+            }
+            ASCII_CLASSES[c] = classes;
+        }
+
+        punctuation('=', TokenType.ASSIGN);
+        punctuation('+', TokenType.PLUS);
+        punctuation('-', TokenType.MINUS);
+        punctuation('!', TokenType.BANG);
+        punctuation('/', TokenType.SLASH);
+        punctuation('*', TokenType.ASTERISK);
+        punctuation('<', TokenType.LT);
+        punctuation('>', TokenType.GT);
+        punctuation(';', TokenType.SEMICOLON);
+        punctuation(',', TokenType.COMMA);
+        punctuation('(', TokenType.LPAREN);
+        punctuation(')', TokenType.RPAREN);
+        punctuation('{', TokenType.LBRACE);
+        punctuation('}', TokenType.RBRACE);
+        punctuation('[', TokenType.LBRACKET);
+        punctuation(']', TokenType.RBRACKET);
+        punctuation(':', TokenType.COLON);
+
+        LITERALS[TokenType.EQ.ordinal()] = "==";
+        LITERALS[TokenType.NOT_EQ.ordinal()] = "!=";
+        LITERALS[TokenType.EOF.ordinal()] = "";
+        LITERALS[TokenType.FUNCTION.ordinal()] = "fn";
+        LITERALS[TokenType.LET.ordinal()] = "let";
+        LITERALS[TokenType.TRUE.ordinal()] = "true";
+        LITERALS[TokenType.FALSE.ordinal()] = "false";
+        LITERALS[TokenType.IF.ordinal()] = "if";
+        LITERALS[TokenType.ELSE.ordinal()] = "else";
+        LITERALS[TokenType.RETURN.ordinal()] = "return";
+    }
+
+    private LexerTables() {
+    }
+
+    private static void punctuation(char c, TokenType type) {
+        ASCII_PUNCTUATION[c] = type;
+        LITERALS[type.ordinal()] = String.valueOf(c).intern();
+    }
+
+    static boolean isWhitespace(char c) {
+        return c < 128 ? (ASCII_CLASSES[c] & WHITESPACE) != 0 : Character.isWhitespace(c);
+    }
+
+    static boolean isLetter(char c) {
+        return c < 128 ? (ASCII_CLASSES[c] & LETTER) != 0 : Character.isLetter(c);
+    }
+
+    static boolean isDigit(char c) {
+        return c < 128 ? (ASCII_CLASSES[c] & DIGIT) != 0 : Character.isDigit(c);
+    }
+
+    /**
+     * The single-character token starting with {@code c}, or null if there is none.
+     */
+    static TokenType punctuation(char c) {
+        return c < 128 ? ASCII_PUNCTUATION[c] : null;
+    }
+
+    /**
+     * The fixed text of operators, punctuation and keywords; null for tokens whose text varies.
+     */
+    static String literal(TokenType type) {
+        return LITERALS[type.ordinal()];
+    }
+
+    static TokenType keyword(CharSequence source, int start, int end) {
+        switch (end - start) {
+            case 2 -> {
+                if (matches(source, start, "fn")) {
+                    return TokenType.FUNCTION;
+                }
+                if (matches(source, start, "if")) {
+                    return TokenType.IF;
+                }
+            }
+            case 3 -> {
+                if (matches(source, start, "let")) {
+                    return TokenType.LET;
+                }
+            }
+            case 4 -> {
+                if (matches(source, start, "true")) {
+                    return TokenType.TRUE;
+                }
+                if (matches(source, start, "else")) {
+                    return TokenType.ELSE;
+                }
+            }
+            case 5 -> {
+                if (matches(source, start, "false")) {
+                    return TokenType.FALSE;
+                }
+            }
+            case 6 -> {
+                if (matches(source, start, "return")) {
+                    return TokenType.RETURN;
+                }
+            }
+        }
+        return TokenType.IDENT;
+    }
+
+    private static boolean matches(CharSequence source, int start, String keyword) {
+        for (int i = 0; i < keyword.length(); i++) {
+            if (source.charAt(start + i) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package interpreter.lexer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Input pulled from a {@link Reader} through a sliding window. Characters before the start of the
+ * current token are dropped when the window fills up, so memory stays at the buffer size unless a
+ * single token is longer than that, in which case the window grows to hold it.
+ */
+final class ReaderInput implements LexerInput {
+
+    private final Reader reader;
+    private char[] buffer;
+    // absolute offset of buffer[0]
+    private int bufferStart;
+    private int filled;
+    private int keepFrom;
+    private boolean eof;
+
+    ReaderInput(Reader reader, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public char charAt(int offset) {
+        while (offset >= bufferStart + filled) {
+            if (!fill()) {
+                return 0;
+            }
+        }
+        return buffer[offset - bufferStart];
+    }
+
+    @Override
+    public String text(int start, int end) {
+        return new String(buffer, start - bufferStart, end - start);
+    }
+
+    @Override
+    public void discard(int offset) {
+        keepFrom = offset;
+    }
+
+    @Override
+    public int skip(Run run, int offset) {
+        if (charAt(offset) == 0) {
+            return offset;
+        }
+        int i = offset - bufferStart;
+        while (i < filled && run.contains(buffer[i])) {
+            i++;
+        }
+        return bufferStart + i;
+    }
+
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        if (filled == buffer.length) {
+            int dropped = keepFrom - bufferStart;
+            if (dropped > 0) {
+                System.arraycopy(buffer, dropped, buffer, 0, filled - dropped);
+                filled -= dropped;
+                bufferStart = keepFrom;
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        int read;
+        try {
+            read = reader.read(buffer, filled, buffer.length - filled);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        filled += read;
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+package interpreter.lexer;
+
+import java.nio.ByteBuffer;
+
+final class ScalarByteScanner implements ByteScanner {
+
+    @Override
+    public int skipWhitespace(ByteBuffer bytes, int from, int to) {
+        return skip(LexerInput.Run.WHITESPACE, bytes, from, to);
+    }
+
+    @Override
+    public int skipLetters(ByteBuffer bytes, int from, int to) {
+        return skip(LexerInput.Run.LETTERS, bytes, from, to);
+    }
+
+    @Override
+    public int skipDigits(ByteBuffer bytes, int from, int to) {
+        return skip(LexerInput.Run.DIGITS, bytes, from, to);
+    }
+
+    @Override
+    public int skipStringBody(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i < to) {
+            byte b = bytes.get(i);
+            if (b == '"' || b == 0) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skip(LexerInput.Run run, ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i < to) {
+            byte b = bytes.get(i);
+            if (b < 0 || !run.contains((char) b)) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
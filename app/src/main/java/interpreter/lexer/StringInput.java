@@ -0,0 +1,34 @@
+package interpreter.lexer;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+final class StringInput implements LexerInput {
+
+    private final String input;
+
+    @Override
+    public char charAt(int offset) {
+        return offset < input.length() ? input.charAt(offset) : 0;
+    }
+
+    @Override
+    public CharSequence source() {
+        return input;
+    }
+
+    @Override
+    public String text(int start, int end) {
+        return input.substring(start, end);
+    }
+
+    @Override
+    public int skip(Run run, int offset) {
+        int length = input.length();
+        int i = offset;
+        while (i < length && run.contains(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,28 @@
+package interpreter.lexer;
+
+import interpreter.token.Token;
+
+/**
+ * Anything the parser can pull tokens from. After the end of the input every call returns an
+ * {@code EOF} token.
+ */
+@FunctionalInterface
+public interface TokenSource {
+    Token nextToken();
+
+    /**
+     * Offset in the input where the most recently returned token starts, or {@code -1} if the
+     * source does not track positions.
+     */
+    default int offset() {
+        return -1;
+    }
+
+    /**
+     * The text that {@link #offset()} indexes into, or null if it is not held in memory as
+     * characters.
+     */
+    default CharSequence source() {
+        return null;
+    }
+}
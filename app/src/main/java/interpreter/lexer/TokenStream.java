@@ -0,0 +1,188 @@
+package interpreter.lexer;
+
+import interpreter.token.Token;
+import interpreter.token.TokenType;
+
+import java.util.Arrays;
+
+/**
+ * The tokens of a whole source, stored as parallel primitive arrays: the kind ordinal plus the start
+ * and end offset of each token in the source. The arrays are filled in fixed-size chunks, so growing
+ * never copies earlier tokens and tokenizing allocates nothing per token; text is only cut out of the
+ * source when {@link #text(int)} is asked for it, e.g. by the parser for identifiers and literals.
+ * <p>
+ * The token sequence is the same as the one produced by {@link Lexer}, ending with a single
+ * {@code EOF} token.
+ */
+public final class TokenStream {
+
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final CharSequence source;
+    private byte[][] kinds = new byte[4][];
+    private int[][] starts = new int[4][];
+    private int[][] ends = new int[4][];
+    private int count;
+
+    private TokenStream(CharSequence source) {
+        this.source = source;
+    }
+
+    public static TokenStream tokenize(CharSequence source) {
+        TokenStream tokens = new TokenStream(source);
+        int length = source.length();
+        int pos = 0;
+
+        while (true) {
+            while (pos < length && LexerTables.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= length || source.charAt(pos) == 0) {
+                tokens.add(TokenType.EOF, pos, pos);
+                return tokens;
+            }
+
+            int start = pos;
+            char c = source.charAt(pos);
+            TokenType punctuation = LexerTables.punctuation(c);
+
+            if (punctuation != null) {
+                pos++;
+                if ((c == '=' || c == '!') && pos < length && source.charAt(pos) == '=') {
+                    pos++;
+                    punctuation = c == '=' ? TokenType.EQ : TokenType.NOT_EQ;
+                }
+                tokens.add(punctuation, start, pos);
+            } else if (c == '"') {
+                pos++;
+                while (pos < length && source.charAt(pos) != '"' && source.charAt(pos) != 0) {
+                    pos++;
+                }
+                if (pos < length && source.charAt(pos) == '"') {
+                    pos++;
+                }
+                tokens.add(TokenType.STRING, start, pos);
+            } else if (LexerTables.isLetter(c)) {
+                while (pos < length && LexerTables.isLetter(source.charAt(pos))) {
+                    pos++;
+                }
+                tokens.add(LexerTables.keyword(source, start, pos), start, pos);
+            } else if (LexerTables.isDigit(c)) {
+                while (pos < length && LexerTables.isDigit(source.charAt(pos))) {
+                    pos++;
+                }
+                TokenType type = TokenType.INT;
+                if (pos + 1 < length && source.charAt(pos) == '.' && LexerTables.isDigit(source.charAt(pos + 1))) {
+                    pos++;
+                    while (pos < length && LexerTables.isDigit(source.charAt(pos))) {
+                        pos++;
+                    }
+                    type = TokenType.FLOAT;
+                }
+                tokens.add(type, start, pos);
+            } else {
+                pos++;
+                tokens.add(TokenType.ILLEGAL, start, pos);
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public TokenType type(int index) {
+        return TYPES[kinds[index >>> CHUNK_SHIFT][index & CHUNK_MASK]];
+    }
+
+    public int start(int index) {
+        return starts[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int end(int index) {
+        return ends[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * The token's text as the classic lexer reports it: string literals without their quotes, fixed
+     * tokens as a shared constant, everything else cut out of the source.
+     */
+    public String text(int index) {
+        TokenType type = type(index);
+        String fixed = LexerTables.literal(type);
+        if (fixed != null) {
+            return fixed;
+        }
+        int start = start(index);
+        int end = end(index);
+        if (type == TokenType.STRING) {
+            start++;
+            if (end > start && source.charAt(end - 1) == '"') {
+                end--;
+            }
+        }
+        return source.subSequence(start, end).toString();
+    }
+
+    public Token token(int index) {
+        return new Token(type(index), text(index));
+    }
+
+    /**
+     * A token source reading this stream from the start; the parser accepts it in place of a
+     * {@link Lexer}.
+     */
+    public TokenSource reader() {
+        return new TokenSource() {
+            private int next;
+            private int last;
+
+            @Override
+            public Token nextToken() {
+                last = next;
+                Token token = token(next);
+                if (next < count - 1) {
+                    next++;
+                }
+                return token;
+            }
+
+            @Override
+            public int offset() {
+                return start(last);
+            }
+
+            @Override
+            public CharSequence source() {
+                return source;
+            }
+        };
+    }
+
+    private void add(TokenType type, int start, int end) {
+        int chunk = count >>> CHUNK_SHIFT;
+        int slot = count & CHUNK_MASK;
+        if (slot == 0) {
+            if (chunk == kinds.length) {
+                kinds = Arrays.copyOf(kinds, chunk * 2);
+                starts = Arrays.copyOf(starts, chunk * 2);
+                ends = Arrays.copyOf(ends, chunk * 2);
+            }
+            kinds[chunk] = new byte[CHUNK_SIZE];
+            starts[chunk] = new int[CHUNK_SIZE];
+            ends[chunk] = new int[CHUNK_SIZE];
+        }
+        kinds[chunk][slot] = (byte) type.ordinal();
+        starts[chunk][slot] = start;
+        ends[chunk][slot] = end;
+        count++;
+    }
+}
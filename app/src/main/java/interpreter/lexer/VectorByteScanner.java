@@ -0,0 +1,87 @@
+package interpreter.lexer;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link ByteScanner} on top of {@code jdk.incubator.vector}: each step loads a whole vector of
+ * bytes, builds the mask of bytes that end the run and jumps to its first set lane. Only loaded by
+ * {@link ByteScanner#load()} once the module is known to be present.
+ */
+final class VectorByteScanner implements ByteScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private final ScalarByteScanner tail = new ScalarByteScanner();
+
+    @Override
+    public int skipWhitespace(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        for (int bound = to - SPECIES.length(); i <= bound; i += SPECIES.length()) {
+            ByteVector v = load(bytes, i);
+            // the ASCII whitespace characters are 9..13, 28..32
+            VectorMask<Byte> whitespace = v.compare(VectorOperators.GE, (byte) 9)
+                    .and(v.compare(VectorOperators.LE, (byte) 13))
+                    .or(v.compare(VectorOperators.GE, (byte) 28).and(v.compare(VectorOperators.LE, (byte) 32)));
+            VectorMask<Byte> stop = whitespace.not();
+            if (stop.anyTrue()) {
+                return i + stop.firstTrue();
+            }
+        }
+        return tail.skipWhitespace(bytes, i, to);
+    }
+
+    @Override
+    public int skipLetters(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        for (int bound = to - SPECIES.length(); i <= bound; i += SPECIES.length()) {
+            ByteVector v = load(bytes, i);
+            ByteVector lower = v.or((byte) 0x20);
+            VectorMask<Byte> letters = lower.compare(VectorOperators.GE, (byte) 'a')
+                    .and(lower.compare(VectorOperators.LE, (byte) 'z'))
+                    .or(v.eq((byte) '_'));
+            VectorMask<Byte> stop = letters.not();
+            if (stop.anyTrue()) {
+                return i + stop.firstTrue();
+            }
+        }
+        return tail.skipLetters(bytes, i, to);
+    }
+
+    @Override
+    public int skipDigits(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        for (int bound = to - SPECIES.length(); i <= bound; i += SPECIES.length()) {
+            ByteVector v = load(bytes, i);
+            VectorMask<Byte> digits = v.compare(VectorOperators.GE, (byte) '0')
+                    .and(v.compare(VectorOperators.LE, (byte) '9'));
+            VectorMask<Byte> stop = digits.not();
+            if (stop.anyTrue()) {
+                return i + stop.firstTrue();
+            }
+        }
+        return tail.skipDigits(bytes, i, to);
+    }
+
+    @Override
+    public int skipStringBody(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        for (int bound = to - SPECIES.length(); i <= bound; i += SPECIES.length()) {
+            ByteVector v = load(bytes, i);
+            VectorMask<Byte> stop = v.eq((byte) '"').or(v.eq((byte) 0));
+            if (stop.anyTrue()) {
+                return i + stop.firstTrue();
+            }
+        }
+        return tail.skipStringBody(bytes, i, to);
+    }
+
+    private static ByteVector load(ByteBuffer bytes, int offset) {
+        return ByteVector.fromByteBuffer(SPECIES, bytes, offset, ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,6 @@
+package interpreter.monkey.objects;
+
+@FunctionalInterface
+public interface BuiltinFunction {
+    MonkeyObject apply(FunctionApplier applier, MonkeyObject[] args);
+}
@@ -0,0 +1,11 @@
+package interpreter.monkey.objects;
+
+/**
+ * A function value prepared for being called many times in a row, e.g. once per element by a
+ * builtin. Arguments are passed directly instead of through a fresh array on every call.
+ */
+public interface Callback {
+    MonkeyObject call(MonkeyObject arg);
+
+    MonkeyObject call(MonkeyObject first, MonkeyObject second);
+}
@@ -0,0 +1,27 @@
+package interpreter.monkey.objects;
+
+/**
+ * Calls a Monkey function value with already evaluated arguments. Handed to builtins so that they
+ * can call back into the evaluator, e.g. for user supplied callbacks.
+ */
+@FunctionalInterface
+public interface FunctionApplier {
+    MonkeyObject apply(MonkeyObject fn, MonkeyObject[] args);
+
+    /**
+     * Prepares {@code fn} for repeated calls. The default simply goes through {@link #apply}.
+     */
+    default Callback callback(MonkeyObject fn) {
+        return new Callback() {
+            @Override
+            public MonkeyObject call(MonkeyObject arg) {
+                return apply(fn, new MonkeyObject[]{arg});
+            }
+
+            @Override
+            public MonkeyObject call(MonkeyObject first, MonkeyObject second) {
+                return apply(fn, new MonkeyObject[]{first, second});
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package interpreter.monkey.objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigInteger;
+
+/**
+ * Integer that does not fit in 64 bits. Arithmetic results are created through {@link #of} so that
+ * a value is only held here when it cannot be a {@link MonkeyInteger}; equal numbers therefore
+ * always have the same representation and hash key.
+ */
+@AllArgsConstructor
+@Getter
+public class MonkeyBigInteger implements MonkeyObject, Hashable {
+    public static String BIG_INTEGER_KEY = "BIG_INTEGER";
+
+    private BigInteger value;
+
+    public static MonkeyObject of(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return MonkeyInteger.valueOf(value.longValue());
+        }
+        return new MonkeyBigInteger(value);
+    }
+
+    @Override
+    public String type() {
+        return MonkeyInteger.MONKEY_INT;
+    }
+
+    @Override
+    public String inspect() {
+        return value.toString();
+    }
+
+    public MonkeyHashKey hashKey() {
+        if (value.bitLength() < Long.SIZE) {
+            return new MonkeyHashKey(type(), value.longValue());
+        }
+        return new MonkeyHashKey(BIG_INTEGER_KEY, FNVHash.fnv1a64(value.toByteArray()));
+    }
+}
@@ -0,0 +1,71 @@
+package interpreter.monkey.objects;
+
+/**
+ * Fixed-size buffer of primitive elements stored off-heap in an {@link OffHeapMemory} block.
+ * Slices are views over the same block, so freeing any of them invalidates all of them.
+ * Unlike the other Monkey values buffers are mutable.
+ */
+public abstract class MonkeyBuffer implements MonkeyObject {
+    private static final int INSPECT_LIMIT = 16;
+
+    protected final OffHeapMemory memory;
+    protected final long offset;
+    protected final long length;
+
+    protected MonkeyBuffer(OffHeapMemory memory, long offset, long length) {
+        this.memory = memory;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public OffHeapMemory getMemory() {
+        return memory;
+    }
+
+    public boolean isFreed() {
+        return memory.isFreed();
+    }
+
+    public void free() {
+        memory.free();
+    }
+
+    public boolean inBounds(long index) {
+        return index >= 0 && index < length;
+    }
+
+    public abstract long get(long index);
+
+    public abstract void put(long index, long value);
+
+    /**
+     * Whether {@code value} can be stored without truncation.
+     */
+    public abstract boolean accepts(long value);
+
+    public abstract MonkeyBuffer slice(long from, long to);
+
+    @Override
+    public String inspect() {
+        String name = type().toLowerCase();
+        if (isFreed()) {
+            return name + "(freed)";
+        }
+
+        StringBuilder out = new StringBuilder(name).append("[");
+        for (long i = 0; i < Math.min(length, INSPECT_LIMIT); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(get(i));
+        }
+        if (length > INSPECT_LIMIT) {
+            out.append(", ... ").append(length - INSPECT_LIMIT).append(" more");
+        }
+        return out.append("]").toString();
+    }
+}
@@ -10,7 +10,11 @@ import java.util.function.Function;
 public class MonkeyBuiltin implements MonkeyObject{
     public static String BUILTIN_OBJ = "BUILTIN";
 
-    private Function<MonkeyObject[], MonkeyObject> builtinFunction;
+    private BuiltinFunction builtinFunction;
+
+    public MonkeyBuiltin(Function<MonkeyObject[], MonkeyObject> builtinFunction) {
+        this.builtinFunction = (applier, args) -> builtinFunction.apply(args);
+    }
 
     @Override
     public String type() {
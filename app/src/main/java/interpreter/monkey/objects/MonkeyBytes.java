@@ -0,0 +1,41 @@
+package interpreter.monkey.objects;
+
+/**
+ * Off-heap buffer of unsigned bytes.
+ */
+public class MonkeyBytes extends MonkeyBuffer {
+    public static String BYTES_OBJ = "BYTES";
+
+    public MonkeyBytes(long length) {
+        super(new OffHeapMemory(Math.max(length, 1)), 0, length);
+    }
+
+    private MonkeyBytes(OffHeapMemory memory, long offset, long length) {
+        super(memory, offset, length);
+    }
+
+    @Override
+    public String type() {
+        return BYTES_OBJ;
+    }
+
+    @Override
+    public long get(long index) {
+        return Byte.toUnsignedLong(memory.getByte(offset + index));
+    }
+
+    @Override
+    public void put(long index, long value) {
+        memory.putByte(offset + index, (byte) value);
+    }
+
+    @Override
+    public boolean accepts(long value) {
+        return value >= 0 && value <= 0xFF;
+    }
+
+    @Override
+    public MonkeyBuffer slice(long from, long to) {
+        return new MonkeyBytes(memory, offset + from, to - from);
+    }
+}
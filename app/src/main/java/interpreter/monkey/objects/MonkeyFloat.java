@@ -0,0 +1,39 @@
+package interpreter.monkey.objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Double-precision float. {@link #inspect()} uses {@link Double#toString(double)}. Floats with an
+ * integral value hash like the equal integer, so {@code 1.0} and {@code 1} are the same hash key,
+ * {@code -0.0} hashes like {@code 0.0} and every NaN shares one key.
+ */
+@AllArgsConstructor
+@Getter
+public class MonkeyFloat implements MonkeyObject, Hashable {
+    public static String MONKEY_FLOAT = "FLOAT";
+
+    private double value;
+
+    @Override
+    public String type() {
+        return MONKEY_FLOAT;
+    }
+
+    @Override
+    public String inspect() {
+        return Double.toString(value);
+    }
+
+    public MonkeyHashKey hashKey() {
+        if (Double.isFinite(value) && value == Math.rint(value)) {
+            if (value >= -0x1p63 && value < 0x1p63) {
+                return new MonkeyHashKey(MonkeyInteger.MONKEY_INT, (long) value);
+            }
+            return new MonkeyBigInteger(new BigDecimal(value).toBigInteger()).hashKey();
+        }
+        return new MonkeyHashKey(type(), Double.doubleToLongBits(value));
+    }
+}
@@ -0,0 +1,41 @@
+package interpreter.monkey.objects;
+
+/**
+ * Off-heap buffer of 64-bit integers.
+ */
+public class MonkeyIntBuffer extends MonkeyBuffer {
+    public static String INT_BUFFER_OBJ = "INT_BUFFER";
+
+    public MonkeyIntBuffer(long length) {
+        super(new OffHeapMemory(Math.multiplyExact(Math.max(length, 1), (long) Long.BYTES)), 0, length);
+    }
+
+    private MonkeyIntBuffer(OffHeapMemory memory, long offset, long length) {
+        super(memory, offset, length);
+    }
+
+    @Override
+    public String type() {
+        return INT_BUFFER_OBJ;
+    }
+
+    @Override
+    public long get(long index) {
+        return memory.getLong((offset + index) * Long.BYTES);
+    }
+
+    @Override
+    public void put(long index, long value) {
+        memory.putLong((offset + index) * Long.BYTES, value);
+    }
+
+    @Override
+    public boolean accepts(long value) {
+        return true;
+    }
+
+    @Override
+    public MonkeyBuffer slice(long from, long to) {
+        return new MonkeyIntBuffer(memory, offset + from, to - from);
+    }
+}
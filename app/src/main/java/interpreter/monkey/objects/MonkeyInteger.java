@@ -7,7 +7,28 @@ import lombok.Getter;
 @Getter
 public class MonkeyInteger implements MonkeyObject, Hashable {
     public static String MONKEY_INT = "INTEGER";
-    private int value;
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final MonkeyInteger[] CACHE = new MonkeyInteger[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new MonkeyInteger(CACHE_LOW + i);
+        }
+    }
+
+    private long value;
+
+    /**
+     * Returns a shared instance for small values, a new one otherwise.
+     */
+    public static MonkeyInteger valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new MonkeyInteger(value);
+    }
 
     @Override
     public String type() {
@@ -16,7 +37,7 @@ public class MonkeyInteger implements MonkeyObject, Hashable {
 
     @Override
     public String inspect() {
-        return Integer.toString(value);
+        return Long.toString(value);
     }
 
     public MonkeyHashKey hashKey() {
@@ -0,0 +1,43 @@
+package interpreter.monkey.objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+/**
+ * Lazy sequence of values. A sequence holds no elements itself, only a way to start pulling them: each
+ * {@link #cursor()} begins a new pass from the first element, so a sequence can be consumed more than
+ * once. Transformations wrap the upstream cursor, so a chain of them runs element by element as a
+ * single pipeline without intermediate arrays.
+ */
+@AllArgsConstructor
+@Getter
+public class MonkeySeq implements MonkeyObject {
+    public static String SEQ_OBJ = "SEQ";
+
+    private Supplier<Cursor> source;
+
+    public Cursor cursor() {
+        return source.get();
+    }
+
+    @Override
+    public String type() {
+        return SEQ_OBJ;
+    }
+
+    @Override
+    public String inspect() {
+        return "seq";
+    }
+
+    /**
+     * Pulls one element at a time. Returns null once the sequence is exhausted; a MonkeyError element
+     * ends the pass and is reported by whoever consumes it.
+     */
+    @FunctionalInterface
+    public interface Cursor {
+        MonkeyObject next();
+    }
+}
@@ -0,0 +1,294 @@
+package interpreter.monkey.objects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable set of hashable values, keyed by {@link MonkeyHashKey} like {@link MonkeyHash}. Builtins
+ * that modify a set return a new one and leave the original untouched.
+ * <p>
+ * The elements live in a persistent hash trie with 32-way branching, so {@link #with} and
+ * {@link #without} copy only the O(log32 n) nodes on the path to the changed element and share the
+ * rest with the original set. Every element remembers when it was added, so iteration still
+ * follows insertion order; {@link #getElements()} sorts by it and costs O(n log n).
+ */
+public class MonkeySet implements MonkeyObject {
+    public static String SET_OBJ = "SET";
+
+    public static final MonkeySet EMPTY = new MonkeySet(BitmapNode.EMPTY, 0, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+    private final int size;
+    // insertion stamp given to the next element added to this set
+    private final long nextStamp;
+
+    private MonkeySet(Node root, int size, long nextStamp) {
+        this.root = root;
+        this.size = size;
+        this.nextStamp = nextStamp;
+    }
+
+    /**
+     * A set of the values of {@code elements}, in the map's iteration order.
+     */
+    public MonkeySet(Map<MonkeyHashKey, MonkeyObject> elements) {
+        MonkeySet set = EMPTY;
+        for (var entry : elements.entrySet()) {
+            set = set.with(entry.getKey(), entry.getValue());
+        }
+        this.root = set.root;
+        this.size = set.size;
+        this.nextStamp = set.nextStamp;
+    }
+
+    public boolean contains(Hashable value) {
+        return containsKey(value.hashKey());
+    }
+
+    public boolean containsKey(MonkeyHashKey key) {
+        return root.find(key, key.hashCode(), 0) != null;
+    }
+
+    /**
+     * This set with {@code value} added under {@code key}, or this set if the key is already present.
+     */
+    public MonkeySet with(MonkeyHashKey key, MonkeyObject value) {
+        if (containsKey(key)) {
+            return this;
+        }
+        Entry entry = new Entry(key, value, nextStamp);
+        return new MonkeySet(root.put(entry, key.hashCode(), 0), size + 1, nextStamp + 1);
+    }
+
+    /**
+     * This set without {@code key}, or this set if the key is not present.
+     */
+    public MonkeySet without(MonkeyHashKey key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        return new MonkeySet(root.remove(key, key.hashCode(), 0), size - 1, nextStamp);
+    }
+
+    /**
+     * The elements in insertion order, as a new map.
+     */
+    public Map<MonkeyHashKey, MonkeyObject> getElements() {
+        List<Entry> entries = new ArrayList<>(size);
+        root.collect(entries);
+        entries.sort(Comparator.comparingLong(entry -> entry.stamp));
+
+        Map<MonkeyHashKey, MonkeyObject> elements = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            elements.put(entry.key, entry.value);
+        }
+        return elements;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String type() {
+        return SET_OBJ;
+    }
+
+    @Override
+    public String inspect() {
+        String out = "";
+
+        out += "set(";
+        out += getElements().values().stream().map(MonkeyObject::inspect).collect(Collectors.joining(", "));
+        out += ")";
+
+        return out;
+    }
+
+    private static final class Entry {
+        private final MonkeyHashKey key;
+        private final MonkeyObject value;
+        private final long stamp;
+
+        private Entry(MonkeyHashKey key, MonkeyObject value, long stamp) {
+            this.key = key;
+            this.value = value;
+            this.stamp = stamp;
+        }
+    }
+
+    private interface Node {
+        Entry find(MonkeyHashKey key, int hash, int shift);
+
+        // callers only put absent keys and remove present ones
+        Node put(Entry entry, int hash, int shift);
+
+        Node remove(MonkeyHashKey key, int hash, int shift);
+
+        void collect(List<Entry> out);
+    }
+
+    /**
+     * Inner node: bit {@code i} of the bitmap is set if the slot for hash digit {@code i} is in
+     * use, and slots holds either an Entry or a child Node for each set bit, in bit order.
+     */
+    private static final class BitmapNode implements Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        public Entry find(MonkeyHashKey key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Node) {
+                return ((Node) slot).find(key, hash, shift + BITS);
+            }
+            Entry entry = (Entry) slot;
+            return entry.key.equals(key) ? entry : null;
+        }
+
+        @Override
+        public Node put(Entry entry, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] updated = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, updated, 0, index);
+                updated[index] = entry;
+                System.arraycopy(slots, index, updated, index + 1, slots.length - index);
+                return new BitmapNode(bitmap | bit, updated);
+            }
+
+            Object slot = slots[index];
+            Node child;
+            if (slot instanceof Node) {
+                child = ((Node) slot).put(entry, hash, shift + BITS);
+            } else {
+                child = pair((Entry) slot, entry, hash, shift + BITS);
+            }
+            Object[] updated = slots.clone();
+            updated[index] = child;
+            return new BitmapNode(bitmap, updated);
+        }
+
+        @Override
+        public Node remove(MonkeyHashKey key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            Object slot = slots[index];
+            if (slot instanceof Node) {
+                Node child = ((Node) slot).remove(key, hash, shift + BITS);
+                Object[] updated = slots.clone();
+                // a child left with a single entry is pulled up into this node
+                updated[index] = child instanceof BitmapNode && ((BitmapNode) child).slots.length == 1
+                        && ((BitmapNode) child).slots[0] instanceof Entry ? ((BitmapNode) child).slots[0] : child;
+                return new BitmapNode(bitmap, updated);
+            }
+
+            Object[] updated = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, updated, 0, index);
+            System.arraycopy(slots, index + 1, updated, index, slots.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, updated);
+        }
+
+        @Override
+        public void collect(List<Entry> out) {
+            for (Object slot : slots) {
+                if (slot instanceof Node) {
+                    ((Node) slot).collect(out);
+                } else {
+                    out.add((Entry) slot);
+                }
+            }
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private static Node pair(Entry a, Entry b, int hash, int shift) {
+            int hashA = a.key.hashCode();
+            if (hashA == hash) {
+                return new CollisionNode(new Entry[]{a, b});
+            }
+            return EMPTY.put(a, hashA, shift).put(b, hash, shift);
+        }
+    }
+
+    /**
+     * Entries whose keys have the same 32-bit hash.
+     */
+    private static final class CollisionNode implements Node {
+        private final Entry[] entries;
+
+        private CollisionNode(Entry[] entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Entry find(MonkeyHashKey key, int hash, int shift) {
+            for (Entry entry : entries) {
+                if (entry.key.equals(key)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Node put(Entry entry, int hash, int shift) {
+            int shared = entries[0].key.hashCode();
+            if (hash != shared) {
+                // hashes differ further down; push this node one level deeper
+                BitmapNode parent = new BitmapNode(BitmapNode.bit(shared, shift), new Object[]{this});
+                return parent.put(entry, hash, shift);
+            }
+            Entry[] updated = Arrays.copyOf(entries, entries.length + 1);
+            updated[entries.length] = entry;
+            return new CollisionNode(updated);
+        }
+
+        @Override
+        public Node remove(MonkeyHashKey key, int hash, int shift) {
+            if (entries.length == 2) {
+                Entry kept = entries[0].key.equals(key) ? entries[1] : entries[0];
+                return new BitmapNode(BitmapNode.bit(hash, shift), new Object[]{kept});
+            }
+            Entry[] updated = new Entry[entries.length - 1];
+            int i = 0;
+            for (Entry entry : entries) {
+                if (!entry.key.equals(key)) {
+                    updated[i++] = entry;
+                }
+            }
+            return new CollisionNode(updated);
+        }
+
+        @Override
+        public void collect(List<Entry> out) {
+            out.addAll(Arrays.asList(entries));
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package interpreter.monkey.objects;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable map ordered by key, backed by a persistent AVL tree. Updates copy only the path from
+ * the root to the changed node, so older versions stay valid and share the rest of the tree.
+ * <p>
+ * Keys are integers or strings; integers sort before strings. A map may be a view over the keys in
+ * {@code [from, to)} of another map's tree: views are created in O(1) and entries outside the bounds
+ * are never visited.
+ */
+public class MonkeySortedMap implements MonkeyObject {
+    public static String SORTED_MAP_OBJ = "SORTED_MAP";
+
+    public static final MonkeySortedMap EMPTY = new MonkeySortedMap(null, null, null);
+
+    private final Node root;
+    private final MonkeyObject from;
+    private final MonkeyObject to;
+
+    private MonkeySortedMap(Node root, MonkeyObject from, MonkeyObject to) {
+        this.root = root;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static boolean isKey(MonkeyObject key) {
+        return key instanceof MonkeyInteger || key instanceof MonkeyBigInteger || key instanceof MonkeyString;
+    }
+
+    public static int compare(MonkeyObject a, MonkeyObject b) {
+        if (a instanceof MonkeyString || b instanceof MonkeyString) {
+            if (!(a instanceof MonkeyString)) {
+                return -1;
+            }
+            if (!(b instanceof MonkeyString)) {
+                return 1;
+            }
+            return ((MonkeyString) a).getValue().compareTo(((MonkeyString) b).getValue());
+        }
+        if (a instanceof MonkeyInteger && b instanceof MonkeyInteger) {
+            return Long.compare(((MonkeyInteger) a).getValue(), ((MonkeyInteger) b).getValue());
+        }
+        return toBigInteger(a).compareTo(toBigInteger(b));
+    }
+
+    public MonkeyObject get(MonkeyObject key) {
+        if (!inRange(key)) {
+            return null;
+        }
+        Node node = root;
+        while (node != null) {
+            int c = compare(key, node.key);
+            if (c == 0) {
+                return node.value;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    public boolean inRange(MonkeyObject key) {
+        return (from == null || compare(key, from) >= 0) && (to == null || compare(key, to) < 0);
+    }
+
+    public MonkeySortedMap put(MonkeyObject key, MonkeyObject value) {
+        return new MonkeySortedMap(insert(root, key, value), from, to);
+    }
+
+    public MonkeySortedMap delete(MonkeyObject key) {
+        Node updated = remove(root, key);
+        return updated == root ? this : new MonkeySortedMap(updated, from, to);
+    }
+
+    /**
+     * Returns a view of the entries with keys in {@code [from, to)}, further narrowing any bounds this
+     * map already has. Either bound may be null for no limit.
+     */
+    public MonkeySortedMap range(MonkeyObject from, MonkeyObject to) {
+        if (this.from != null && (from == null || compare(this.from, from) > 0)) {
+            from = this.from;
+        }
+        if (this.to != null && (to == null || compare(this.to, to) < 0)) {
+            to = this.to;
+        }
+        return new MonkeySortedMap(root, from, to);
+    }
+
+    /**
+     * Greatest key less than or equal to {@code key}, or null.
+     */
+    public MonkeyObject floorKey(MonkeyObject key) {
+        boolean inclusive = true;
+        if (to != null && compare(key, to) >= 0) {
+            key = to;
+            inclusive = false;
+        }
+        MonkeyObject best = null;
+        Node node = root;
+        while (node != null) {
+            int c = compare(node.key, key);
+            if (c < 0 || (c == 0 && inclusive)) {
+                best = node.key;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best != null && (from == null || compare(best, from) >= 0) ? best : null;
+    }
+
+    /**
+     * Smallest key greater than or equal to {@code key}, or null.
+     */
+    public MonkeyObject ceilingKey(MonkeyObject key) {
+        if (from != null && compare(key, from) < 0) {
+            key = from;
+        }
+        MonkeyObject best = null;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.key, key) >= 0) {
+                best = node.key;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best != null && (to == null || compare(best, to) < 0) ? best : null;
+    }
+
+    public int size() {
+        if (from == null && to == null) {
+            return size(root);
+        }
+        int below = from == null ? 0 : countBelow(from);
+        int end = to == null ? size(root) : countBelow(to);
+        return Math.max(0, end - below);
+    }
+
+    /**
+     * Iterates the entries in key order, walking only the part of the tree inside the bounds.
+     */
+    public Iterator<Node> entries() {
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null) {
+            if (from == null || compare(node.key, from) >= 0) {
+                stack.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty() && (to == null || compare(stack.peek().key, to) < 0);
+            }
+
+            @Override
+            public Node next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Node next = stack.pop();
+                for (Node n = next.right; n != null; n = n.left) {
+                    stack.push(n);
+                }
+                return next;
+            }
+        };
+    }
+
+    @Override
+    public String type() {
+        return SORTED_MAP_OBJ;
+    }
+
+    @Override
+    public String inspect() {
+        StringBuilder out = new StringBuilder("sorted_map({");
+        Iterator<Node> entries = entries();
+        while (entries.hasNext()) {
+            Node entry = entries.next();
+            out.append(entry.key.inspect()).append(": ").append(entry.value.inspect());
+            if (entries.hasNext()) {
+                out.append(", ");
+            }
+        }
+        return out.append("})").toString();
+    }
+
+    private int countBelow(MonkeyObject key) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.key, key) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static BigInteger toBigInteger(MonkeyObject value) {
+        if (value instanceof MonkeyInteger) {
+            return BigInteger.valueOf(((MonkeyInteger) value).getValue());
+        }
+        return ((MonkeyBigInteger) value).getValue();
+    }
+
+    private static Node insert(Node node, MonkeyObject key, MonkeyObject value) {
+        if (node == null) {
+            return new Node(key, value, null, null);
+        }
+        int c = compare(key, node.key);
+        if (c < 0) {
+            return balance(node.key, node.value, insert(node.left, key, value), node.right);
+        }
+        if (c > 0) {
+            return balance(node.key, node.value, node.left, insert(node.right, key, value));
+        }
+        return new Node(key, value, node.left, node.right);
+    }
+
+    private static Node remove(Node node, MonkeyObject key) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(key, node.key);
+        if (c < 0) {
+            Node left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            Node right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node min = node.right;
+        while (min.left != null) {
+            min = min.left;
+        }
+        return balance(min.key, min.value, node.left, removeMin(node.right));
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    private static Node balance(MonkeyObject key, MonkeyObject value, Node left, Node right) {
+        int hl = height(left);
+        int hr = height(right);
+        if (hl > hr + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.key, left.value, left.left, new Node(key, value, left.right, right));
+            }
+            Node lr = left.right;
+            return new Node(lr.key, lr.value,
+                    new Node(left.key, left.value, left.left, lr.left),
+                    new Node(key, value, lr.right, right));
+        }
+        if (hr > hl + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.key, right.value, new Node(key, value, left, right.left), right.right);
+            }
+            Node rl = right.left;
+            return new Node(rl.key, rl.value,
+                    new Node(key, value, left, rl.left),
+                    new Node(right.key, right.value, rl.right, right.right));
+        }
+        return new Node(key, value, left, right);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public static final class Node {
+        private final MonkeyObject key;
+        private final MonkeyObject value;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;
+
+        private Node(MonkeyObject key, MonkeyObject value, Node left, Node right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        public MonkeyObject getKey() {
+            return key;
+        }
+
+        public MonkeyObject getValue() {
+            return value;
+        }
+    }
+}
@@ -1,17 +1,52 @@
 package interpreter.monkey.objects;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
-@AllArgsConstructor
-@Getter
+/**
+ * Monkey string value. A string is either a flat leaf holding a {@link String}, a slice view over a
+ * range of another string's characters, or a concatenation node (rope) over two other strings.
+ * Concatenation nodes are kept height-balanced and are only flattened when the contents are
+ * actually needed, so building a long string out of many small appends stays linear instead of
+ * copying the accumulated prefix on every {@code +}. Slices share the parent's characters until
+ * they are flattened.
+ */
 public class MonkeyString implements MonkeyObject, Hashable {
 
     public static String STRING_OBJ = "STRING";
 
+    // leaves up to this size are merged on concatenation instead of getting a new node
+    private static final int MAX_MERGED_LEAF = 256;
+
     private String value;
+    private String source;
+    private int offset;
+    private MonkeyString left;
+    private MonkeyString right;
+    private final int length;
+    private int depth;
+    private MonkeyHashKey hashKey;
+
+    public MonkeyString(String value) {
+        this.value = value;
+        this.length = value.length();
+        this.depth = 0;
+    }
+
+    private MonkeyString(String source, int offset, int length) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.depth = 0;
+    }
+
+    private MonkeyString(MonkeyString left, MonkeyString right) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length + right.length;
+        this.depth = Math.max(left.depth, right.depth) + 1;
+    }
 
     @Override
     public String type() {
@@ -20,11 +55,138 @@ public class MonkeyString implements MonkeyObject, Hashable {
 
     @Override
     public String inspect() {
-        return value;
+        return getValue();
     }
 
     public MonkeyHashKey hashKey() {
-        long hash = FNVHash.fnv1a64(value.getBytes(StandardCharsets.UTF_8));
-        return new MonkeyHashKey(type(), hash);
+        if (hashKey == null) {
+            long hash = FNVHash.fnv1a64(getValue().getBytes(StandardCharsets.UTF_8));
+            hashKey = new MonkeyHashKey(type(), hash);
+        }
+        return hashKey;
+    }
+
+    public String getValue() {
+        if (value == null) {
+            flatten();
+        }
+        return value;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the characters in {@code [start, end)} as a view that shares this string's storage.
+     */
+    public MonkeyString substring(int start, int end) {
+        if (start == 0 && end == length) {
+            return this;
+        }
+        if (source != null) {
+            return new MonkeyString(source, offset + start, end - start);
+        }
+        return new MonkeyString(getValue(), start, end - start);
+    }
+
+    public int indexOf(MonkeyString needle, int from) {
+        return getValue().indexOf(needle.getValue(), from);
+    }
+
+    public char charAt(int index) {
+        if (source != null) {
+            return source.charAt(offset + index);
+        }
+        return getValue().charAt(index);
+    }
+
+    public boolean contentEquals(MonkeyString other) {
+        if (this == other) {
+            return true;
+        }
+        if (length != other.length) {
+            return false;
+        }
+        String text = source != null ? source : getValue();
+        String otherText = other.source != null ? other.source : other.getValue();
+        return text.regionMatches(offset, otherText, other.offset, length);
+    }
+
+    /**
+     * Appends the contents to {@code out} without flattening this string.
+     */
+    public void appendTo(StringBuilder out) {
+        Deque<MonkeyString> stack = new ArrayDeque<>();
+        stack.push(this);
+
+        while (!stack.isEmpty()) {
+            MonkeyString node = stack.pop();
+            if (node.value != null) {
+                out.append(node.value);
+            } else if (node.source != null) {
+                out.append(node.source, node.offset, node.offset + node.length);
+            } else {
+                stack.push(node.right);
+                stack.push(node.left);
+            }
+        }
+    }
+
+    public MonkeyString concat(MonkeyString other) {
+        if (other.length == 0) {
+            return this;
+        }
+        if (length == 0) {
+            return other;
+        }
+        return join(this, other);
+    }
+
+    private boolean isLeaf() {
+        return left == null;
+    }
+
+    private static MonkeyString join(MonkeyString a, MonkeyString b) {
+        if (a.isLeaf() && b.isLeaf() && a.length + b.length <= MAX_MERGED_LEAF) {
+            return new MonkeyString(a.getValue() + b.getValue());
+        }
+        if (a.depth > b.depth + 1) {
+            return balance(a.left, join(a.right, b));
+        }
+        if (b.depth > a.depth + 1) {
+            return balance(join(a, b.left), b.right);
+        }
+        return new MonkeyString(a, b);
+    }
+
+    private static MonkeyString balance(MonkeyString l, MonkeyString r) {
+        if (l.depth > r.depth + 1) {
+            if (l.left.depth >= l.right.depth) {
+                return new MonkeyString(l.left, new MonkeyString(l.right, r));
+            }
+            MonkeyString lr = l.right;
+            return new MonkeyString(new MonkeyString(l.left, lr.left), new MonkeyString(lr.right, r));
+        }
+        if (r.depth > l.depth + 1) {
+            if (r.right.depth >= r.left.depth) {
+                return new MonkeyString(new MonkeyString(l, r.left), r.right);
+            }
+            MonkeyString rl = r.left;
+            return new MonkeyString(new MonkeyString(l, rl.left), new MonkeyString(rl.right, r.right));
+        }
+        return new MonkeyString(l, r);
+    }
+
+    private void flatten() {
+        StringBuilder out = new StringBuilder(length);
+        appendTo(out);
+
+        value = out.toString();
+        source = null;
+        offset = 0;
+        left = null;
+        right = null;
+        depth = 0;
     }
 }
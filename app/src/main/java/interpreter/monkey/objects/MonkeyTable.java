@@ -0,0 +1,47 @@
+package interpreter.monkey.objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Column oriented table. Each column stores its cells in a primitive or dictionary encoded
+ * {@link TableColumn}, so scans and aggregations work on arrays instead of boxed values.
+ */
+@AllArgsConstructor
+@Getter
+public class MonkeyTable implements MonkeyObject {
+    public static String TABLE_OBJ = "TABLE";
+
+    private String[] names;
+    private TableColumn[] columns;
+    private int rowCount;
+
+    /**
+     * Index of the column called {@code name}, or -1.
+     */
+    public int columnIndex(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String type() {
+        return TABLE_OBJ;
+    }
+
+    @Override
+    public String inspect() {
+        return "table(" + rowCount + " rows; "
+                + IntStream.range(0, names.length)
+                .mapToObj(i -> names[i] + ": " + columns[i].kind())
+                .collect(Collectors.joining(", "))
+                + ")";
+    }
+}
@@ -0,0 +1,42 @@
+package interpreter.monkey.objects;
+
+import java.util.function.Supplier;
+
+/**
+ * A delayed argument under call-by-need evaluation. The computation runs at most once; its result,
+ * errors included, is remembered and returned by every later {@link #force()}.
+ */
+public class MonkeyThunk implements MonkeyObject {
+    public static String THUNK_OBJ = "THUNK";
+
+    private Supplier<MonkeyObject> computation;
+    private MonkeyObject value;
+    private boolean forced;
+
+    public MonkeyThunk(Supplier<MonkeyObject> computation) {
+        this.computation = computation;
+    }
+
+    public MonkeyObject force() {
+        if (!forced) {
+            value = computation.get();
+            computation = null;
+            forced = true;
+        }
+        return value;
+    }
+
+    public boolean isForced() {
+        return forced;
+    }
+
+    @Override
+    public String type() {
+        return THUNK_OBJ;
+    }
+
+    @Override
+    public String inspect() {
+        return force().inspect();
+    }
+}
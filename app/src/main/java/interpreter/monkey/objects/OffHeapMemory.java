@@ -0,0 +1,104 @@
+package interpreter.monkey.objects;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Block of native memory backing {@link MonkeyBuffer}s. The block is split into direct byte
+ * buffers of at most 1 GiB so that it can be larger than a single {@link ByteBuffer}.
+ * {@link #free()} releases the native memory right away instead of waiting for the buffers to be
+ * garbage collected; any access afterwards must be prevented by checking {@link #isFreed()}.
+ */
+public class OffHeapMemory {
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The largest block that can be addressed: {@code Integer.MAX_VALUE} chunks.
+     */
+    public static final long MAX_BYTE_SIZE = (long) Integer.MAX_VALUE << CHUNK_SHIFT;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // not available, memory is released when the buffers are collected
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private ByteBuffer[] chunks;
+    private final long byteSize;
+
+    /**
+     * @throws IllegalArgumentException if {@code byteSize} is negative or above {@link #MAX_BYTE_SIZE}
+     */
+    public OffHeapMemory(long byteSize) {
+        if (byteSize < 0 || byteSize > MAX_BYTE_SIZE) {
+            throw new IllegalArgumentException("cannot allocate " + byteSize + " bytes off-heap");
+        }
+        this.byteSize = byteSize;
+        int count = Math.toIntExact((byteSize + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+        chunks = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long size = Math.min(CHUNK_SIZE, byteSize - i * CHUNK_SIZE);
+            chunks[i] = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    public long byteSize() {
+        return byteSize;
+    }
+
+    public boolean isFreed() {
+        return chunks == null;
+    }
+
+    public byte getByte(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+    }
+
+    public void putByte(long offset, byte value) {
+        chunks[(int) (offset >>> CHUNK_SHIFT)].put((int) (offset & CHUNK_MASK), value);
+    }
+
+    // longs are 8-byte aligned, so they never straddle two chunks
+    public long getLong(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    public void putLong(long offset, long value) {
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putLong((int) (offset & CHUNK_MASK), value);
+    }
+
+    public void free() {
+        if (chunks == null) {
+            return;
+        }
+        ByteBuffer[] released = chunks;
+        chunks = null;
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        for (ByteBuffer chunk : released) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, chunk);
+            } catch (ReflectiveOperationException ex) {
+                return;
+            }
+        }
+    }
+}
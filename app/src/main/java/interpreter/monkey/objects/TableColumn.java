@@ -0,0 +1,197 @@
+package interpreter.monkey.objects;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * Column of a {@link MonkeyTable}. Values are kept in a primitive array, or for strings as
+ * dictionary codes, with missing cells recorded in a null bitmap.
+ */
+public abstract class TableColumn {
+
+    protected final BitSet nulls;
+
+    protected TableColumn(BitSet nulls) {
+        this.nulls = nulls;
+    }
+
+    /**
+     * Monkey type of the values in this column.
+     */
+    public abstract String kind();
+
+    public abstract int size();
+
+    /**
+     * Boxed value of a cell, {@code null} for missing cells.
+     */
+    public abstract MonkeyObject get(int row);
+
+    /**
+     * New column holding the first {@code count} rows listed in {@code rows}.
+     */
+    public abstract TableColumn gather(int[] rows, int count);
+
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    public boolean hasNulls() {
+        return !nulls.isEmpty();
+    }
+
+    public int nonNullCount() {
+        return size() - nulls.cardinality();
+    }
+
+    protected BitSet gatherNulls(int[] rows, int count) {
+        BitSet gathered = new BitSet(count);
+        if (hasNulls()) {
+            for (int i = 0; i < count; i++) {
+                if (nulls.get(rows[i])) {
+                    gathered.set(i);
+                }
+            }
+        }
+        return gathered;
+    }
+
+    public static class LongColumn extends TableColumn {
+        private final long[] values;
+
+        public LongColumn(long[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public long[] getValues() {
+            return values;
+        }
+
+        @Override
+        public String kind() {
+            return MonkeyInteger.MONKEY_INT;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public MonkeyObject get(int row) {
+            return isNull(row) ? null : MonkeyInteger.valueOf(values[row]);
+        }
+
+        @Override
+        public TableColumn gather(int[] rows, int count) {
+            long[] gathered = new long[count];
+            for (int i = 0; i < count; i++) {
+                gathered[i] = values[rows[i]];
+            }
+            return new LongColumn(gathered, gatherNulls(rows, count));
+        }
+    }
+
+    public static class DoubleColumn extends TableColumn {
+        private final double[] values;
+
+        public DoubleColumn(double[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+
+        @Override
+        public String kind() {
+            return MonkeyFloat.MONKEY_FLOAT;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public MonkeyObject get(int row) {
+            return isNull(row) ? null : new MonkeyFloat(values[row]);
+        }
+
+        @Override
+        public TableColumn gather(int[] rows, int count) {
+            double[] gathered = new double[count];
+            for (int i = 0; i < count; i++) {
+                gathered[i] = values[rows[i]];
+            }
+            return new DoubleColumn(gathered, gatherNulls(rows, count));
+        }
+    }
+
+    /**
+     * Dictionary encoded strings: every distinct value is stored once and cells hold its index.
+     */
+    public static class StringColumn extends TableColumn {
+        private final int[] codes;
+        private final MonkeyString[] dictionary;
+        private int[] ranks;
+
+        public StringColumn(int[] codes, MonkeyString[] dictionary, BitSet nulls) {
+            super(nulls);
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public MonkeyString[] getDictionary() {
+            return dictionary;
+        }
+
+        /**
+         * Sort position of each dictionary entry, so that cells can be ordered by comparing ints.
+         */
+        public int[] getRanks() {
+            if (ranks == null) {
+                Integer[] order = new Integer[dictionary.length];
+                Arrays.setAll(order, i -> i);
+                Arrays.sort(order, Comparator.comparing(i -> dictionary[i].getValue()));
+                int[] computed = new int[dictionary.length];
+                for (int rank = 0; rank < order.length; rank++) {
+                    computed[order[rank]] = rank;
+                }
+                ranks = computed;
+            }
+            return ranks;
+        }
+
+        @Override
+        public String kind() {
+            return MonkeyString.STRING_OBJ;
+        }
+
+        @Override
+        public int size() {
+            return codes.length;
+        }
+
+        @Override
+        public MonkeyObject get(int row) {
+            return isNull(row) ? null : dictionary[codes[row]];
+        }
+
+        @Override
+        public TableColumn gather(int[] rows, int count) {
+            int[] gathered = new int[count];
+            for (int i = 0; i < count; i++) {
+                gathered[i] = codes[rows[i]];
+            }
+            return new StringColumn(gathered, dictionary, gatherNulls(rows, count));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package interpreter.monkey.objects;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in canonicalization of immutable runtime values. When enabled, strings and small arrays of
+ * scalars with the same contents share a single instance, kept in a concurrent table of weak
+ * references keyed by content so that unused values can still be collected.
+ * <p>
+ * Interning is off unless the {@code monkey.intern} system property is set or
+ * {@link #setEnabled(boolean)} is called.
+ */
+public final class ValueInterner {
+
+    private static final int MAX_ARRAY_LENGTH = 8;
+
+    // rough per-object sizes on a 64-bit JVM with compressed oops
+    private static final int STRING_OBJECT_BYTES = 24 + 16;
+    private static final int MONKEY_STRING_BYTES = 48;
+    private static final int MONKEY_INTEGER_BYTES = 16;
+    private static final int MONKEY_ARRAY_BYTES = 16 + 16;
+
+    private static final ConcurrentHashMap<Object, Entry> TABLE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<MonkeyObject> QUEUE = new ReferenceQueue<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder BYTES_SAVED = new LongAdder();
+
+    private static volatile boolean enabled = Boolean.getBoolean("monkey.intern");
+
+    private ValueInterner() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ValueInterner.enabled = enabled;
+    }
+
+    /**
+     * Returns the canonical string for {@code value}, creating it only if no live one exists.
+     */
+    public static MonkeyString string(String value) {
+        if (!enabled) {
+            return new MonkeyString(value);
+        }
+        return (MonkeyString) canonical(value, () -> new MonkeyString(value), MONKEY_STRING_BYTES);
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code value}, or {@code value} itself when interning
+     * is disabled or the value is not a kind that gets interned.
+     */
+    public static MonkeyObject intern(MonkeyObject value) {
+        if (!enabled) {
+            return value;
+        }
+        if (value instanceof MonkeyArray) {
+            return internArray((MonkeyArray) value);
+        }
+        Object key = keyOf(value);
+        if (key == null) {
+            return value;
+        }
+        return canonical(key, () -> value, sizeOf(value));
+    }
+
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    public static double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Estimated number of heap bytes that would have been held by duplicates handed out by the
+     * table so far.
+     */
+    public static long bytesSaved() {
+        return BYTES_SAVED.sum();
+    }
+
+    public static int size() {
+        expungeStaleEntries();
+        return TABLE.size();
+    }
+
+    public static String report() {
+        return String.format("interned=%d hits=%d misses=%d hitRate=%.1f%% bytesSaved=%d",
+                size(), hits(), misses(), hitRate() * 100, bytesSaved());
+    }
+
+    public static void clear() {
+        TABLE.clear();
+        HITS.reset();
+        MISSES.reset();
+        BYTES_SAVED.reset();
+    }
+
+    private static MonkeyObject internArray(MonkeyArray array) {
+        MonkeyObject[] elements = array.getElements();
+        if (elements.length > MAX_ARRAY_LENGTH) {
+            return array;
+        }
+
+        List<Object> key = new ArrayList<>(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            Object elementKey = keyOf(elements[i]);
+            if (elementKey == null) {
+                return array;
+            }
+            elements[i] = canonical(elementKey, constant(elements[i]), sizeOf(elements[i]));
+            key.add(elementKey);
+        }
+
+        return canonical(key, () -> array, MONKEY_ARRAY_BYTES + 4L * elements.length);
+    }
+
+    private static Supplier<MonkeyObject> constant(MonkeyObject value) {
+        return () -> value;
+    }
+
+    private static Object keyOf(MonkeyObject value) {
+        if (value instanceof MonkeyString) {
+            return ((MonkeyString) value).getValue();
+        }
+        if (value instanceof MonkeyInteger) {
+            return ((MonkeyInteger) value).getValue();
+        }
+        if (value instanceof MonkeyBigInteger) {
+            return ((MonkeyBigInteger) value).getValue();
+        }
+        return null;
+    }
+
+    private static long sizeOf(MonkeyObject value) {
+        if (value instanceof MonkeyString) {
+            return MONKEY_STRING_BYTES + STRING_OBJECT_BYTES + ((MonkeyString) value).length();
+        }
+        return MONKEY_INTEGER_BYTES;
+    }
+
+    private static MonkeyObject canonical(Object key, Supplier<MonkeyObject> value, long duplicateBytes) {
+        expungeStaleEntries();
+
+        while (true) {
+            Entry entry = TABLE.get(key);
+            MonkeyObject existing = entry != null ? entry.get() : null;
+            if (existing != null) {
+                HITS.increment();
+                BYTES_SAVED.add(duplicateBytes);
+                return existing;
+            }
+
+            MonkeyObject created = value.get();
+            Entry fresh = new Entry(key, created);
+            boolean installed = entry == null
+                    ? TABLE.putIfAbsent(key, fresh) == null
+                    : TABLE.replace(key, entry, fresh);
+            if (installed) {
+                MISSES.increment();
+                return created;
+            }
+        }
+    }
+
+    private static void expungeStaleEntries() {
+        Entry stale;
+        while ((stale = (Entry) QUEUE.poll()) != null) {
+            TABLE.remove(stale.key, stale);
+        }
+    }
+
+    private static class Entry extends WeakReference<MonkeyObject> {
+        private final Object key;
+
+        Entry(Object key, MonkeyObject value) {
+            super(value, QUEUE);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package interpreter.parser;
+
+import interpreter.ast.FlatAst;
+import interpreter.lexer.Lexer;
+import interpreter.lexer.TokenSource;
+
+/**
+ * Parses the same grammar as {@link Parser}, with the same errors, straight into a
+ * {@link FlatAst}. Nodes are identified by int ids and -1 stands for a missing node or list.
+ * Source spans are -1 when the token source does not track offsets. Function bodies are always
+ * parsed eagerly.
+ * <p>
+ * The ids pass through the shared grammar as {@code Integer}s, so every node above id 127 costs one
+ * short-lived box; the pending lists hold those same boxes rather than boxing again. That is about
+ * 6% of what a parse allocates, next to the tokens and the node arrays, which is why there is no
+ * int-only copy of the grammar.
+ */
+public class FlatParser extends PrattParser<Integer, FlatAst> {
+
+    public FlatParser(Lexer lexer) {
+        this((TokenSource) lexer);
+    }
+
+    public FlatParser(TokenSource lexer) {
+        super(new FlatAst.Builder(), lexer, ParseMode.EAGER, 0);
+    }
+}
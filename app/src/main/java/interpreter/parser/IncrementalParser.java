@@ -0,0 +1,165 @@
+package interpreter.parser;
+
+import interpreter.ast.LetStatement;
+import interpreter.ast.Program;
+import interpreter.ast.Statement;
+import interpreter.lexer.Lexer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Front end for a program that is edited and run again. The previous source is kept cut into
+ * top-level statements, at the same boundaries {@link ParallelParser} uses, each with its source
+ * range and parsed statements. On {@link #update(String)} the new source is cut again. Statements
+ * that lie entirely before the first edited character or after the last one are reused, and only
+ * the ones in between are lexed and parsed again.
+ * <p>
+ * Function bodies are always parsed eagerly here, since reused statements move around in the
+ * source and deferred bodies would report stale offsets.
+ */
+public class IncrementalParser {
+
+    private String source = "";
+    private Segment[] segments = new Segment[0];
+    private Map<String, List<String>> letSources = Map.of();
+
+    public ProgramUpdate update(String newSource) {
+        int prefix = commonPrefix(source, newSource);
+        // prefix and suffix may overlap; each on its own tells which text is unchanged
+        int suffix = commonSuffix(source, newSource);
+        int delta = newSource.length() - source.length();
+
+        Map<Integer, Segment> previous = new HashMap<>();
+        for (Segment segment : segments) {
+            previous.put(segment.start, segment);
+        }
+
+        int[] bounds = ParallelParser.chunkBounds(newSource, 1);
+        Segment[] updated = new Segment[bounds.length - 1];
+        int reparsed = 0;
+        boolean failed = false;
+        for (int i = 0; i < updated.length; i++) {
+            int start = bounds[i];
+            int end = bounds[i + 1];
+            Segment reused = null;
+            if (end <= prefix) {
+                reused = previous.get(start);
+            } else if (start >= newSource.length() - suffix) {
+                reused = previous.get(start - delta);
+            }
+
+            if (reused != null && reused.text.length() == end - start) {
+                updated[i] = new Segment(start, reused.text, reused.statements, reused.failed);
+            } else {
+                updated[i] = parse(newSource, start, end);
+                reparsed += updated[i].statements.length;
+            }
+            failed |= updated[i].failed;
+        }
+
+        Program program;
+        List<String> errors;
+        if (failed) {
+            // a clean sequential parse reports errors exactly and in order
+            Parser parser = new Parser(new Lexer(newSource), ParseMode.EAGER);
+            program = parser.parseProgram();
+            errors = parser.getErrors();
+        } else {
+            program = new Program(join(updated));
+            errors = List.of();
+        }
+
+        Map<String, List<String>> newLetSources = letSources(updated);
+        Set<String> changed = new HashSet<>();
+        for (String name : newLetSources.keySet()) {
+            if (!Objects.equals(newLetSources.get(name), letSources.get(name))) {
+                changed.add(name);
+            }
+        }
+        for (String name : letSources.keySet()) {
+            if (!newLetSources.containsKey(name)) {
+                changed.add(name);
+            }
+        }
+
+        source = newSource;
+        segments = updated;
+        letSources = newLetSources;
+        return new ProgramUpdate(program, errors, changed, reparsed);
+    }
+
+    private static Segment parse(String source, int start, int end) {
+        String text = source.substring(start, end);
+        Parser parser = new Parser(new Lexer(text), ParseMode.EAGER, start);
+        Statement[] statements = parser.parseProgram().getStatements();
+        return new Segment(start, text, statements, !parser.getErrors().isEmpty());
+    }
+
+    private static Statement[] join(Segment[] segments) {
+        int total = 0;
+        for (Segment segment : segments) {
+            total += segment.statements.length;
+        }
+        Statement[] statements = new Statement[total];
+        int at = 0;
+        for (Segment segment : segments) {
+            System.arraycopy(segment.statements, 0, statements, at, segment.statements.length);
+            at += segment.statements.length;
+        }
+        return statements;
+    }
+
+    /**
+     * For every name bound by a top-level let, the source of the statements binding it, in order.
+     */
+    private static Map<String, List<String>> letSources(Segment[] segments) {
+        Map<String, List<String>> sources = new HashMap<>();
+        for (Segment segment : segments) {
+            for (Statement statement : segment.statements) {
+                if (statement instanceof LetStatement) {
+                    String name = ((LetStatement) statement).getName().getValue();
+                    sources.computeIfAbsent(name, n -> new ArrayList<>()).add(segment.text);
+                }
+            }
+        }
+        return sources;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int commonSuffix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(a.length() - 1 - i) == b.charAt(b.length() - 1 - i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Segment {
+        private final int start;
+        private final String text;
+        private final Statement[] statements;
+        private final boolean failed;
+
+        Segment(int start, String text, Statement[] statements, boolean failed) {
+            this.start = start;
+            this.text = text;
+            this.statements = statements;
+            this.failed = failed;
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package interpreter.parser;
 
-import interpreter.ast.Expression;
-
 @FunctionalInterface
-public interface InfixParseFn<P extends Parser, L extends Expression, E extends Expression> {
-    E parse(P p, L l);
+public interface InfixParseFn {
+    <N> N parse(PrattParser<N, ?> parser, N left);
 }
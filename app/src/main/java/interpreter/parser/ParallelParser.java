@@ -0,0 +1,173 @@
+package interpreter.parser;
+
+import interpreter.ast.Program;
+import interpreter.ast.Statement;
+import interpreter.lexer.Lexer;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses large programs on several threads. A quick scan over the characters finds top-level
+ * statement boundaries: a {@code ;} or the start of a {@code let} at bracket depth 0, outside
+ * string literals. The source is cut there into chunks of roughly equal size, each chunk is lexed
+ * and parsed by its own {@link Lexer} and {@link Parser} on a fork/join pool, and the statements
+ * are joined back in order.
+ * <p>
+ * The program is the same as a sequential parse would build. Chunking is only trusted when every
+ * chunk parses cleanly; if any chunk reports an error the whole source is parsed again
+ * sequentially, so errors come out in source order and exactly as {@link Parser} reports them.
+ */
+@Getter
+public class ParallelParser {
+
+    private static final int MIN_CHUNK_CHARS = 1 << 16;
+
+    private final String source;
+    private final ParseMode mode;
+    private final ForkJoinPool pool;
+    private final int chunkChars;
+    private List<String> errors = List.of();
+
+    public ParallelParser(String source) {
+        this(source, ParseMode.fromSystemProperty(), ForkJoinPool.commonPool());
+    }
+
+    public ParallelParser(String source, ParseMode mode, ForkJoinPool pool) {
+        this(source, mode, pool, Math.max(MIN_CHUNK_CHARS, source.length() / (pool.getParallelism() * 4)));
+    }
+
+    ParallelParser(String source, ParseMode mode, ForkJoinPool pool, int chunkChars) {
+        this.source = source;
+        this.mode = mode;
+        this.pool = pool;
+        this.chunkChars = chunkChars;
+    }
+
+    public Program parseProgram() {
+        int[] bounds = chunkBounds(source, chunkChars);
+        int chunks = bounds.length - 1;
+        if (chunks < 2) {
+            return parseSequentially();
+        }
+
+        Statement[][] statements = new Statement[chunks][];
+        boolean[] failed = new boolean[chunks];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            int chunk = i;
+            tasks.add(pool.submit(() -> {
+                int start = bounds[chunk];
+                Parser parser = new Parser(new Lexer(source.substring(start, bounds[chunk + 1])), mode, start);
+                statements[chunk] = parser.parseProgram().getStatements();
+                failed[chunk] = !parser.getErrors().isEmpty();
+            }));
+        }
+
+        int total = 0;
+        boolean anyFailed = false;
+        for (int i = 0; i < chunks; i++) {
+            tasks.get(i).join();
+            total += statements[i].length;
+            anyFailed |= failed[i];
+        }
+        if (anyFailed) {
+            return parseSequentially();
+        }
+
+        Statement[] program = new Statement[total];
+        int at = 0;
+        for (Statement[] part : statements) {
+            System.arraycopy(part, 0, program, at, part.length);
+            at += part.length;
+        }
+        errors = List.of();
+        return new Program(program);
+    }
+
+    private Program parseSequentially() {
+        Parser parser = new Parser(new Lexer(source), mode);
+        Program program = parser.parseProgram();
+        errors = parser.getErrors();
+        return program;
+    }
+
+    /**
+     * Offsets at which to cut {@code source}, starting with 0 and ending with its length. A cut is
+     * made at the first statement boundary after at least {@code chunkChars} characters.
+     */
+    static int[] chunkBounds(String source, int chunkChars) {
+        int length = source.length();
+        int[] bounds = new int[8];
+        int count = 1;
+        int last = 0;
+        int depth = 0;
+
+        scan:
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            int cut = -1;
+            switch (c) {
+                case 0 -> {
+                    // the lexer stops at a NUL, so nothing after it may become a chunk of its own
+                    break scan;
+                }
+                case '"' -> {
+                    i++;
+                    while (i < length && source.charAt(i) != '"') {
+                        if (source.charAt(i) == 0) {
+                            break scan;
+                        }
+                        i++;
+                    }
+                }
+                case '{', '(', '[' -> depth++;
+                case '}', ')', ']' -> {
+                    if (--depth < 0) {
+                        // unbalanced; the sequential fallback will report it
+                        break scan;
+                    }
+                }
+                case ';' -> {
+                    if (depth == 0) {
+                        cut = i + 1;
+                    }
+                }
+                case 'l' -> {
+                    if (depth == 0 && isLetKeyword(source, i)) {
+                        cut = i;
+                    }
+                }
+                default -> {
+                }
+            }
+            if (cut > last && cut - last >= chunkChars && cut < length) {
+                if (count == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, count * 2);
+                }
+                bounds[count++] = cut;
+                last = cut;
+            }
+        }
+
+        if (count == bounds.length) {
+            bounds = Arrays.copyOf(bounds, count + 1);
+        }
+        bounds[count++] = length;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static boolean isLetKeyword(String source, int at) {
+        return source.startsWith("let", at)
+                && (at == 0 || !isIdentifierChar(source.charAt(at - 1)))
+                && (at + 3 == source.length() || !isIdentifierChar(source.charAt(at + 3)));
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+}
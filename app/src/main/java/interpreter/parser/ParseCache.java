@@ -0,0 +1,90 @@
+package interpreter.parser;
+
+import interpreter.ast.AstReader;
+import interpreter.ast.AstWriter;
+import interpreter.ast.Program;
+import interpreter.lexer.Lexer;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Parses programs through a directory of {@link AstWriter encoded} ASTs keyed by the SHA-256 of
+ * the source. A source seen before is loaded from its memory-mapped entry without being lexed or
+ * parsed; any other source is parsed and, if it has no syntax errors, stored for the next run.
+ * Entries that cannot be decoded are parsed and written again.
+ */
+@Getter
+public class ParseCache {
+
+    private static final String SUFFIX = ".ast";
+
+    private final Path directory;
+    private List<String> errors = List.of();
+    private boolean hit;
+
+    public ParseCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public Program parseProgram(String source) throws IOException {
+        Path entry = directory.resolve(key(source) + SUFFIX);
+        if (Files.isRegularFile(entry)) {
+            try {
+                Program program = AstReader.decode(map(entry));
+                errors = List.of();
+                hit = true;
+                return program;
+            } catch (IllegalArgumentException e) {
+                Files.deleteIfExists(entry);
+            }
+        }
+
+        hit = false;
+        Parser parser = new Parser(new Lexer(source), ParseMode.EAGER);
+        Program program = parser.parseProgram();
+        errors = parser.getErrors();
+        if (errors.isEmpty()) {
+            store(entry, AstWriter.encode(program));
+        }
+        return program;
+    }
+
+    private void store(Path entry, byte[] encoded) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "parse", ".tmp");
+        try {
+            Files.write(temp, encoded);
+            // readers never see a partly written entry
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static MappedByteBuffer map(Path entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    static String key(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
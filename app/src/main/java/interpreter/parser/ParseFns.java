@@ -1,172 +1,222 @@
 package interpreter.parser;
 
-import interpreter.ast.Boolean;
-import interpreter.ast.*;
 import interpreter.token.Token;
 import interpreter.token.TokenType;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.math.BigInteger;
 
+/**
+ * The prefix and infix parse functions of {@link PrattParser}. Each reports what it recognized to
+ * the parser's sink, so they work for any node representation.
+ */
 public class ParseFns {
-    public static final PrefixParseFn<Parser, Expression> parseIdentifier =
-            parser -> new Identifier(parser.getCurrentToken(), parser.getCurrentToken().getLiteral());
-
-    public static final PrefixParseFn<Parser, Expression> parseIntegerLiteral =
-            parser -> {
-                Token integerToken = parser.getCurrentToken();
-                try {
-                    int value = Integer.parseInt(integerToken.getLiteral());
-                    return new IntegerLiteral(integerToken, value);
-                } catch (NumberFormatException ex) {
-                    parser.getErrors().add(ex.getMessage());
-                    return null;
-                }
-            };
-
-    public static PrefixParseFn<Parser, Expression> parsePrefixExpression =
-            parser -> {
-                Token expressionToken = parser.getCurrentToken();
-                parser.nextToken();
-                Expression right = parser.parseExpression(Precedence.PREFIX);
-                return new PrefixExpression(expressionToken, expressionToken.getLiteral(), right);
-            };
-
-    public static PrefixParseFn<Parser, Expression> parseBoolean =
-            parser -> new Boolean(parser.getCurrentToken(), parser.curTokenIs(TokenType.TRUE));
-
-    public static PrefixParseFn<Parser, Expression> parseGroupedExpression =
-            parser -> {
-                parser.nextToken();
-                Expression exp = parser.parseExpression(Precedence.LOWEST);
-
-                if (!parser.expectPeek(TokenType.RPAREN)) {
-                    return null;
-                }
-
-                return exp;
-            };
-
-    public static PrefixParseFn<Parser, Expression> parseIfExpression =
-            parser -> {
-                Token ifExpressionToken = parser.getCurrentToken();
-
-                if (!parser.expectPeek(TokenType.LPAREN)) {
-                    return null;
-                }
-
-                parser.nextToken();
-                Expression condition = parser.parseExpression(Precedence.LOWEST);
-
-                if (!parser.expectPeek(TokenType.RPAREN)) {
-                    return null;
-                }
-
-                if (!parser.expectPeek(TokenType.LBRACE)) {
-                    return null;
-                }
-
-                BlockStatement consequence = parser.parseBlockStatement();
-                BlockStatement alternative = null;
-
-                if (parser.peekTokenIs(TokenType.ELSE)) {
-                    parser.nextToken();
-
-                    if (!parser.peekTokenIs(TokenType.LBRACE)) {
-                        return null;
-                    }
-                    parser.nextToken();
-                    alternative = parser.parseBlockStatement();
-                }
-
-                return new IfExpression(ifExpressionToken, condition, consequence, alternative);
-            };
-
-    public static PrefixParseFn<Parser, Expression> parseFunctionLiteral =
-            parser -> {
-                Token functionToken = parser.getCurrentToken();
-
-                if (!parser.expectPeek(TokenType.LPAREN)) {
-                    return null;
-                }
-                Identifier[] parameters = parser.parseFunctionParameters();
-
-                if (!parser.expectPeek(TokenType.LBRACE)) {
-                    return null;
-                }
-
-                BlockStatement body = parser.parseBlockStatement();
-
-                return new FunctionLiteral(functionToken, parameters, body);
-            };
-
-    public static InfixParseFn<Parser, Expression, Expression> parseInfixExpression =
-            (parser, left) -> {
-                Token expressionToken = parser.getCurrentToken();
-                Precedence precedence = parser.curPrecedence();
-                parser.nextToken();
-
-                Expression right = parser.parseExpression(precedence);
-
-                return new InfixExpression(expressionToken, left, right, expressionToken.getLiteral());
-            };
-
-    public static InfixParseFn<Parser, Expression, Expression> parseCallExpression =
-            (parser, function) -> {
-                Token callExpToken = parser.getCurrentToken();
-                Expression[] args = parser.parseExpressionList(TokenType.RPAREN);
-                return new CallExpression(callExpToken, function, args);
-            };
-
-    public static PrefixParseFn<Parser, Expression> parseStringLiteral =
-            parser -> new StringLiteral(parser.getCurrentToken().getLiteral());
 
-    public static PrefixParseFn<Parser, Expression> parseArrayLiteral =
-            parser -> {
-                Token arrayToken = parser.getCurrentToken();
-                Expression[] elements = parser.parseExpressionList(TokenType.RBRACKET);
+    static <N> N parseIdentifier(PrattParser<N, ?> parser) {
+        return parser.sink().identifier(parser.getCurrentToken(), parser.currentStart(), parser.currentEnd());
+    }
+
+    static <N> N parseIntegerLiteral(PrattParser<N, ?> parser) {
+        Token integerToken = parser.getCurrentToken();
+        try {
+            long value = Long.parseLong(integerToken.getLiteral());
+            return parser.sink().integerLiteral(integerToken, parser.currentStart(), parser.currentEnd(), value);
+        } catch (NumberFormatException ignored) {
+            // too large for a long: the literal evaluates to a big integer
+        }
+        try {
+            BigInteger value = new BigInteger(integerToken.getLiteral());
+            return parser.sink().bigIntegerLiteral(integerToken, parser.currentStart(), parser.currentEnd(), value);
+        } catch (NumberFormatException ex) {
+            parser.getErrors().add(ex.getMessage());
+            return null;
+        }
+    }
+
+    static <N> N parseFloatLiteral(PrattParser<N, ?> parser) {
+        Token floatToken = parser.getCurrentToken();
+        try {
+            double value = Double.parseDouble(floatToken.getLiteral());
+            return parser.sink().floatLiteral(floatToken, parser.currentStart(), parser.currentEnd(), value);
+        } catch (NumberFormatException ex) {
+            parser.getErrors().add(ex.getMessage());
+            return null;
+        }
+    }
+
+    static <N> N parsePrefixExpression(PrattParser<N, ?> parser) {
+        Token expressionToken = parser.getCurrentToken();
+        int start = parser.currentStart();
+        parser.nextToken();
+        N right = parser.parseExpression(Precedence.PREFIX);
+        return parser.sink().prefixExpression(expressionToken, start, parser.currentEnd(), right);
+    }
+
+    static <N> N parseBoolean(PrattParser<N, ?> parser) {
+        return parser.sink().booleanLiteral(parser.getCurrentToken(), parser.currentStart(), parser.currentEnd(),
+                parser.curTokenIs(TokenType.TRUE));
+    }
+
+    static <N> N parseGroupedExpression(PrattParser<N, ?> parser) {
+        parser.nextToken();
+        N exp = parser.parseExpression(Precedence.LOWEST);
+
+        if (!parser.expectPeek(TokenType.RPAREN)) {
+            return null;
+        }
+
+        return exp;
+    }
+
+    static <N> N parseIfExpression(PrattParser<N, ?> parser) {
+        Token ifExpressionToken = parser.getCurrentToken();
+        int start = parser.currentStart();
+
+        if (!parser.expectPeek(TokenType.LPAREN)) {
+            return null;
+        }
+
+        parser.nextToken();
+        N condition = parser.parseExpression(Precedence.LOWEST);
+
+        if (!parser.expectPeek(TokenType.RPAREN)) {
+            return null;
+        }
+
+        if (!parser.expectPeek(TokenType.LBRACE)) {
+            return null;
+        }
+
+        N consequence = parser.parseBlockStatement();
+        N alternative = null;
+
+        if (parser.peekTokenIs(TokenType.ELSE)) {
+            parser.nextToken();
+
+            if (!parser.peekTokenIs(TokenType.LBRACE)) {
+                return null;
+            }
+            parser.nextToken();
+            alternative = parser.parseBlockStatement();
+        }
+
+        return parser.sink().ifExpression(ifExpressionToken, start, parser.currentEnd(), condition, consequence,
+                alternative);
+    }
+
+    static <N> N parseFunctionLiteral(PrattParser<N, ?> parser) {
+        Token functionToken = parser.getCurrentToken();
+        int start = parser.currentStart();
+
+        if (!parser.expectPeek(TokenType.LPAREN)) {
+            return null;
+        }
+        int parameters = parser.parseFunctionParameters();
+
+        if (!parser.expectPeek(TokenType.LBRACE)) {
+            parser.release(parameters);
+            return null;
+        }
+
+        N body = parser.parseFunctionBody();
+        if (body == null) {
+            parser.release(parameters);
+            return null;
+        }
+
+        N function = parser.sink().functionLiteral(functionToken, start, parser.currentEnd(),
+                parser.items(parameters), body);
+        parser.release(parameters);
+        return function;
+    }
+
+    static <N> N parseInfixExpression(PrattParser<N, ?> parser, N left) {
+        Token expressionToken = parser.getCurrentToken();
+        int start = startOf(parser, left);
+        Precedence precedence = parser.curPrecedence();
+        parser.nextToken();
+
+        N right = parser.parseExpression(precedence);
+
+        return parser.sink().infixExpression(expressionToken, start, parser.currentEnd(), left, right);
+    }
+
+    static <N> N parseCallExpression(PrattParser<N, ?> parser, N function) {
+        Token callExpToken = parser.getCurrentToken();
+        int start = startOf(parser, function);
+        int args = parser.parseExpressionList(TokenType.RPAREN);
+        N call = parser.sink().callExpression(callExpToken, start, parser.currentEnd(), function, parser.items(args));
+        parser.release(args);
+        return call;
+    }
+
+    static <N> N parseStringLiteral(PrattParser<N, ?> parser) {
+        return parser.sink().stringLiteral(parser.getCurrentToken(), parser.currentStart(), parser.currentEnd());
+    }
+
+    static <N> N parseArrayLiteral(PrattParser<N, ?> parser) {
+        Token arrayToken = parser.getCurrentToken();
+        int start = parser.currentStart();
+        int elements = parser.parseExpressionList(TokenType.RBRACKET);
 
-                return new ArrayLiteral(arrayToken, elements);
-            };
+        N array = parser.sink().arrayLiteral(arrayToken, start, parser.currentEnd(), parser.items(elements));
+        parser.release(elements);
+        return array;
+    }
 
-    public static InfixParseFn<Parser, Expression, Expression> parseIndexExpression = (parser, left) -> {
+    static <N> N parseIndexExpression(PrattParser<N, ?> parser, N left) {
         Token indexToken = parser.getCurrentToken();
+        int start = startOf(parser, left);
         parser.nextToken();
-        Expression index = parser.parseExpression(Precedence.LOWEST);
+        N index = parser.parseExpression(Precedence.LOWEST);
 
-        if (!parser.expectPeek(TokenType.RBRACKET)){
+        if (!parser.expectPeek(TokenType.RBRACKET)) {
             return null;
         }
 
-        return new IndexExpression(indexToken, left, index);
-    };
+        return parser.sink().indexExpression(indexToken, start, parser.currentEnd(), left, index);
+    }
 
-    public static PrefixParseFn<Parser, Expression> parseHashLiteral = parser -> {
+    static <N> N parseHashLiteral(PrattParser<N, ?> parser) {
         Token hashToken = parser.getCurrentToken();
-        Map<Expression,Expression> hashMap = new HashMap<>();
+        int start = parser.currentStart();
+        // keys and values alternate, in source order
+        int pairs = parser.mark();
 
-        while(!parser.peekTokenIs(TokenType.RBRACE)) {
+        while (!parser.peekTokenIs(TokenType.RBRACE)) {
             parser.nextToken();
-            Expression key = parser.parseExpression(Precedence.LOWEST);
+            N key = parser.parseExpression(Precedence.LOWEST);
 
             if (!parser.expectPeek(TokenType.COLON)) {
+                parser.release(pairs);
                 return null;
             }
 
             parser.nextToken();
-            Expression value = parser.parseExpression(Precedence.LOWEST);
+            N value = parser.parseExpression(Precedence.LOWEST);
 
-            hashMap.put(key, value);
+            parser.add(key);
+            parser.add(value);
 
             if (!parser.peekTokenIs(TokenType.RBRACE) && !parser.expectPeek(TokenType.COMMA)) {
+                parser.release(pairs);
                 return null;
             }
         }
 
-        if(!parser.expectPeek(TokenType.RBRACE)) {
+        if (!parser.expectPeek(TokenType.RBRACE)) {
+            parser.release(pairs);
             return null;
         }
 
-        return new HashLiteral(hashToken,hashMap);
-    };
+        N hash = parser.sink().hashLiteral(hashToken, start, parser.currentEnd(), parser.items(pairs));
+        parser.release(pairs);
+        return hash;
+    }
+
+    /**
+     * Where an infix node starts: at its left operand, or at the operator if that is missing.
+     */
+    private static <N> int startOf(PrattParser<N, ?> parser, N left) {
+        return left != null ? parser.sink().start(left) : parser.currentStart();
+    }
 }
@@ -0,0 +1,38 @@
+package interpreter.parser;
+
+/**
+ * How the parser treats the bodies of function literals.
+ */
+public enum ParseMode {
+    /**
+     * Every body is parsed into a full AST up front.
+     */
+    EAGER,
+    /**
+     * Bodies are only pre-parsed: the parser finds the matching brace, checks that brackets are
+     * balanced and keeps the source range. The statements are parsed the first time the function
+     * runs, and any syntax error inside the body surfaces then.
+     */
+    LAZY,
+    /**
+     * Like {@link #LAZY}, but every body is also checked with a throwaway parse while the program is
+     * parsed, so syntax errors in functions that never run are still reported. Saves the memory of
+     * unused ASTs, not the parsing time.
+     */
+    STRICT;
+
+    /**
+     * The mode selected by the {@code monkey.parse} system property ({@code eager}, {@code lazy} or
+     * {@code strict}), defaulting to eager.
+     */
+    public static ParseMode fromSystemProperty() {
+        String mode = System.getProperty("monkey.parse");
+        if ("lazy".equalsIgnoreCase(mode)) {
+            return LAZY;
+        }
+        if ("strict".equalsIgnoreCase(mode)) {
+            return STRICT;
+        }
+        return EAGER;
+    }
+}
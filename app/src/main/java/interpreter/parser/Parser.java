@@ -2,284 +2,122 @@ package interpreter.parser;
 
 import interpreter.ast.*;
 import interpreter.lexer.Lexer;
+import interpreter.lexer.TokenSource;
+import interpreter.lexer.TokenStream;
 import interpreter.token.Token;
 import interpreter.token.TokenType;
-import lombok.Getter;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
 
-import static interpreter.parser.Precedence.LOWEST;
-import static interpreter.parser.Precedence.PRECEDENCES;
-
-@Getter
-public class Parser {
-    private final Lexer lexer;
-    private final List<String> errors;
-    private final Map<TokenType, PrefixParseFn<Parser, Expression>> prefixParseFns;
-    private final Map<TokenType, InfixParseFn<Parser, Expression, Expression>> infixParseFns;
-    private Token currentToken;
-    private Token peekToken;
+/**
+ * Parses into the regular object tree. Function bodies are parsed as {@link ParseMode} says.
+ */
+public class Parser extends PrattParser<Node, Program> {
+    // closing tokens expected while pre-parsing a function body
+    private TokenType[] closers = new TokenType[8];
 
 
     public Parser(Lexer lexer) {
-        this.lexer = lexer;
-        errors = new LinkedList<>();
-        nextToken();
-        nextToken();
-        prefixParseFns = new HashMap<>();
-        infixParseFns = new HashMap<>();
-
-        registerPrefix(TokenType.IDENT, ParseFns.parseIdentifier);
-        registerPrefix(TokenType.INT, ParseFns.parseIntegerLiteral);
-        registerPrefix(TokenType.BANG, ParseFns.parsePrefixExpression);
-        registerPrefix(TokenType.MINUS, ParseFns.parsePrefixExpression);
-        registerPrefix(TokenType.TRUE, ParseFns.parseBoolean);
-        registerPrefix(TokenType.FALSE, ParseFns.parseBoolean);
-        registerPrefix(TokenType.LPAREN, ParseFns.parseGroupedExpression);
-        registerPrefix(TokenType.IF, ParseFns.parseIfExpression);
-        registerPrefix(TokenType.FUNCTION, ParseFns.parseFunctionLiteral);
-        registerPrefix(TokenType.STRING, ParseFns.parseStringLiteral);
-        registerPrefix(TokenType.LBRACKET, ParseFns.parseArrayLiteral);
-        registerPrefix(TokenType.LBRACE, ParseFns.parseHashLiteral);
-
-        registerInfix(TokenType.PLUS, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.MINUS, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.SLASH, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.ASTERISK, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.EQ, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.NOT_EQ, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.LT, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.LBRACKET, ParseFns.parseIndexExpression);
-        registerInfix(TokenType.GT, ParseFns.parseInfixExpression);
-        registerInfix(TokenType.LPAREN, ParseFns.parseCallExpression);
-
-    }
-
-    public void nextToken() {
-        currentToken = peekToken;
-        peekToken = lexer.nextToken();
-    }
-
-    public Program parseProgram() {
-
-        List<Statement> statementList = new LinkedList<>();
-        while (currentToken.getType() != TokenType.EOF) {
-            Optional.ofNullable(parseStatements()).ifPresent(statementList::add);
-            nextToken();
-        }
-        return new Program(statementList.toArray(new Statement[1]));
-    }
-
-    protected Expression parseExpression(Precedence precedence) {
-
-        PrefixParseFn<Parser, Expression> prefixFn = prefixParseFns.get(currentToken.getType());
-
-        if (prefixFn == null) {
-            noPrefixParseFnError(currentToken.getType());
-            return null;
-        }
-
-        Expression leftExp = prefixFn.parse(this);
-
-        while (!peekTokenIs(TokenType.SEMICOLON) && precedence.ordinal() < peekPrecedence().ordinal()) {
-            InfixParseFn<Parser, Expression, Expression> infixFn = infixParseFns.get(peekToken.getType());
-
-            if (infixFn == null) {
-                return leftExp;
-            }
-
-            nextToken();
-            leftExp = infixFn.parse(this, leftExp);
-        }
-        return leftExp;
-    }
-
-    protected Precedence peekPrecedence() {
-        return Optional.ofNullable(PRECEDENCES.get(peekToken.getType()))
-                .orElse(LOWEST);
-    }
-
-    protected Precedence curPrecedence() {
-        return Optional.ofNullable(PRECEDENCES.get(currentToken.getType()))
-                .orElse(LOWEST);
-    }
-
-    private void registerPrefix(TokenType tokenType, PrefixParseFn<Parser, Expression> fn) {
-        prefixParseFns.put(tokenType, fn);
-    }
-
-    private void registerInfix(TokenType tokenType, InfixParseFn<Parser, Expression, Expression> fn) {
-        infixParseFns.put(tokenType, fn);
-    }
-
-    private Statement parseStatements() {
-        switch (currentToken.getType()) {
-            case LET -> {
-                return parseLetStatement();
-            }
-            case RETURN -> {
-                return parseReturnStatement();
-            }
-            default -> {
-                return parseExpressionStatement();
-            }
-        }
-    }
-
-    private ExpressionStatement parseExpressionStatement() {
-        Token expressionToken = currentToken;
-        Expression exp = parseExpression(Precedence.LOWEST);
-
-        if (peekTokenIs(TokenType.SEMICOLON)) {
-            nextToken();
-        }
-
-        return new ExpressionStatement(expressionToken, exp);
-    }
-
-
-    private LetStatement parseLetStatement() {
-        Token token = currentToken;
-        if (!expectPeek(TokenType.IDENT)) {
-            return null;
-        }
-
-        Identifier identifier = new Identifier(currentToken, currentToken.getLiteral());
-        if (!expectPeek(TokenType.ASSIGN)) {
-            return null;
-        }
-
-        nextToken();
-        Expression value = parseExpression(LOWEST);
-
-        if (peekTokenIs(TokenType.SEMICOLON)) {
-            nextToken();
-        }
-
-        return new LetStatement(token, identifier, value);
+        this((TokenSource) lexer);
     }
 
-    private ReturnStatement parseReturnStatement() {
-        Token returnToken = currentToken;
-
-        nextToken();
-        Expression returnValue = parseExpression(LOWEST);
-        if (peekTokenIs(TokenType.SEMICOLON)) {
-            nextToken();
-        }
-
-        return new ReturnStatement(returnToken, returnValue);
+    /**
+     * Parses a pre-tokenized source; token text is only materialized as tokens are consumed.
+     */
+    public Parser(TokenStream tokens) {
+        this(tokens.reader());
     }
 
-    protected boolean curTokenIs(TokenType tokenType) {
-        return currentToken.getType() == tokenType;
+    public Parser(TokenSource lexer) {
+        this(lexer, ParseMode.fromSystemProperty());
     }
 
-    protected BlockStatement parseBlockStatement() {
-        Token blockStatementToken = currentToken;
-        List<Statement> statementList = new ArrayList<>();
-        nextToken();
-
-        while (!curTokenIs(TokenType.RBRACE) && !curTokenIs(TokenType.EOF)) {
-            Statement stmt = parseStatements();
-            Optional.ofNullable(stmt).ifPresent(statementList::add);
-            nextToken();
-        }
-
-        return new BlockStatement(blockStatementToken, statementList.toArray(new Statement[0]));
+    public Parser(TokenSource lexer, ParseMode mode) {
+        this(lexer, mode, 0);
     }
 
-    protected boolean expectPeek(TokenType tokenType) {
-        if (peekTokenIs(tokenType)) {
-            nextToken();
-            return true;
-        } else {
-            errors.add(String.format("expected next token to be %s, got %s instead",
-                    tokenType.getValue(), peekToken.getType().getValue()));
-            return false;
-        }
-    }
-
-    protected boolean peekTokenIs(TokenType tokenType) {
-        return peekToken.getType() == tokenType;
-    }
-
-    protected Identifier[] parseFunctionParameters() {
-        List<Identifier> identifiers = new ArrayList<>();
-
-        if (peekTokenIs(TokenType.RPAREN)) {
-            nextToken();
-            return new Identifier[0];
-        }
-
-        nextToken();
-        Identifier ident = new Identifier(currentToken, currentToken.getLiteral());
-        identifiers.add(ident);
-
-        while (peekTokenIs(TokenType.COMMA)) {
-            nextToken();
-            nextToken();
-            ident = new Identifier(currentToken, currentToken.getLiteral());
-            identifiers.add(ident);
-        }
-
-        if (!expectPeek(TokenType.RPAREN)) {
-            return null;
-        }
-
-        return identifiers.toArray(new Identifier[0]);
+    /**
+     * A parser for a slice of a larger source that starts at {@code offsetBase}; used for deferred
+     * function bodies and by {@link ParallelParser}.
+     */
+    Parser(TokenSource lexer, ParseMode mode, int offsetBase) {
+        super(TreeSink.INSTANCE, lexer, mode, offsetBase);
     }
 
-    protected Expression[] parseCallArguments() {
-        List<Expression> args = new ArrayList<>();
-
-        if (peekTokenIs(TokenType.RPAREN)) {
-            nextToken();
-            return new Expression[0];
-        }
-
-        nextToken();
-        args.add(parseExpression(LOWEST));
-
-        while (peekTokenIs(TokenType.COMMA)) {
-            nextToken();
-            nextToken();
-            args.add(parseExpression(LOWEST));
+    /**
+     * Parses the body of a function literal, the current token being its opening brace. Unless the
+     * mode is eager, only the extent of the body is found here and its statements are parsed when
+     * they are first needed; see {@link ParseMode}. Sources that do not keep their text in memory
+     * are always parsed eagerly.
+     */
+    @Override
+    protected Node parseFunctionBody() {
+        CharSequence source = getLexer().source();
+        if (getMode() == ParseMode.EAGER || source == null || getCurrentOffset() < 0) {
+            return parseBlockStatement();
         }
 
-        if (!expectPeek(TokenType.RPAREN)) {
+        Token bodyToken = getCurrentToken();
+        int start = getCurrentOffset();
+        if (!skipToClosingBrace()) {
             return null;
         }
-
-        return args.toArray(new Expression[0]);
-    }
-
-    private void noPrefixParseFnError(TokenType type) {
-        errors.add(String.format("no prefix parse function for %s found", type.getValue()));
-    }
-
-    public Expression[] parseExpressionList(TokenType tokenType) {
-        List<Expression> list = new LinkedList<>();
-
-        if (peekTokenIs(tokenType)) {
-            nextToken();
-            return list.toArray(new Expression[0]);
-        }
-
-        nextToken();
-        list.add(parseExpression(LOWEST));
-
-        while (peekTokenIs(TokenType.COMMA)) {
-            nextToken();
-            nextToken();
-            list.add(parseExpression(LOWEST));
-        }
-
-        if (!expectPeek(tokenType)) {
-            return null;
+        int end = getCurrentOffset() + 1;
+        int base = offsetBase + start;
+
+        if (getMode() == ParseMode.STRICT) {
+            // one eager pass covers nested bodies too; a strict one would recheck each of them
+            // once per enclosing function
+            parseDeferred(source, start, end, base, ParseMode.EAGER, getErrors());
+        }
+        // the strict check above already reported any errors, so the real parse can stay lazy
+        return new BlockStatement(bodyToken, found -> parseDeferred(source, start, end, base, ParseMode.LAZY, found));
+    }
+
+    /**
+     * Parses the block spanning {@code [start, end)} of {@code source}, braces included.
+     */
+    private static Statement[] parseDeferred(CharSequence source, int start, int end, int base,
+                                             ParseMode mode, List<String> errors) {
+        Parser parser = new Parser(new Lexer(source.subSequence(start, end).toString()), mode, base);
+        Statement[] statements = ((BlockStatement) parser.parseBlockStatement()).getStatements();
+        errors.addAll(parser.getErrors());
+        return statements;
+    }
+
+    /**
+     * Advances to the brace closing the current one, checking that the brackets in between are
+     * balanced. Returns false after recording an error if they are not.
+     */
+    private boolean skipToClosingBrace() {
+        int depth = 0;
+        while (true) {
+            nextToken();
+            TokenType type = getCurrentToken().getType();
+            switch (type) {
+                case LBRACE, LPAREN, LBRACKET -> {
+                    if (depth == closers.length) {
+                        closers = Arrays.copyOf(closers, depth * 2);
+                    }
+                    closers[depth++] = type == TokenType.LBRACE ? TokenType.RBRACE
+                            : type == TokenType.LPAREN ? TokenType.RPAREN : TokenType.RBRACKET;
+                }
+                case RBRACE, RPAREN, RBRACKET, EOF -> {
+                    TokenType expected = depth == 0 ? TokenType.RBRACE : closers[depth - 1];
+                    if (type != expected) {
+                        getErrors().add(String.format("expected next token to be %s, got %s instead",
+                                expected.getValue(), type.getValue()) + at(getCurrentOffset()));
+                        return false;
+                    }
+                    if (depth == 0) {
+                        return true;
+                    }
+                    depth--;
+                }
+                default -> {
+                }
+            }
         }
-
-        return list.toArray(new Expression[0]);
     }
 }
-
@@ -0,0 +1,366 @@
+package interpreter.parser;
+
+import interpreter.ast.AstSink;
+import interpreter.lexer.TokenSource;
+import interpreter.token.Token;
+import interpreter.token.TokenType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static interpreter.parser.Precedence.LOWEST;
+
+/**
+ * The Monkey grammar. Nodes are handed to an {@link AstSink} as they are recognized, so the same
+ * parse builds the object tree for {@link Parser} and the flat arrays for {@link FlatParser}, with
+ * the same errors.
+ */
+@Getter
+public abstract class PrattParser<N, P> {
+    private static final PrefixParseFn[] PREFIX_FNS = new PrefixParseFn[TokenType.values().length];
+    private static final InfixParseFn[] INFIX_FNS = new InfixParseFn[TokenType.values().length];
+
+    static {
+        registerPrefix(TokenType.IDENT, ParseFns::parseIdentifier);
+        registerPrefix(TokenType.INT, ParseFns::parseIntegerLiteral);
+        registerPrefix(TokenType.FLOAT, ParseFns::parseFloatLiteral);
+        registerPrefix(TokenType.BANG, ParseFns::parsePrefixExpression);
+        registerPrefix(TokenType.MINUS, ParseFns::parsePrefixExpression);
+        registerPrefix(TokenType.TRUE, ParseFns::parseBoolean);
+        registerPrefix(TokenType.FALSE, ParseFns::parseBoolean);
+        registerPrefix(TokenType.LPAREN, ParseFns::parseGroupedExpression);
+        registerPrefix(TokenType.IF, ParseFns::parseIfExpression);
+        registerPrefix(TokenType.FUNCTION, ParseFns::parseFunctionLiteral);
+        registerPrefix(TokenType.STRING, ParseFns::parseStringLiteral);
+        registerPrefix(TokenType.LBRACKET, ParseFns::parseArrayLiteral);
+        registerPrefix(TokenType.LBRACE, ParseFns::parseHashLiteral);
+
+        registerInfix(TokenType.PLUS, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.MINUS, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.SLASH, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.ASTERISK, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.EQ, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.NOT_EQ, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.LT, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.LBRACKET, ParseFns::parseIndexExpression);
+        registerInfix(TokenType.GT, ParseFns::parseInfixExpression);
+        registerInfix(TokenType.LPAREN, ParseFns::parseCallExpression);
+    }
+
+    private final TokenSource lexer;
+    private final ParseMode mode;
+    private final List<String> errors;
+    @Getter(AccessLevel.NONE)
+    private final AstSink<N, P> sink;
+    // nodes of the lists being parsed, innermost list last
+    @Getter(AccessLevel.NONE)
+    private final ArrayList<N> pending = new ArrayList<>();
+    private Token currentToken;
+    private Token peekToken;
+    private int currentOffset = -1;
+    private int peekOffset = -1;
+    // where offset 0 of this parser's source lies in the text errors are reported against
+    @Getter(AccessLevel.NONE)
+    protected final int offsetBase;
+
+    protected PrattParser(AstSink<N, P> sink, TokenSource lexer, ParseMode mode, int offsetBase) {
+        this.sink = sink;
+        this.lexer = lexer;
+        this.mode = mode;
+        this.offsetBase = offsetBase;
+        errors = new ArrayList<>();
+        nextToken();
+        nextToken();
+    }
+
+    public void nextToken() {
+        currentToken = peekToken;
+        currentOffset = peekOffset;
+        peekToken = lexer.nextToken();
+        peekOffset = lexer.offset();
+    }
+
+    public P parseProgram() {
+        int mark = mark();
+        while (currentToken.getType() != TokenType.EOF) {
+            push(parseStatements());
+            nextToken();
+        }
+        P program = sink.program(items(mark));
+        release(mark);
+        return program;
+    }
+
+    protected N parseExpression(Precedence precedence) {
+
+        PrefixParseFn prefixFn = PREFIX_FNS[currentToken.getType().ordinal()];
+
+        if (prefixFn == null) {
+            noPrefixParseFnError(currentToken.getType());
+            return null;
+        }
+
+        N leftExp = prefixFn.parse(this);
+
+        while (!peekTokenIs(TokenType.SEMICOLON) && precedence.ordinal() < peekPrecedence().ordinal()) {
+            InfixParseFn infixFn = INFIX_FNS[peekToken.getType().ordinal()];
+
+            if (infixFn == null) {
+                return leftExp;
+            }
+
+            nextToken();
+            leftExp = infixFn.parse(this, leftExp);
+        }
+        return leftExp;
+    }
+
+    protected Precedence peekPrecedence() {
+        return Precedence.of(peekToken.getType());
+    }
+
+    protected Precedence curPrecedence() {
+        return Precedence.of(currentToken.getType());
+    }
+
+    private static void registerPrefix(TokenType tokenType, PrefixParseFn fn) {
+        PREFIX_FNS[tokenType.ordinal()] = fn;
+    }
+
+    private static void registerInfix(TokenType tokenType, InfixParseFn fn) {
+        INFIX_FNS[tokenType.ordinal()] = fn;
+    }
+
+    AstSink<N, P> sink() {
+        return sink;
+    }
+
+    /**
+     * Starts a list; the nodes added to it are {@link #items} of the returned mark.
+     */
+    int mark() {
+        return pending.size();
+    }
+
+    /**
+     * Adds a statement to the list being parsed; missing statements are left out.
+     */
+    private void push(N statement) {
+        if (statement != null) {
+            pending.add(statement);
+        }
+    }
+
+    /**
+     * Adds an element to the list being parsed; missing elements are kept as null.
+     */
+    void add(N node) {
+        pending.add(node);
+    }
+
+    /**
+     * The nodes added since {@code mark}, or null for a list that failed to parse (mark -1).
+     */
+    List<N> items(int mark) {
+        return mark < 0 ? null : pending.subList(mark, pending.size());
+    }
+
+    /**
+     * Drops the nodes added since {@code mark}; does nothing for mark -1.
+     */
+    void release(int mark) {
+        if (mark >= 0) {
+            pending.subList(mark, pending.size()).clear();
+        }
+    }
+
+    private N parseStatements() {
+        switch (currentToken.getType()) {
+            case LET -> {
+                return parseLetStatement();
+            }
+            case RETURN -> {
+                return parseReturnStatement();
+            }
+            default -> {
+                return parseExpressionStatement();
+            }
+        }
+    }
+
+    private N parseExpressionStatement() {
+        Token expressionToken = currentToken;
+        int start = currentStart();
+        N exp = parseExpression(Precedence.LOWEST);
+
+        if (peekTokenIs(TokenType.SEMICOLON)) {
+            nextToken();
+        }
+
+        return sink.expressionStatement(expressionToken, start, currentEnd(), exp);
+    }
+
+
+    private N parseLetStatement() {
+        Token token = currentToken;
+        int start = currentStart();
+        if (!expectPeek(TokenType.IDENT)) {
+            return null;
+        }
+
+        N identifier = sink.identifier(currentToken, currentStart(), currentEnd());
+        if (!expectPeek(TokenType.ASSIGN)) {
+            return null;
+        }
+
+        nextToken();
+        N value = parseExpression(LOWEST);
+
+        if (peekTokenIs(TokenType.SEMICOLON)) {
+            nextToken();
+        }
+
+        return sink.letStatement(token, start, currentEnd(), identifier, value);
+    }
+
+    private N parseReturnStatement() {
+        Token returnToken = currentToken;
+        int start = currentStart();
+
+        nextToken();
+        N returnValue = parseExpression(LOWEST);
+        if (peekTokenIs(TokenType.SEMICOLON)) {
+            nextToken();
+        }
+
+        return sink.returnStatement(returnToken, start, currentEnd(), returnValue);
+    }
+
+    protected boolean curTokenIs(TokenType tokenType) {
+        return currentToken.getType() == tokenType;
+    }
+
+    protected N parseBlockStatement() {
+        Token blockStatementToken = currentToken;
+        int start = currentStart();
+        int mark = mark();
+        nextToken();
+
+        while (!curTokenIs(TokenType.RBRACE) && !curTokenIs(TokenType.EOF)) {
+            push(parseStatements());
+            nextToken();
+        }
+
+        N block = sink.blockStatement(blockStatementToken, start, currentEnd(), items(mark));
+        release(mark);
+        return block;
+    }
+
+    /**
+     * Parses the body of a function literal, the current token being its opening brace. Returns
+     * null if the body is missing.
+     */
+    protected N parseFunctionBody() {
+        return parseBlockStatement();
+    }
+
+    protected boolean expectPeek(TokenType tokenType) {
+        if (peekTokenIs(tokenType)) {
+            nextToken();
+            return true;
+        } else {
+            errors.add(String.format("expected next token to be %s, got %s instead",
+                    tokenType.getValue(), peekToken.getType().getValue()) + at(peekOffset));
+            return false;
+        }
+    }
+
+    protected boolean peekTokenIs(TokenType tokenType) {
+        return peekToken.getType() == tokenType;
+    }
+
+    /**
+     * Parses a parameter list into the pending nodes and returns its mark, or -1 if the list is
+     * not closed.
+     */
+    protected int parseFunctionParameters() {
+        int mark = mark();
+
+        if (peekTokenIs(TokenType.RPAREN)) {
+            nextToken();
+            return mark;
+        }
+
+        nextToken();
+        add(sink.identifier(currentToken, currentStart(), currentEnd()));
+
+        while (peekTokenIs(TokenType.COMMA)) {
+            nextToken();
+            nextToken();
+            add(sink.identifier(currentToken, currentStart(), currentEnd()));
+        }
+
+        if (!expectPeek(TokenType.RPAREN)) {
+            release(mark);
+            return -1;
+        }
+
+        return mark;
+    }
+
+    private void noPrefixParseFnError(TokenType type) {
+        errors.add(String.format("no prefix parse function for %s found", type.getValue()) + at(currentOffset));
+    }
+
+    protected String at(int offset) {
+        return offset < 0 ? "" : " at offset " + (offsetBase + offset);
+    }
+
+    /**
+     * Where the current token starts in the text errors are reported against, or -1.
+     */
+    int currentStart() {
+        return currentOffset < 0 ? -1 : offsetBase + currentOffset;
+    }
+
+    /**
+     * Where the current token ends, counting the quotes of a string, or -1.
+     */
+    int currentEnd() {
+        if (currentOffset < 0) {
+            return -1;
+        }
+        int length = currentToken.getLiteral().length();
+        return currentStart() + (currentToken.getType() == TokenType.STRING ? length + 2 : length);
+    }
+
+    /**
+     * Parses a comma separated list closed by {@code tokenType} into the pending nodes and returns
+     * its mark, or -1 if the list is not closed.
+     */
+    int parseExpressionList(TokenType tokenType) {
+        int mark = mark();
+        if (peekTokenIs(tokenType)) {
+            nextToken();
+            return mark;
+        }
+
+        nextToken();
+        add(parseExpression(LOWEST));
+
+        while (peekTokenIs(TokenType.COMMA)) {
+            nextToken();
+            nextToken();
+            add(parseExpression(LOWEST));
+        }
+
+        if (!expectPeek(tokenType)) {
+            release(mark);
+            return -1;
+        }
+
+        return mark;
+    }
+}
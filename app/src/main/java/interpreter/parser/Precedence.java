@@ -2,6 +2,7 @@ package interpreter.parser;
 
 import interpreter.token.TokenType;
 
+import java.util.Arrays;
 import java.util.Map;
 
 public enum Precedence {
@@ -27,6 +28,20 @@ public enum Precedence {
             TokenType.LBRACKET, INDEX
     );
 
+    private static final Precedence[] BY_TOKEN = new Precedence[TokenType.values().length];
+
+    static {
+        Arrays.fill(BY_TOKEN, LOWEST);
+        PRECEDENCES.forEach((type, precedence) -> BY_TOKEN[type.ordinal()] = precedence);
+    }
+
+    /**
+     * The binding power of {@code type} as an infix operator, {@code LOWEST} if it is not one.
+     */
+    public static Precedence of(TokenType type) {
+        return BY_TOKEN[type.ordinal()];
+    }
+
     public static Precedence getFromOrdinal(int ordinal) {
         var values = Precedence.values();
         if (ordinal>values.length) {
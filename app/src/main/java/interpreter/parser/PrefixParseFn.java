@@ -1,8 +1,6 @@
 package interpreter.parser;
 
-import interpreter.ast.Expression;
-
 @FunctionalInterface
-public interface PrefixParseFn<P extends Parser, E extends Expression> {
-    E parse(P p);
+public interface PrefixParseFn {
+    <N> N parse(PrattParser<N, ?> parser);
 }
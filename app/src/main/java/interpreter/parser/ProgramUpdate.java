@@ -0,0 +1,119 @@
+package interpreter.parser;
+
+import interpreter.ast.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of {@link IncrementalParser#update(String)}.
+ */
+@Getter
+@AllArgsConstructor
+public class ProgramUpdate {
+    private final Program program;
+    private final List<String> errors;
+    /**
+     * Names of top-level let bindings that were added, removed or edited since the last update.
+     */
+    private final Set<String> changedBindings;
+    /**
+     * Number of top-level statements that had to be parsed again.
+     */
+    private final int reparsedStatements;
+
+    /**
+     * The top-level lets that have to be evaluated again: the ones binding a changed name, plus,
+     * transitively, any whose value mentions a name bound by one of those. Mentions are found
+     * syntactically, so a name shadowed by a parameter still counts. In program order.
+     */
+    public List<LetStatement> affectedLets() {
+        Map<LetStatement, Set<String>> lets = new LinkedHashMap<>();
+        for (Statement statement : program.getStatements()) {
+            if (statement instanceof LetStatement) {
+                LetStatement let = (LetStatement) statement;
+                Set<String> names = new HashSet<>();
+                collectIdentifiers(let.getValue(), names);
+                lets.put(let, names);
+            }
+        }
+
+        Set<String> affected = new HashSet<>(changedBindings);
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (var entry : lets.entrySet()) {
+                String name = entry.getKey().getName().getValue();
+                if (!affected.contains(name) && entry.getValue().stream().anyMatch(affected::contains)) {
+                    affected.add(name);
+                    grew = true;
+                }
+            }
+        }
+
+        List<LetStatement> result = new ArrayList<>();
+        for (LetStatement let : lets.keySet()) {
+            if (affected.contains(let.getName().getValue())) {
+                result.add(let);
+            }
+        }
+        return result;
+    }
+
+    private static void collectIdentifiers(Node node, Set<String> names) {
+        if (node == null) {
+            return;
+        }
+        switch (node.type()) {
+            case IDENTIFIER -> names.add(((Identifier) node).getValue());
+            case FUNCTION_LITERAL -> collectIdentifiers(((FunctionLiteral) node).getBody(), names);
+            case BLOCK_STATEMENT -> collectAll(((BlockStatement) node).getStatements(), names);
+            case EXPRESSION_STATEMENT -> collectIdentifiers(((ExpressionStatement) node).getExpression(), names);
+            case LET_STATEMENT -> collectIdentifiers(((LetStatement) node).getValue(), names);
+            case RETURN_STATEMENT -> collectIdentifiers(((ReturnStatement) node).getReturnValue(), names);
+            case IF_EXPRESSION -> {
+                IfExpression ifExpression = (IfExpression) node;
+                collectIdentifiers(ifExpression.getCondition(), names);
+                collectIdentifiers(ifExpression.getConsequence(), names);
+                collectIdentifiers(ifExpression.getAlternative(), names);
+            }
+            case INFIX_EXPRESSION -> {
+                InfixExpression infix = (InfixExpression) node;
+                collectIdentifiers(infix.getLeft(), names);
+                collectIdentifiers(infix.getRight(), names);
+            }
+            case PREFIX_EXPRESSION -> collectIdentifiers(((PrefixExpression) node).getRight(), names);
+            case CALL_EXPRESSION -> {
+                CallExpression call = (CallExpression) node;
+                collectIdentifiers(call.getFunction(), names);
+                collectAll(call.getArguments(), names);
+            }
+            case ARRAY_LIST -> collectAll(((ArrayLiteral) node).getElements(), names);
+            case INDEX_EXPRESSION -> {
+                IndexExpression index = (IndexExpression) node;
+                collectIdentifiers(index.getLeft(), names);
+                collectIdentifiers(index.getIndex(), names);
+            }
+            case HASH -> ((HashLiteral) node).getPairs().forEach((key, value) -> {
+                collectIdentifiers(key, names);
+                collectIdentifiers(value, names);
+            });
+            default -> {
+            }
+        }
+    }
+
+    private static void collectAll(Node[] nodes, Set<String> names) {
+        if (nodes != null) {
+            for (Node node : nodes) {
+                collectIdentifiers(node, names);
+            }
+        }
+    }
+}
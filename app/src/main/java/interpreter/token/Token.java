@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.util.Map;
-import java.util.Optional;
 
 @Data
 @AllArgsConstructor
@@ -23,7 +22,7 @@ public class Token {
     private String literal;
 
     public static TokenType lookupIdent(String ident) {
-        return Optional.ofNullable(keywords.get(ident)).orElse(TokenType.IDENT);
+        return keywords.getOrDefault(ident, TokenType.IDENT);
     }
 
 }
\ No newline at end of file
@@ -1,15 +1,21 @@
 package interpreter.evaluator;
 
 import interpreter.ast.ArrayLiteral;
+import interpreter.ast.ExpressionStatement;
+import interpreter.ast.HashLiteral;
+import interpreter.ast.Program;
 import interpreter.environment.Environment;
 import interpreter.lexer.Lexer;
 import interpreter.monkey.objects.*;
+import interpreter.parser.ParseMode;
 import interpreter.parser.Parser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.lang.ref.WeakReference;
+import java.math.BigInteger;
 import java.util.Map;
 
 import static interpreter.evaluator.Evaluator.*;
@@ -49,6 +55,85 @@ public class EvaluatorTest {
         testIntegerObject(evaluated, expected);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "2147483647 + 1, 2147483648",
+            "9223372036854775807, 9223372036854775807",
+            "9223372036854775807 + 1, 9223372036854775808",
+            "9223372036854775808, 9223372036854775808",
+            "-9223372036854775808, -9223372036854775808",
+            "99999999999999999999 - 99999999999999999998, 1",
+            "-9223372036854775807 - 2, -9223372036854775809",
+            "9223372036854775807 * 9223372036854775807, 85070591730234615847396907784232501249",
+            "(9223372036854775807 + 1) - 1, 9223372036854775807",
+            "-(-9223372036854775807 - 1), 9223372036854775808",
+            "(9223372036854775807 * 4) / 4, 9223372036854775807",
+            "(-9223372036854775807 - 1) / -1, 9223372036854775808"
+    })
+    void testEvalLargeIntegerExpression(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertEquals(MonkeyInteger.MONKEY_INT, evaluated.type());
+        assertEquals(expected, evaluated.inspect());
+        if (new BigInteger(expected).bitLength() < Long.SIZE) {
+            assertInstanceOf(MonkeyInteger.class, evaluated);
+        } else {
+            assertInstanceOf(MonkeyBigInteger.class, evaluated);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1.5, 1.5",
+            "-2.25, -2.25",
+            "1.5 + 2.25, 3.75",
+            "0.5 * 4.0, 2.0",
+            "1 / 4.0, 0.25",
+            "3 - 0.5, 2.5",
+            "9223372036854775807 * 2.0, 1.8446744073709552E19",
+            "1.0 / 0.0, Infinity"
+    })
+    void testEvalFloatExpression(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertInstanceOf(MonkeyFloat.class, evaluated);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1.5 < 2, true",
+            "2 > 1.5, true",
+            "1 == 1.0, true",
+            "1.0 != 1, false",
+            "0.1 + 0.2 == 0.3, false",
+            "9007199254740993 == 9007199254740992.0, false",
+            "(0.0 / 0.0) == (0.0 / 0.0), false",
+            "(0.0 / 0.0) != 1, true"
+    })
+    void testFloatComparison(String input, boolean expected) {
+        testBooleanObject(testEval(input), expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "{1: 10}[1.0], 10",
+            "{2.0: 20}[2], 20",
+            "{0.5: 30}[1 / 2.0], 30",
+            "{0.0: 40}[-0.0], 40"
+    })
+    void testFloatHashKeys(String input, int expected) {
+        testIntegerObject(testEval(input), expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "{9223372036854775807 + 1: 1}[9223372036854775807 + 1], 1",
+            "{9223372036854775807: 2}[(9223372036854775807 + 1) - 1], 2",
+            "let big = 9223372036854775807 * 2; {big: 3}[big], 3"
+    })
+    void testLargeIntegerHashKeys(String input, int expected) {
+        testIntegerObject(testEval(input), expected);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "true, true",
@@ -69,7 +154,12 @@ public class EvaluatorTest {
             "(1 < 2) == true, true",
             "(1 < 2) == false, false",
             "(1 > 2) == true, false",
-            "(1 > 2) == false, true"
+            "(1 > 2) == false, true",
+            "1.5 == true, false",
+            "1.5 != true, true",
+            "1.5 == \"a\", false",
+            "true == \"true\", false",
+            "1 != false, true"
     })
     void testEvalBooleanExpression(String input, boolean expected) {
         MonkeyObject evaluated = testEval(input);
@@ -134,6 +224,7 @@ public class EvaluatorTest {
             "if (10 > 1) { if (10 > 1) { return true + false; } return 1; }, unknown operator: BOOLEAN + BOOLEAN",
             "foobar,Identifier not found: foobar",
             "\"Hello\" - \"World\",unknown operator: STRING - STRING",
+            "5 / 0,division by zero",
             "{\" name\": \"Monkey\"}[fn( x) { x }];,unusable as hash key: FUNCTION",
 })
     void testErrorHandling(String input, String expectedMessage) {
@@ -172,16 +263,15 @@ public class EvaluatorTest {
     }
 
     @ParameterizedTest
-    @CsvSource({
-            "let identity = fn(x) {x;}; identity(5);, 5",
-            "let identity = fn(x) { return x; }; identity(5);, 5",
-            "let double = fn(x) { x * 2; }; double(5);, 10",
-            "let add = fn(x@ y) { x + y; }; add(5@ 5);, 10",
-            "let add = fn(x@ y) { x + y; }; add(5 + 5@ add(5@ 5));, 20",
-            "fn(x) { x; }(5), 5"
+    @CsvSource(delimiter = '|', value = {
+            "let identity = fn(x) {x;}; identity(5); | 5",
+            "let identity = fn(x) { return x; }; identity(5); | 5",
+            "let double = fn(x) { x * 2; }; double(5); | 10",
+            "let add = fn(x, y) { x + y; }; add(5, 5); | 10",
+            "let add = fn(x, y) { x + y; }; add(5 + 5, add(5, 5)); | 20",
+            "fn(x) { x; }(5) | 5"
     })
     void testFunctionApplication(String input, int expected) {
-        input = input.replace('@', ',');
         testIntegerObject(testEval(input), expected);
     }
 
@@ -203,6 +293,19 @@ public class EvaluatorTest {
         assertEquals(string.getValue(), "Hello World!");
     }
 
+    @Test
+    void testRepeatedStringConcatenation() {
+        String input = """
+                let repeat = fn(s, n, acc) { if (n < 1) { acc } else { repeat(s, n - 1, acc + s) } };
+                let report = repeat("ab", 100, "");
+                len(report);
+                """;
+        testIntegerObject(testEval(input), 200);
+        MonkeyObject evaluated = testEval(input.replace("len(report);", "report;"));
+        assertInstanceOf(MonkeyString.class, evaluated);
+        assertEquals("ab".repeat(100), ((MonkeyString) evaluated).getValue());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "len(\"\"),int, 0",
@@ -226,6 +329,389 @@ public class EvaluatorTest {
         }
     }
 
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "substr(\"hello world\", 6) | world",
+            "substr(\"hello world\", 0, 5) | hello",
+            "substr(\"hello\", 3, 10) | lo",
+            "substr(\"hello\", 9) | ''",
+            "trim(\"  padded\t \") | padded",
+            "join([\"a\", \"b\", \"c\"], \"-\") | a-b-c",
+            "'join(split(\"a,b,,c\", \",\"), \"|\")' | 'a|b||c'",
+            "join(split(\"abc\", \"\"), \" \") | a b c",
+            "substr(\"ab\", 1) + substr(\"cd\", 0, 1) | bc",
+            "join([], \"x\") | ''"
+    })
+    void testStringBuiltins(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertInstanceOf(MonkeyString.class, evaluated);
+        assertEquals(expected, ((MonkeyString) evaluated).getValue());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "index_of(\"hello world\", \"o\") | 4",
+            "index_of(\"hello world\", \"o\", 5) | 7",
+            "index_of(\"hello world\", \"z\") | -1",
+            "len(substr(\"hello world\", 3, 4)) | 4",
+            "len(split(\"a b c d\", \" \")) | 4",
+            "{\"key\": 1}[substr(\"a key\", 2)] | 1"
+    })
+    void testStringBuiltinsReturningIntegers(String input, int expected) {
+        testIntegerObject(testEval(input), expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "\"abc\" == \"abc\" | true",
+            "\"abc\" != \"abc\" | false",
+            "\"abc\" == \"abd\" | false",
+            "substr(\"xabc\", 1) == \"abc\" | true",
+            "trim(\" a \") == substr(\"bab\", 1, 1) | true",
+            "\"a\" + \"bc\" == \"abc\" | true",
+            "split(\"x,y\", \",\")[1] == \"y\" | true"
+    })
+    void testStringComparison(String input, boolean expected) {
+        testBooleanObject(testEval(input), expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let b = bytes(4); put(b, 1, 255); b[1] | 255",
+            "let b = int_buffer(3); put(b, 2, 9223372036854775807); get(b, 2) | 9223372036854775807",
+            "let b = int_buffer(10); put(b, 5, 42); slice(b, 4, 8)[1] | 42",
+            "let b = int_buffer(10); let s = slice(b, 2, 4); put(s, 0, 7); b[2] | 7",
+            "len(slice(bytes(10), 3, 10)) | 7",
+            "len(int_buffer(0)) | 0",
+            "scoped(fn() { let t = int_buffer(2); put(t, 0, 1); t[0] + 1 }) | 2"
+    })
+    void testBuffers(String input, long expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertInstanceOf(MonkeyInteger.class, evaluated);
+        assertEquals(expected, ((MonkeyInteger) evaluated).getValue());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "put(bytes(2), 0, 256) | value 256 does not fit in BYTES",
+            "put(bytes(2), 2, 1) | index out of range: 2, length 2",
+            "let b = bytes(2); free(b); b[0] | BYTES has been freed",
+            "let b = int_buffer(8); let s = slice(b, 0, 4); free(s); len(b) | INT_BUFFER has been freed",
+            "let b = scoped(fn() { let t = int_buffer(2); put(t, 0, 1); t }); get(b, 0) | INT_BUFFER has been freed",
+            "let b = scoped(fn() { scale(int_buffer(2), 3) }); get(b, 0) | INT_BUFFER has been freed",
+            "let b = scoped(fn() { add_arrays(int_buffer(2), [1, 2]) }); len(b) | INT_BUFFER has been freed",
+            "slice(bytes(2), 1, 3) | slice bounds out of range: [1:3], length 2",
+            "int_buffer(2305843009213693952) | length passed to `int_buffer` is too large: 2305843009213693952",
+            "bytes(4611686018427387904) | length passed to `bytes` is too large: 4611686018427387904",
+            "bytes(9223372036854775808) | integer argument to `bytes` out of range: 9223372036854775808",
+            "get(bytes(2), 9223372036854775808) | integer argument to `get` out of range: 9223372036854775808",
+            "slice(int_buffer(2), 0, 9223372036854775808) | integer argument to `slice` out of range: 9223372036854775808"
+    })
+    void testBufferErrors(String input, String expectedMessage) {
+        MonkeyObject evaluated = testEval(input);
+        assertInstanceOf(MonkeyError.class, evaluated);
+        assertEquals(expectedMessage, ((MonkeyError) evaluated).getMessage());
+    }
+
+    @Test
+    void testBufferIndexOutOfRange() {
+        testNullObject(testEval("bytes(2)[2]"));
+        testNullObject(testEval("bytes(2)[9223372036854775808]"));
+    }
+
+    private static final String TABLE_ROWS = "let t = table([" +
+            "{\"name\": \"ann\", \"age\": 31, \"score\": 1.5}, " +
+            "{\"name\": \"bob\", \"age\": 25}, " +
+            "{\"name\": \"cid\", \"age\": 40, \"score\": 2.5}, " +
+            "{\"name\": \"ann\", \"age\": 19, \"score\": 3}]);";
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "len(t) | 4",
+            "count(t, \"score\") | 3",
+            "sum(t, \"age\") | 115",
+            "min(t, \"age\") | 19",
+            "max(t, \"age\") | 40",
+            "sum(t, \"score\") | 7.0",
+            "max(t, \"name\") | cid",
+            "min(t, \"name\") | ann",
+            "len(columns(t)) | 3",
+            "sum(filter(t, \"age\", fn(a) { a > 30 }), \"age\") | 71",
+            "count(filter(t, fn(r) { r[\"name\"] == \"ann\" })) | 2",
+            "rows(project(t, [\"age\"]))[1] | {age: 25}",
+            "min(filter(t, fn(r) { false }), \"age\") | null"
+    })
+    void testTables(String input, String expected) {
+        assertEquals(expected, testEval(TABLE_ROWS + input).inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "sum(t, \"name\") | cannot sum STRING column `name`",
+            "sum(t, \"height\") | unknown column `height`",
+            "table([{\"a\": 1}, {\"a\": \"x\"}]) | column `a` mixes STRING and numbers",
+            "table([1]) | elements passed to `table` must be HASH, got INTEGER",
+            "table([{\"a\": 1}, {\"a\": 9223372036854775808}]) | integer in column `a` out of range: 9223372036854775808"
+    })
+    void testTableErrors(String input, String expectedMessage) {
+        MonkeyObject evaluated = testEval(TABLE_ROWS + input);
+        assertInstanceOf(MonkeyError.class, evaluated);
+        assertEquals(expectedMessage, ((MonkeyError) evaluated).getMessage());
+    }
+
+    private static final String RECORDS = "let people = [" +
+            "{\"id\": 1, \"name\": \"ann\", \"team\": \"red\"}, " +
+            "{\"id\": 2, \"name\": \"bob\", \"team\": \"blue\"}, " +
+            "{\"id\": 3, \"name\": \"cid\", \"team\": \"red\"}]; " +
+            "let orders = [" +
+            "{\"person\": 1, \"total\": 10}, " +
+            "{\"person\": 3, \"total\": 5}, " +
+            "{\"person\": 1, \"total\": 7}, " +
+            "{\"person\": 9, \"total\": 1}];";
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "len(group_by(people, fn(p) { p[\"team\"] })[\"red\"]) | 2",
+            "group_by(people, fn(p) { p[\"team\"] })[\"blue\"][0][\"name\"] | bob",
+            "group_by([1, 2, 3, 4], fn(x) { x > 2 })[true] | [3, 4]",
+            "index_by(people, \"id\")[3][\"name\"] | cid",
+            "index_by(people, \"id\")[4] | null",
+            "len(join(people, orders, \"id\", \"person\")) | 3",
+            "join(people, orders, \"id\", \"person\")[2][\"total\"] | 5",
+            "join(people, orders, \"id\", \"person\")[1][\"name\"] | ann",
+            "join([\"a\", \"b\"], \"-\") | a-b"
+    })
+    void testRecordBuiltins(String input, String expected) {
+        assertEquals(expected, testEval(RECORDS + input).inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "join(people, orders, \"id\") | wrong number of arguments. got=3, want=1, 2 or 4",
+            "group_by(people, fn(p) { [p] }) | unusable as hash key: ARRAY",
+            "index_by([1], \"id\") | elements passed to `index_by` must be HASH, got INTEGER"
+    })
+    void testRecordBuiltinErrors(String input, String expectedMessage) {
+        MonkeyObject evaluated = testEval(RECORDS + input);
+        assertInstanceOf(MonkeyError.class, evaluated);
+        assertEquals(expectedMessage, ((MonkeyError) evaluated).getMessage());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "set([1, 2, 2, 3]) | set(1, 2, 3)",
+            "set() | set()",
+            "contains(set([1, \"a\"]), \"a\") | true",
+            "contains(set([1, \"a\"]), 2) | false",
+            "contains(set([1]), [1]) | false",
+            "contains({\"k\": 1}, \"k\") | true",
+            "let s = set([1]); let t = add(s, 2); [len(s), len(t)] | [1, 2]",
+            "remove(set([1, 2, 3]), 2) | set(1, 3)",
+            "let s = set([1, 2]); let t = remove(s, 1); [s, t, add(t, 1)] | [set(1, 2), set(2), set(2, 1)]",
+            "remove(set([1]), [1]) | set(1)",
+            "union(set([1, 2]), set([2, 3])) | set(1, 2, 3)",
+            "intersection(set([1, 2, 3]), set([3, 2, 5])) | set(2, 3)",
+            "difference(set([1, 2, 3]), set([2])) | set(1, 3)",
+            "set([[1]]) | ERROR: unusable as set element: ARRAY",
+            "union(set(), [1]) | ERROR: argument to `union` must be SET, got ARRAY"
+    })
+    void testSets(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "sorted_map({3: \"c\", 1: \"a\", 2: \"b\"}) | sorted_map({1: a, 2: b, 3: c})",
+            "sorted_map({\"b\": 1, 5: 2, \"a\": 3}) | sorted_map({5: 2, a: 3, b: 1})",
+            "get(m, 20) | b",
+            "m[30] | c",
+            "get(m, 25) | null",
+            "let n = put(m, 25, \"x\"); [len(m), len(n), n[25]] | [5, 6, x]",
+            "delete(m, 10) | sorted_map({20: b, 30: c, 40: d, 50: e})",
+            "range(m, 20, 40) | sorted_map({20: b, 30: c})",
+            "range(m, 15) | sorted_map({20: b, 30: c, 40: d, 50: e})",
+            "len(range(m, 11, 49)) | 3",
+            "range(range(m, 10, 40), 30, 60) | sorted_map({30: c})",
+            "get(range(m, 20, 40), 40) | null",
+            "floor(m, 35) | 30",
+            "floor(m, 30) | 30",
+            "floor(m, 5) | null",
+            "ceiling(m, 35) | 40",
+            "ceiling(m, 51) | null",
+            "floor(range(m, 20, 40), 45) | 30",
+            "ceiling(range(m, 20, 40), 0) | 20",
+            "keys(range(m, 30)) | [30, 40, 50]",
+            "entries(range(m, 40)) | [[40, d], [50, e]]",
+            "put(range(m, 20, 40), 45, 1) | ERROR: key outside range of view: 45",
+            "get(m, [1]) | ERROR: unusable as sorted map key: ARRAY",
+            "get(int_buffer(2), 1) | 0"
+    })
+    void testSortedMaps(String input, String expected) {
+        String map = "let m = sorted_map({50: \"e\", 10: \"a\", 40: \"d\", 20: \"b\", 30: \"c\"});";
+        MonkeyObject evaluated = testEval(map + input);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @Test
+    void testSortedMapStaysBalanced() {
+        String input = "let build = fn(m, i) { if (i == 0) { m } else { build(put(m, i, i * i), i - 1) } };" +
+                "let m = build(sorted_map(), 100);" +
+                "[len(m), get(m, 64), floor(m, 1000), len(range(m, 10, 20))]";
+        assertEquals("[100, 4096, 100, 10]", testEval(input).inspect());
+    }
+
+    @Test
+    void testSortManyConcatenatedStrings() {
+        // above SortFns.PARALLEL_THRESHOLD, with every element an unflattened concatenation
+        String input = "let xs = map(to_array(range(10000)), fn(i) { if (i < 5000) { \"b\" + \"x\" } else { \"a\" + \"y\" } });" +
+                "let s = sort(xs); [len(s), s[0], s[4999], s[5000], s[9999]]";
+        assertEquals("[10000, ay, ay, bx, bx]", testEval(input).inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "sort([3, 1, 2]) | [1, 2, 3]",
+            "sort([]) | []",
+            "sort([\"pear\", \"apple\", \"fig\"]) | [apple, fig, pear]",
+            "sort([2.5, 1, 9223372036854775807 + 1, -0.5]) | [-0.5, 1, 2.5, 9223372036854775808]",
+            "let a = [3, 1, 2]; sort(a); a | [3, 1, 2]",
+            "sort_by([\"ccc\", \"a\", \"bb\"], len) | [a, bb, ccc]",
+            "sort_by([[2, \"b\"], [1, \"x\"], [2, \"a\"], [1, \"y\"]], fn(p) { p[0] }) | [[1, x], [1, y], [2, b], [2, a]]",
+            "sort_by([{\"n\": \"b\"}, {\"n\": \"a\"}], fn(r) { r[\"n\"] }) | [{n: a}, {n: b}]",
+            "sort([1, \"a\"]) | ERROR: cannot sort INTEGER and STRING together",
+            "sort([true]) | ERROR: cannot sort values of type BOOLEAN",
+            "sort_by([1, 2], fn(x) { x + true }) | ERROR: type mismatch: INTEGER + BOOLEAN"
+    })
+    void testSort(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "sum([1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11]) | 66",
+            "sum([]) | 0",
+            "min([4, -2, 9, 3, 5, 1, 8, 7, 6]) | -2",
+            "max([4, -2, 9, 3, 5, 1, 8, 7, 6]) | 9",
+            "max([]) | null",
+            "sum([9223372036854775807, 1, 1]) | 9223372036854775809",
+            "sum([9223372036854775807 + 1, -1]) | 9223372036854775807",
+            "dot([1, 2, 3, 4, 5], [5, 4, 3, 2, 1]) | 35",
+            "dot([4294967296, 1], [4294967296, 1]) | 18446744073709551617",
+            "add_arrays([1, 2, 3, 4, 5], [10, 20, 30, 40, 50]) | [11, 22, 33, 44, 55]",
+            "add_arrays([9223372036854775807, 1], [1, 1]) | [9223372036854775808, 2]",
+            "scale([1, -2, 3, 4, 5], 3) | [3, -6, 9, 12, 15]",
+            "scale([4611686018427387904], 4) | [18446744073709551616]",
+            "let b = int_buffer(5); put(b, 1, 7); put(b, 4, 2); [sum(b), max(b), dot(b, b)] | [9, 7, 53]",
+            "let b = int_buffer(3); put(b, 0, 2); scale(b, 5) | int_buffer[10, 0, 0]",
+            "sum([1, \"a\"]) | ERROR: elements passed to `sum` must be INTEGER, got STRING",
+            "dot([1], [1, 2]) | ERROR: arguments to `dot` must have the same length, got 1 and 2",
+            "scale([1], 1.5) | ERROR: argument to `scale` must be INTEGER, got FLOAT",
+            "sum(table([{\"a\": 2}, {\"a\": 3}]), \"a\") | 5"
+    })
+    void testNumericArrayBuiltins(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "map([1, 2, 3], fn(x) { x * 2 }) | [2, 4, 6]",
+            "map([\"a\", \"bc\"], len) | [1, 2]",
+            "map([1, 2], fn(x) { let y = x + 1; y * y }) | [4, 9]",
+            "map([1, 2], fn(x) { fn(y) { x + y } })[1](10) | 12",
+            "map([1, 2, 3], fn(x) { if (x > 1) { return x; } 0 }) | [0, 2, 3]",
+            "filter([1, 2, 3, 4], fn(x) { x > 2 }) | [3, 4]",
+            "reduce([1, 2, 3, 4], 0, fn(acc, x) { acc + x }) | 10",
+            "reduce([1, 2, 3, 4], fn(acc, x) { acc * x }) | 24",
+            "reduce([], fn(acc, x) { acc + x }) | null",
+            "let fact = fn(n) { if (n < 2) { 1 } else { n * fact(n - 1) } }; map([3, 4], fact) | [6, 24]",
+            "map([[1, 2], [3]], fn(xs) { map(xs, fn(x) { x + 1 }) }) | [[2, 3], [4]]",
+            "each([1, 2], fn(x) { x }) | null",
+            "each([1, 2], fn(x) { x + true }) | ERROR: type mismatch: INTEGER + BOOLEAN",
+            "map([1], 1) | ERROR: not a function: INTEGER",
+            "map(1, fn(x) { x }) | ERROR: argument to `map` must be ARRAY or SEQ, got INTEGER",
+            "filter(1, fn(x) { x }) | ERROR: argument to `filter` must be ARRAY, SEQ or TABLE, got INTEGER",
+            "get({}, 1) | ERROR: argument to `get` must be BYTES, INT_BUFFER or SORTED_MAP, got HASH",
+            "put([], 1, 2) | ERROR: argument to `put` must be BYTES, INT_BUFFER or SORTED_MAP, got ARRAY",
+            "sum(\"a\") | ERROR: argument to `sum` must be ARRAY, INT_BUFFER or TABLE, got STRING",
+            "range(\"a\") | ERROR: argument to `range` must be INTEGER or SORTED_MAP, got STRING",
+            "substr(\"a\", 99999999999999999999) | ERROR: integer argument to `substr` out of range: 99999999999999999999",
+            "join([], [], \"a\") | ERROR: wrong number of arguments. got=3, want=1, 2 or 4",
+            "len(filter(table([{\"a\": 1}, {\"a\": 2}]), \"a\", fn(a) { a > 1 })) | 1"
+    })
+    void testHigherOrderBuiltins(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "to_array(range(5)) | [0, 1, 2, 3, 4]",
+            "to_array(range(2, 5)) | [2, 3, 4]",
+            "to_array(range(10, 0, -3)) | [10, 7, 4, 1]",
+            "to_array(range(9223372036854775806, 9223372036854775807, 5)) | [9223372036854775806]",
+            "range(3) | seq",
+            "to_array(map(filter(range(10), fn(x) { x / 2 * 2 == x }), fn(x) { x * x })) | [0, 4, 16, 36, 64]",
+            "to_array(take(drop(range(0, 1000000000000), 10), 3)) | [10, 11, 12]",
+            "reduce(take(range(1, 1000000000), 100), 0, fn(acc, x) { acc + x }) | 5050",
+            "to_array(take(iterate(1, fn(x) { x * 2 }), 6)) | [1, 2, 4, 8, 16, 32]",
+            "let s = map(range(3), fn(x) { x + 1 }); [to_array(s), to_array(s)] | [[1, 2, 3], [1, 2, 3]]",
+            "to_array(seq([\"a\", \"b\"])) | [a, b]",
+            "to_array(take([1, 2, 3], 2)) | [1, 2]",
+            "each(range(3), fn(x) { x }) | null",
+            "reduce(range(0), fn(acc, x) { acc + x }) | null",
+            "to_array(map(range(3), fn(x) { x + true })) | ERROR: type mismatch: INTEGER + BOOLEAN",
+            "range(1, 2, 0) | ERROR: range step must not be zero",
+            "range(9223372036854775807 + 1) | ERROR: integer argument to `range` out of range: 9223372036854775808",
+            "range(0, 1, -9223372036854775808 * 2) | ERROR: integer argument to `range` out of range: -18446744073709551616",
+            "take(range(3), 99999999999999999999) | ERROR: integer argument to `take` out of range: 99999999999999999999",
+            "map([1, 2], fn(x) { x + 1 }) | [2, 3]",
+            "range(sorted_map({1: 2, 3: 4}), 2) | sorted_map({3: 4})"
+    })
+    void testLazySequences(String input, String expected) {
+        MonkeyObject evaluated = testEval(input);
+        assertEquals(expected, evaluated.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let f = fn(a, b) { a }; f(1, 1 + true) | 1 | ERROR: type mismatch: INTEGER + BOOLEAN",
+            "let f = fn(x) { let y = 5; x + y }; f(1 + true) | ERROR: type mismatch: INTEGER + BOOLEAN | ERROR: type mismatch: INTEGER + BOOLEAN",
+            "let never = fn(x) { 0 }; never(tick()); b[0] | 0 | 1",
+            "let twice = fn(x) { x + x }; [twice(tick()), b[0]] | [2, 1] | [2, 1]",
+            "let pass = fn(x) { x }; let twice = fn(x) { x + x }; [twice(pass(tick())), b[0]] | [2, 1] | [2, 1]",
+            "let orElse = fn(value, fallback) { if (value) { value } else { fallback } }; orElse(5, tick()) + b[0] | 5 | 6",
+            "let add = fn(x) { fn(y) { x + y } }; let inc = add(tick()); [b[0], inc(1), b[0]] | [0, 2, 1] | [1, 2, 1]",
+            "map([1, 2], fn(x) { x * 10 }) | [10, 20] | [10, 20]"
+    })
+    void testLazyEvaluation(String input, String lazy, String strict) {
+        String prelude = "let b = int_buffer(1); let tick = fn() { put(b, 0, b[0] + 1); b[0] };";
+        String program = prelude + input;
+
+        MonkeyObject evaluatedLazily = new Evaluator(EvaluationStrategy.LAZY).eval(new Parser(new Lexer(program)).parseProgram(), new Environment());
+        MonkeyObject evaluatedStrictly = new Evaluator(EvaluationStrategy.STRICT).eval(new Parser(new Lexer(program)).parseProgram(), new Environment());
+
+        assertEquals(lazy, evaluatedLazily.inspect());
+        assertEquals(strict, evaluatedStrictly.inspect());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let add = fn(x, y) { x + y }; add(2, 3) | 5",
+            "let f = fn() { len(\"} {\") }; f() | 3",
+            "let unused = fn() { let = 1; }; let used = fn(x) { fn(y) { x * y } }; used(4)(5) | 20",
+            "let broken = fn() { 1 + }; broken() | ERROR: syntax error in function body: no prefix parse function for } found at offset 24",
+    })
+    void testLazyFunctionParsing(String input, String expected) {
+        var parser = new Parser(new Lexer(input), ParseMode.LAZY);
+        MonkeyObject evaluated = new Evaluator().eval(parser.parseProgram(), new Environment());
+
+        assertEquals(0, parser.getErrors().size(), String.format("Errors found %s", parser.getErrors()));
+        assertEquals(expected, evaluated.inspect());
+    }
+
     @Test
     void testArrayLiterals() {
         String input = "[1,2*2,3+3]";
@@ -240,6 +726,26 @@ public class EvaluatorTest {
         testIntegerObject(array.getElements()[2], 6);
     }
 
+    @Test
+    void testLiteralsOfDroppedProgramCanBeCollected() throws InterruptedException {
+        Program program = new Parser(new Lexer("[1, 2, 3]; {\"a\": 1}")).parseProgram();
+        assertEquals("{a: 1}", eval.eval(program, new Environment()).inspect());
+        WeakReference<ArrayLiteral> array =
+                new WeakReference<>((ArrayLiteral) ((ExpressionStatement) program.getStatements()[0]).getExpression());
+        WeakReference<HashLiteral> hash =
+                new WeakReference<>((HashLiteral) ((ExpressionStatement) program.getStatements()[1]).getExpression());
+        program = null;
+
+        for (int i = 0; i < 100 && (array.get() != null || hash.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(array.get());
+        assertNull(hash.get());
+        assertEquals("[4]", eval.eval(new Parser(new Lexer("[4]")).parseProgram(), new Environment()).inspect());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "[1@2@3][0], 1",
@@ -317,6 +823,43 @@ public class EvaluatorTest {
         }
     }
 
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let f = fn() { {\"a\": 1, \"b\": [1, -2]} }; [f(), f()]",
+            "let f = fn() { [1, \"two\", 1.5 * 2, {true: [3]}] }; [f(), f()]",
+    })
+    void testConstantLiteralsAreShared(String input) {
+        MonkeyObject evaluated = testEval(input);
+        MonkeyObject[] results = ((MonkeyArray) evaluated).getElements();
+
+        assertSame(results[0], results[1]);
+    }
+
+    @Test
+    void testPartlyConstantLiterals() {
+        String input = "let f = fn(x) { {\"a\": [1, x, 3], x: x * 2, \"c\": 3} }; [f(1), f(2)]";
+        MonkeyObject[] results = ((MonkeyArray) testEval(input)).getElements();
+
+        assertNotSame(results[0], results[1]);
+        assertEquals(3, ((MonkeyHash) results[0]).getPairs().size());
+        MonkeyHash second = (MonkeyHash) results[1];
+        assertEquals("[1, 2, 3]", second.getPairs().get(new MonkeyString("a").hashKey()).getValue().inspect());
+        testIntegerObject(second.getPairs().get(new MonkeyInteger(2).hashKey()).getValue(), 4);
+        testIntegerObject(second.getPairs().get(new MonkeyString("c").hashKey()).getValue(), 3);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{\"a\": 1, \"a\": 2}[\"a\"] | 2",
+            "let k = \"a\"; {\"a\": 1, k: 2}[\"a\"] | 2",
+            "let k = \"a\"; {\"a\": 1, k: 2, \"a\": 3}[\"a\"] | 3",
+            "let f = fn() { 5 }; {\"a\": f(), \"a\": 1}[\"a\"] | 1",
+            "let f = fn() { 5 }; {\"a\": 1, \"a\": f()}[\"a\"] | 5",
+    })
+    void testDuplicateHashKeysKeepLastValue(String input, int expected) {
+        testIntegerObject(testEval(input), expected);
+    }
+
     private void testNullObject(MonkeyObject evaluated) {
         assertEquals(NULL, evaluated);
     }
@@ -7,6 +7,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -33,6 +39,7 @@ public class LexerTest {
                 "foo bar"
                 [1,2];
                 {"foo":"bar"}
+                3.14;
                 """;
         List<Arguments> expectedTokens = List.of(
                 Arguments.of(TokenType.LET, "let"),
@@ -122,6 +129,8 @@ public class LexerTest {
                 Arguments.of(TokenType.COLON, ":"),
                 Arguments.of(TokenType.STRING, "bar"),
                 Arguments.of(TokenType.RBRACE, "}"),
+                Arguments.of(TokenType.FLOAT, "3.14"),
+                Arguments.of(TokenType.SEMICOLON, ";"),
                 Arguments.of(TokenType.EOF, "")
         );
 
@@ -137,4 +146,100 @@ public class LexerTest {
         }
     }
 
-}
+    @ParameterizedTest
+    @MethodSource("tokenStreamInputs")
+    void testTokenStreamMatchesLexer(String input) {
+        Lexer lexer = new Lexer(input);
+        TokenStream tokens = TokenStream.tokenize(input);
+
+        for (int i = 0; i < tokens.size(); i++) {
+            Token expected = lexer.nextToken();
+            assertEquals(expected.getType(), tokens.type(i), "wrong token type at " + i);
+            assertEquals(expected.getLiteral(), tokens.text(i), "wrong token literal at " + i);
+        }
+        assertEquals(TokenType.EOF, tokens.type(tokens.size() - 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("tokenStreamInputs")
+    void testReaderAndBufferInputsMatchLexer(String input) {
+        Lexer expected = new Lexer(input);
+        Lexer reader = new Lexer(new StringReader(input), 4);
+        Lexer buffer = new Lexer(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+
+        Token token;
+        do {
+            token = expected.nextToken();
+            assertToken(token, reader.nextToken());
+            assertToken(token, buffer.nextToken());
+        } while (token.getType() != TokenType.EOF);
+    }
+
+    private static void assertToken(Token expected, Token actual) {
+        assertEquals(expected.getType(), actual.getType(), "wrong token type");
+        assertEquals(expected.getLiteral(), actual.getLiteral(), "wrong token literal");
+    }
+
+    static Stream<String> tokenStreamInputs() {
+        return Stream.of(
+                "let add = fn(x, y) { x + y; }; add(1, 2) == 3 != false;",
+                "if (a < b) { return [1, 2.5, \"s\"]; } else { {\"k\": v} }",
+                "let gr\u00f6\u00dfe = 10; gr\u00f6\u00dfe",
+                "letx fnord iff returned _private",
+                "1.2.3 4. .5",
+                "\"unterminated",
+                "@ # $",
+                "",
+                "   \t\n  ",
+                " \t\r\n".repeat(50) + "let " + "long_name".repeat(20) + " = " + "1234567890".repeat(10)
+                        + ".5;" + " ".repeat(70) + "\"" + "x\u00e9y".repeat(40) + "\" " + "z".repeat(65) + "\u00e9 q"
+        );
+    }
+
+    @Test
+    void testTokenStreamOffsets() {
+        TokenStream tokens = TokenStream.tokenize("let x = \"ab\";");
+
+        assertEquals(6, tokens.size());
+        assertEquals(TokenType.STRING, tokens.type(3));
+        assertEquals(8, tokens.start(3));
+        assertEquals(12, tokens.end(3));
+        assertEquals("ab", tokens.text(3));
+        assertEquals(13, tokens.start(5));
+    }
+
+    @Test
+    void testInputOffsets() {
+        String input = "let gr\u00f6\u00dfe = \"a long string literal\";";
+        int[] charOffsets = {0, 4, 10, 12, 35};
+        int[] byteOffsets = {0, 4, 12, 14, 37};
+
+        Lexer chars = new Lexer(new StringReader(input), 2);
+        Lexer bytes = new Lexer(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+        for (int i = 0; i < charOffsets.length; i++) {
+            chars.nextToken();
+            bytes.nextToken();
+            assertEquals(charOffsets[i], chars.offset(), "wrong char offset for token " + i);
+            assertEquals(byteOffsets[i], bytes.offset(), "wrong byte offset for token " + i);
+        }
+    }
+
+    @Test
+    void testLexMappedFile() throws IOException {
+        Path file = Files.createTempFile("lexer", ".monkey");
+        try {
+            Files.writeString(file, "let x = \"y\";", StandardCharsets.UTF_8);
+            Lexer lexer = Lexer.fromFile(file);
+
+            assertEquals(TokenType.LET, lexer.nextToken().getType());
+            assertEquals("x", lexer.nextToken().getLiteral());
+            assertEquals(TokenType.ASSIGN, lexer.nextToken().getType());
+            assertEquals("y", lexer.nextToken().getLiteral());
+            assertEquals(8, lexer.offset());
+            assertEquals(TokenType.SEMICOLON, lexer.nextToken().getType());
+            assertEquals(TokenType.EOF, lexer.nextToken().getType());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
\ No newline at end of file
@@ -2,8 +2,7 @@ package interpreter.monkey.objects;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class MonkeyObjectTest {
 
@@ -18,4 +17,88 @@ public class MonkeyObjectTest {
         assertEquals(diff1.hashKey(), diff2.hashKey());
         assertNotEquals(hello1.hashKey(), diff1.hashKey());
     }
+
+    @Test
+    void testStringConcatenation() {
+        MonkeyString rope = new MonkeyString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            String line = "line " + i + "\n";
+            rope = rope.concat(new MonkeyString(line));
+            expected.append(line);
+        }
+
+        assertEquals(expected.length(), rope.length());
+        assertEquals(expected.toString(), rope.getValue());
+        assertEquals(new MonkeyString(expected.toString()).hashKey(), rope.hashKey());
+    }
+
+    @Test
+    void testPersistentSet() {
+        MonkeySet set = MonkeySet.EMPTY;
+        for (int i = 0; i < 10_000; i++) {
+            set = set.with(new MonkeyInteger(i).hashKey(), new MonkeyInteger(i));
+        }
+        MonkeySet full = set;
+        for (int i = 0; i < 10_000; i += 2) {
+            set = set.without(new MonkeyInteger(i).hashKey());
+        }
+
+        assertEquals(10_000, full.size());
+        assertEquals(5_000, set.size());
+        assertTrue(full.contains(new MonkeyInteger(42)));
+        assertFalse(set.contains(new MonkeyInteger(42)));
+        assertTrue(set.contains(new MonkeyInteger(43)));
+        assertSame(set, set.with(new MonkeyInteger(43).hashKey(), new MonkeyInteger(43)));
+        assertSame(set, set.without(new MonkeyInteger(42).hashKey()));
+        long expected = 1;
+        for (MonkeyObject element : set.getElements().values()) {
+            assertEquals(expected, ((MonkeyInteger) element).getValue());
+            expected += 2;
+        }
+    }
+
+    @Test
+    void testPersistentSetHashCollisions() {
+        // x << 32 | x folds to the same 32-bit hash for every x
+        MonkeySet set = MonkeySet.EMPTY;
+        for (long x = 1; x <= 3; x++) {
+            set = set.with(new MonkeyInteger(x << 32 | x).hashKey(), new MonkeyInteger(x));
+        }
+        MonkeySet removed = set.without(new MonkeyInteger(2L << 32 | 2).hashKey())
+                .without(new MonkeyInteger(1L << 32 | 1).hashKey());
+
+        assertEquals("set(1, 2, 3)", set.inspect());
+        assertEquals("set(3)", removed.inspect());
+        assertTrue(removed.contains(new MonkeyInteger(3L << 32 | 3)));
+        assertFalse(removed.contains(new MonkeyInteger(1L << 32 | 1)));
+        // 32 shares the root slot of the colliding keys but not their hash
+        assertEquals("set(1, 2, 3, 32)", set.with(new MonkeyInteger(32).hashKey(), new MonkeyInteger(32)).inspect());
+        assertEquals("set(3, 1)", removed.with(new MonkeyInteger(1L << 32 | 1).hashKey(), new MonkeyInteger(1)).inspect());
+    }
+
+    @Test
+    void testValueInterning() {
+        ValueInterner.clear();
+        ValueInterner.setEnabled(true);
+        try {
+            MonkeyString first = ValueInterner.string("DE");
+            MonkeyObject second = ValueInterner.intern(new MonkeyString("D").concat(new MonkeyString("E")));
+            MonkeyObject array = ValueInterner.intern(new MonkeyArray(new MonkeyObject[]{new MonkeyString("DE"), new MonkeyInteger(1)}));
+            MonkeyObject sameArray = ValueInterner.intern(new MonkeyArray(new MonkeyObject[]{new MonkeyString("DE"), new MonkeyInteger(1)}));
+
+            assertSame(first, second);
+            assertSame(array, sameArray);
+            assertSame(first, ((MonkeyArray) array).getElements()[0]);
+            assertEquals(5, ValueInterner.hits());
+            assertEquals(3, ValueInterner.misses());
+            assertTrue(ValueInterner.hitRate() > 0);
+            assertTrue(ValueInterner.bytesSaved() > 0);
+        } finally {
+            ValueInterner.setEnabled(false);
+            ValueInterner.clear();
+        }
+
+        assertNotSame(ValueInterner.string("DE"), ValueInterner.string("DE"));
+    }
 }
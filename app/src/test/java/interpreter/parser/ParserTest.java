@@ -2,16 +2,27 @@ package interpreter.parser;
 
 import interpreter.ast.*;
 import interpreter.lexer.Lexer;
+import interpreter.lexer.TokenStream;
 import interpreter.token.Token;
 import interpreter.token.TokenType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.IOException;
 import java.lang.Boolean;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -123,6 +134,43 @@ public class ParserTest {
         assertEquals("5", literal.tokenLiteral());
     }
 
+    @Test
+    void testBigIntegerLiteralExpression() {
+        String input = "99999999999999999999;";
+        BigInteger expected = new BigInteger("99999999999999999999");
+        Parser parser = new Parser(new Lexer(input));
+        Program program = parser.parseProgram();
+
+        assertEquals(0, parser.getErrors().size(), String.format("Errors found %s", parser.getErrors()));
+        IntegerLiteral literal = (IntegerLiteral) ((ExpressionStatement) program.getStatements()[0]).getExpression();
+        assertEquals(expected, literal.getBigValue());
+        assertEquals("99999999999999999999", literal.tokenLiteral());
+
+        Program decoded = AstReader.decode(ByteBuffer.wrap(AstWriter.encode(program)));
+        IntegerLiteral decodedLiteral = (IntegerLiteral) ((ExpressionStatement) decoded.getStatements()[0]).getExpression();
+        assertEquals(expected, decodedLiteral.getBigValue());
+
+        FlatAst flat = new FlatParser(new Lexer(input)).parseProgram();
+        IntegerLiteral flatLiteral = (IntegerLiteral) ((ExpressionStatement) flat.toProgram().getStatements()[0]).getExpression();
+        assertEquals(expected, flatLiteral.getBigValue());
+    }
+
+    @Test
+    void testFloatLiteralExpression() {
+        String input = "2.75;";
+        Lexer lexer = new Lexer(input);
+        Parser parser = new Parser(lexer);
+        Program program = parser.parseProgram();
+
+        assertEquals(0, parser.getErrors().size(), String.format("Errors found %s", parser.getErrors()));
+        assertEquals(1, program.getStatements().length);
+        ExpressionStatement stmt = (ExpressionStatement) program.getStatements()[0];
+        assertInstanceOf(FloatLiteral.class, stmt.getExpression());
+        FloatLiteral literal = (FloatLiteral) stmt.getExpression();
+        assertEquals(2.75, literal.getValue());
+        assertEquals("2.75", literal.tokenLiteral());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "!5;,!,5",
@@ -168,37 +216,36 @@ public class ParserTest {
     }
 
     @ParameterizedTest
-    @CsvSource({
-            "-a * b,((-a) * b)",
-            "!-a,(!(-a))",
-            "a + b + c,((a + b) + c)",
-            "a + b - c,((a + b) - c)",
-            "a * b * c,((a * b) * c)",
-            "a * b / c,((a * b) / c)",
-            "a + b / c,(a + (b / c))",
-            "a + b * c + d / e - f,(((a + (b * c)) + (d / e)) - f)",
-            "3 + 4; -5 * 5,(3 + 4)((-5) * 5)",
-            "5 > 4 == 3 < 4,((5 > 4) == (3 < 4))",
-            "5 < 4 != 3 > 4,((5 < 4) != (3 > 4))",
-            "3 + 4 * 5 == 3 * 1 + 4 * 5,((3 + (4 * 5)) == ((3 * 1) + (4 * 5)))",
-            "true,true",
-            "false,false",
-            "3 > 5 == false, ((3 > 5) == false)",
-            "3 < 5 == true, ((3 < 5) == true)",
-            "1 + (2 + 3) + 4, ((1 + (2 + 3)) + 4)",
-            "(5 + 5) * 2, ((5 + 5) * 2)",
-            "2 / (5 + 5), (2 / (5 + 5))",
-            "-(5 + 5), (-(5 + 5))",
-            "!(true == true), (!(true == true))",
-            "a + add(b * c) + d,((a + add((b * c))) + d)",
-            "add(a@ b@ 1@ 2 * 3@ 4 + 5@ add(6@ 7 * 8)),add(a@ b@ 1@ (2 * 3)@ (4 + 5)@ add(6@ (7 * 8)))",
-            "add(a + b + c * d / f + g),add((((a + b) + ((c * d) / f)) + g))",
-            "a * [1@ 2@ 3@ 4][ b * c] * d,((a * ([1@ 2@ 3@ 4][(b * c)])) * d)",
-            "add( a * b[ 2]@ b[ 1]@ 2 * [1@ 2][ 1]), add((a * (b[2]))@ (b[1])@ (2 * ([1@ 2][1])))",
+    @CsvSource(delimiter = '|', value = {
+            "-a * b | ((-a) * b)",
+            "!-a | (!(-a))",
+            "a + b + c | ((a + b) + c)",
+            "a + b - c | ((a + b) - c)",
+            "a * b * c | ((a * b) * c)",
+            "a * b / c | ((a * b) / c)",
+            "a + b / c | (a + (b / c))",
+            "a + b * c + d / e - f | (((a + (b * c)) + (d / e)) - f)",
+            "3 + 4; -5 * 5 | (3 + 4)((-5) * 5)",
+            "5 > 4 == 3 < 4 | ((5 > 4) == (3 < 4))",
+            "5 < 4 != 3 > 4 | ((5 < 4) != (3 > 4))",
+            "3 + 4 * 5 == 3 * 1 + 4 * 5 | ((3 + (4 * 5)) == ((3 * 1) + (4 * 5)))",
+            "true | true",
+            "false | false",
+            "3 > 5 == false | ((3 > 5) == false)",
+            "3 < 5 == true | ((3 < 5) == true)",
+            "1 + (2 + 3) + 4 | ((1 + (2 + 3)) + 4)",
+            "(5 + 5) * 2 | ((5 + 5) * 2)",
+            "2 / (5 + 5) | (2 / (5 + 5))",
+            "-(5 + 5) | (-(5 + 5))",
+            "!(true == true) | (!(true == true))",
+            "a + add(b * c) + d | ((a + add((b * c))) + d)",
+            "add(a, b, 1, 2 * 3, 4 + 5, add(6, 7 * 8)) | add(a, b, 1, (2 * 3), (4 + 5), add(6, (7 * 8)))",
+            "add(a + b + c * d / f + g) | add((((a + b) + ((c * d) / f)) + g))",
+            "a * [1, 2, 3, 4][ b * c] * d | ((a * ([1, 2, 3, 4][(b * c)])) * d)",
+            "add( a * b[ 2], b[ 1], 2 * [1, 2][ 1]) | add((a * (b[2])), (b[1]), (2 * ([1, 2][1])))",
+            "[[1, 2], f([3], g()), []][0] | ([[1, 2], f([3], g()), []][0])",
     })
     void testOperatorPrecedenceParsing(String input, String expected) {
-        input = input.replace('@', ',');
-        expected = expected.replace('@', ',');
         var lexer = new Lexer(input);
         var parser = new Parser(lexer);
         var program = parser.parseProgram();
@@ -206,6 +253,9 @@ public class ParserTest {
         assertEquals(0, parser.getErrors().size(), String.format("Errors found %s", parser.getErrors()));
         var got = program.toString();
         assertEquals(expected, got);
+
+        var streamParser = new Parser(TokenStream.tokenize(input));
+        assertEquals(expected, streamParser.parseProgram().toString());
     }
 
     @ParameterizedTest
@@ -315,13 +365,13 @@ public class ParserTest {
     }
 
     @ParameterizedTest
-    @CsvSource({
-            "fn(){};,",
-            "fn(x) {};,x",
-            "fn(x@y@z) {};,x y z"
+    @CsvSource(delimiter = '|', value = {
+            "fn(){}; |",
+            "fn(x) {}; | x",
+            "fn(x,y,z) {}; | x y z"
     })
     void testFunctionParameterParsing(String input, String expected) {
-        Lexer lexer = new Lexer(input.replace('@', ','));
+        Lexer lexer = new Lexer(input);
         Parser parser = new Parser(lexer);
         Program program = parser.parseProgram();
         String[] expectedParameters = Optional.ofNullable(expected).map(e -> e.split(" ")).orElse(new String[0]);
@@ -532,4 +582,317 @@ public class ParserTest {
         assertEquals(value, ident.getValue());
         assertEquals(value, ident.tokenLiteral());
     }
+
+    @Test
+    void testEmptyProgram() {
+        var parser = new Parser(new Lexer("  "));
+        var program = parser.parseProgram();
+
+        assertEquals(0, parser.getErrors().size());
+        assertEquals(0, program.getStatements().length);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let add = fn(x, y) { x + y; }; add(1, 2)",
+            "fn(a) { let h = {1: [a, (a)]}; fn(b) { if (b) { h[1] } else { fn() {} } } }",
+            "let f = fn() { fn(x) { x * [1, 2][0] }; }; f()(3)",
+    })
+    void testLazyFunctionBodies(String input) {
+        var eager = new Parser(new Lexer(input), ParseMode.EAGER);
+        var lazy = new Parser(new Lexer(input), ParseMode.LAZY);
+        var lazyStream = new Parser(TokenStream.tokenize(input).reader(), ParseMode.LAZY);
+
+        String expected = eager.parseProgram().toString();
+        assertEquals(expected, lazy.parseProgram().toString());
+        assertEquals(expected, lazyStream.parseProgram().toString());
+        assertEquals(0, lazy.getErrors().size(), String.format("Errors found %s", lazy.getErrors()));
+    }
+
+    @Test
+    void testLazyBodyParsedOnFirstUse() {
+        var program = new Parser(new Lexer("let f = fn(x) { x + 1; x };"), ParseMode.LAZY).parseProgram();
+        var function = (FunctionLiteral) ((LetStatement) program.getStatements()[0]).getValue();
+
+        assertFalse(function.getBody().isParsed());
+        assertEquals(2, function.getBody().getStatements().length);
+        assertTrue(function.getBody().isParsed());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "let f = fn() { let = 1; }; 5",
+            "let f = fn() { fn() { 1 + } }; 5",
+            "let f = fn() { fn() { fn() { let = 1; } }; fn() { 2 } }; 5",
+    })
+    void testErrorsInUnusedFunctions(String input) {
+        var eager = new Parser(new Lexer(input), ParseMode.EAGER);
+        var lazy = new Parser(new Lexer(input), ParseMode.LAZY);
+        var strict = new Parser(new Lexer(input), ParseMode.STRICT);
+        eager.parseProgram();
+        lazy.parseProgram();
+        strict.parseProgram();
+
+        assertFalse(eager.getErrors().isEmpty());
+        assertEquals(0, lazy.getErrors().size());
+        assertEquals(eager.getErrors(), strict.getErrors());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "fn() { (1 } | expected next token to be ), got } instead at offset 10",
+            "fn() { [1, 2 | expected next token to be ], got EOF instead at offset 12",
+    })
+    void testUnbalancedLazyFunctionBody(String input, String error) {
+        var parser = new Parser(new Lexer(input), ParseMode.LAZY);
+        parser.parseProgram();
+
+        assertEquals(error, parser.getErrors().get(0));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1", "64", "100000"})
+    void testParallelParsingMatchesSequential(int chunkChars) {
+        String unit = "let add = fn(x, y) { x + y; }; let h = {1: [add(1, 2), (3)]}; if (h[1][0] > 2) { h } else { add }\nlet z = -add(4, 5) * 2; z\n";
+        String input = unit.repeat(200);
+
+        var sequential = new Parser(new Lexer(input), ParseMode.EAGER);
+        var parallel = new ParallelParser(input, ParseMode.EAGER, ForkJoinPool.commonPool(), chunkChars);
+        var expected = sequential.parseProgram();
+        var got = parallel.parseProgram();
+
+        assertEquals(0, parallel.getErrors().size(), String.format("Errors found %s", parallel.getErrors()));
+        assertEquals(expected.getStatements().length, got.getStatements().length);
+        assertEquals(expected.toString(), got.toString());
+    }
+
+    @Test
+    void testParallelParsingReportsErrorsInSourceOrder() {
+        String input = "let a = 1; let = 2; let b = (3; a + ; let c = 4;".repeat(20);
+
+        var sequential = new Parser(new Lexer(input), ParseMode.EAGER);
+        var parallel = new ParallelParser(input, ParseMode.EAGER, ForkJoinPool.commonPool(), 1);
+        var expected = sequential.parseProgram();
+        var got = parallel.parseProgram();
+
+        assertEquals(sequential.getErrors(), parallel.getErrors());
+        assertEquals(expected.getStatements().length, got.getStatements().length);
+    }
+
+    @Test
+    void testChunkBoundsSkipStringsAndNestedStatements() {
+        String input = "let a = \"x;let y\"; let b = fn() { let c = 1; c };";
+
+        assertArrayEquals(new int[]{0, 18, 19, input.length()}, ParallelParser.chunkBounds(input, 1));
+    }
+
+    @Test
+    void testIncrementalParsing() {
+        String v1 = "let a = 1;\nlet b = a + 1;\nlet c = 5;\nlet f = fn(x) { x * b };\nf(c)";
+        String v2 = v1.replace("let c = 5", "let c = 6");
+        String v3 = v2.replace("let a = 1", "let a = 10");
+        String v4 = v3.replace("let c = 6;\n", "");
+        var parser = new IncrementalParser();
+
+        var first = parser.update(v1);
+        assertEquals(Set.of("a", "b", "c", "f"), first.getChangedBindings());
+        assertEquals(5, first.getReparsedStatements());
+
+        var second = parser.update(v2);
+        assertEquals(Set.of("c"), second.getChangedBindings());
+        assertEquals(1, second.getReparsedStatements());
+        assertEquals(List.of("c"), letNames(second.affectedLets()));
+        assertEquals(new Parser(new Lexer(v2)).parseProgram().toString(), second.getProgram().toString());
+
+        var third = parser.update(v3);
+        assertEquals(Set.of("a"), third.getChangedBindings());
+        assertEquals(List.of("a", "b", "f"), letNames(third.affectedLets()));
+
+        var fourth = parser.update(v4);
+        assertEquals(Set.of("c"), fourth.getChangedBindings());
+        assertEquals(0, fourth.getReparsedStatements());
+        assertEquals(4, fourth.getProgram().getStatements().length);
+    }
+
+    @Test
+    void testIncrementalParsingReportsErrors() {
+        var parser = new IncrementalParser();
+        parser.update("let a = 1; let b = 2;");
+
+        String broken = "let a = 1; let = 2;";
+        var update = parser.update(broken);
+        var sequential = new Parser(new Lexer(broken));
+        sequential.parseProgram();
+
+        assertEquals(sequential.getErrors(), update.getErrors());
+        assertEquals(Set.of("b"), update.getChangedBindings());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let add = fn(x, y) { return x + y; }; add(1, -2.5)",
+            "let h = {\"b\": [1, true, \"\u00e9\"], 2: fn() { if (!a) { a } else { h[\"b\"] } }}; h",
+            "let f = fn() { fn(x) { x * [1, 2][0] }; }; f()(-9223372036854775807)",
+            "if (1 < 2) { return 10; }",
+            "let big = 9223372036854775808; big * -99999999999999999999",
+    })
+    void testEncodedProgramMatchesParse(String input) {
+        var parser = new Parser(new Lexer(input), ParseMode.EAGER);
+        var program = parser.parseProgram();
+
+        var decoded = AstReader.decode(ByteBuffer.wrap(AstWriter.encode(program)));
+
+        assertEquals(0, parser.getErrors().size(), String.format("Errors found %s", parser.getErrors()));
+        assertEquals(program.toString(), decoded.toString());
+        assertEquals(program.getStatements().length, decoded.getStatements().length);
+    }
+
+    @Test
+    void testEncodedFunctionBodiesDecodeOnFirstUse() {
+        var program = new Parser(new Lexer("let f = fn(x) { x + 1; x };")).parseProgram();
+        var decoded = AstReader.decode(ByteBuffer.wrap(AstWriter.encode(program)));
+        var function = (FunctionLiteral) ((LetStatement) decoded.getStatements()[0]).getValue();
+
+        assertFalse(function.getBody().isParsed());
+        assertEquals(2, function.getBody().getStatements().length);
+        assertEquals("x", function.getParameters()[0].getValue());
+    }
+
+    @Test
+    void testDecodeRejectsCorruptInput() {
+        byte[] encoded = AstWriter.encode(new Parser(new Lexer("let a = [1, 2];")).parseProgram());
+
+        assertThrows(IllegalArgumentException.class, () -> AstReader.decode(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+        assertThrows(IllegalArgumentException.class,
+                () -> AstReader.decode(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 3))));
+        // a string table claiming 2^32 - 1 entries
+        byte[] hugeCount = {'M', 'K', 'A', 'S', 'T', 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        assertThrows(IllegalArgumentException.class, () -> AstReader.decode(ByteBuffer.wrap(hugeCount)));
+    }
+
+    @Test
+    void testCorruptFunctionBodyBecomesSyntaxError() {
+        byte[] encoded = AstWriter.encode(new Parser(new Lexer("let f = fn(x) { x + 1 };")).parseProgram());
+        // the body is encoded last and only read on first use; its final varint now runs past the end
+        encoded[encoded.length - 1] = (byte) 0x80;
+        var decoded = AstReader.decode(ByteBuffer.wrap(encoded));
+        var body = ((FunctionLiteral) ((LetStatement) decoded.getStatements()[0]).getValue()).getBody();
+
+        assertEquals(0, body.getStatements().length);
+        assertEquals(1, body.getErrors().size());
+        assertTrue(body.getErrors().get(0).startsWith("corrupt encoded function body"), body.getErrors().get(0));
+    }
+
+    @Test
+    void testParseCache() throws IOException {
+        Path directory = Files.createTempDirectory("parse-cache");
+        try {
+            String input = "let a = fn(x) { x * 2 }; a(\"text\")";
+            var cache = new ParseCache(directory);
+
+            var parsed = cache.parseProgram(input);
+            assertFalse(cache.isHit());
+            var loaded = new ParseCache(directory).parseProgram(input);
+            var reloaded = cache.parseProgram(input);
+            assertTrue(cache.isHit());
+            assertEquals(parsed.toString(), loaded.toString());
+            assertEquals(parsed.toString(), reloaded.toString());
+
+            cache.parseProgram("let = 1;");
+            assertFalse(cache.getErrors().isEmpty());
+            cache.parseProgram("let = 1;");
+            assertFalse(cache.isHit());
+
+            try (var entries = Files.list(directory)) {
+                Path entry = entries.findFirst().orElseThrow();
+                Files.write(entry, new byte[]{0});
+            }
+            assertEquals(parsed.toString(), cache.parseProgram(input).toString());
+            assertFalse(cache.isHit());
+            cache.parseProgram(input);
+            assertTrue(cache.isHit());
+        } finally {
+            try (var entries = Files.list(directory)) {
+                for (Path entry : entries.collect(Collectors.toList())) {
+                    Files.delete(entry);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "let add = fn(x, y) { return x + y; }; add(1, -2.5)",
+            "let h = {\"b\": [1, true, \"s\"], 2: fn() { if (!a) { a } else { h[\"b\"] } }}; h[2]()",
+            "-a * b + c / d == !e != (f < g) > h[0](1, 2)",
+            "let big = 9223372036854775808; big * -99999999999999999999",
+    })
+    void testFlatAstMatchesParse(String input) {
+        var parser = new Parser(new Lexer(input), ParseMode.EAGER);
+        var flatParser = new FlatParser(new Lexer(input));
+        var program = parser.parseProgram();
+        var flat = flatParser.parseProgram();
+
+        assertEquals(parser.getErrors(), flatParser.getErrors());
+        assertEquals(program.toString(), flat.toProgram().toString());
+        assertEquals(program.getStatements().length, flat.statements().length);
+    }
+
+    @Test
+    void testFlatParserReportsSameErrors() {
+        String input = "let = 1; let b = (2; fn(x { x }; {1 2}; [1, 2; c + ; 99999999999999999999";
+        var parser = new Parser(new Lexer(input), ParseMode.EAGER);
+        var flatParser = new FlatParser(new Lexer(input));
+        var program = parser.parseProgram();
+        var flat = flatParser.parseProgram();
+
+        assertEquals(parser.getErrors(), flatParser.getErrors());
+        assertEquals(program.getStatements().length, flat.statements().length);
+    }
+
+    @Test
+    void testFailedListsDoNotLeakIntoEnclosingList() {
+        String input = "[1, {2: 3 4}, fn(a, b { a }, f(5, 6]; let x = [7, 8];";
+        var parser = new Parser(new Lexer(input), ParseMode.EAGER);
+        var flatParser = new FlatParser(new Lexer(input));
+        var program = parser.parseProgram();
+        var flat = flatParser.parseProgram();
+
+        assertEquals(parser.getErrors(), flatParser.getErrors());
+        assertEquals(9, program.getStatements().length);
+        assertEquals(9, flat.statements().length);
+        Statement last = program.getStatements()[program.getStatements().length - 1];
+        assertEquals("let x = [7, 8];", last.toString());
+        assertEquals(last.toString(), flat.toNode(flat.statements()[flat.statements().length - 1]).toString());
+    }
+
+    @Test
+    void testFlatAstViews() {
+        String input = "let name = fn(a, b) { a + b };\nname(\"one\", 2)";
+        var flat = new FlatParser(new Lexer(input)).parseProgram();
+        int[] statements = flat.statements();
+
+        var let = flat.node(statements[0]);
+        assertEquals(NodeType.LET_STATEMENT, let.type());
+        assertEquals("let", let.tokenLiteral());
+        assertEquals("name", let.child(FlatAst.A).text());
+        assertEquals("let name = fn(a, b) (a + b);", let.toString());
+        assertEquals(input.indexOf(';') + 1, let.end());
+
+        var function = let.child(FlatAst.B);
+        assertEquals(2, function.children(FlatAst.A).length);
+        assertEquals("fn(a, b) { a + b }", input.substring(function.start(), function.end()));
+
+        var call = flat.node(statements[1]).child(FlatAst.A);
+        assertEquals(NodeType.CALL_EXPRESSION, call.type());
+        var argument = call.children(FlatAst.B)[0];
+        assertEquals("\"one\"", input.substring(argument.start(), argument.end()));
+        assertEquals("one", argument.tokenLiteral());
+        assertInstanceOf(CallExpression.class, call.toNode());
+    }
+
+    private static List<String> letNames(List<LetStatement> lets) {
+        return lets.stream().map(let -> let.getName().getValue()).collect(Collectors.toList());
+    }
 }